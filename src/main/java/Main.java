@@ -2,6 +2,8 @@ import graph.*;
 import graph.scc.*;
 import graph.topo.*;
 import graph.dagsp.*;
+import graph.io.*;
+import graph.reach.*;
 import com.google.gson.*;
 import java.io.*;
 import java.util.*;
@@ -14,7 +16,44 @@ public class Main {
     // CSV writer for metrics
     private static PrintWriter csvWriter;
 
+    // Directory for checkpoint files (null = checkpointing off)
+    private static File checkpointDir;
+
+    // Topologically sort the transitive reduction of the condensation
+    private static boolean reduce;
+
+    // Compute source distances on the part of the graph the source reaches
+    private static boolean lazy;
+
+    /**
+     * Usage: Main [--checkpoint DIR] [--reduce] [--lazy]
+     * With --checkpoint, finished phases are saved to DIR/<dataset>.ckpt
+     * and reused by the next run on the same graph.
+     * With --reduce, implied condensation edges are dropped before the
+     * topological sort (paths still use the full condensation).
+     * With --lazy, datasets with a source only get source distances,
+     * computed from the SCCs and condensation of the vertices the source
+     * reaches; the whole-graph phases (order, critical path, vertex-level
+     * distances) are skipped.
+     */
     public static void main(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--checkpoint") && i + 1 < args.length) {
+                checkpointDir = new File(args[++i]);
+                if (!checkpointDir.isDirectory() && !checkpointDir.mkdirs()) {
+                    System.err.println("Cannot create checkpoint directory: " + checkpointDir);
+                    return;
+                }
+            } else if (args[i].equals("--reduce")) {
+                reduce = true;
+            } else if (args[i].equals("--lazy")) {
+                lazy = true;
+            } else {
+                System.err.println("Unknown argument: " + args[i]);
+                return;
+            }
+        }
+
         String[] datasets = {
                 "small_1", "small_2", "small_3",
                 "medium_1", "medium_2", "medium_3",
@@ -61,29 +100,18 @@ public class Main {
         csvWriter.println("dataset,vertices,edges,sccs,scc_time_ms,scc_dfs_visits," +
                 "topo_time_ms,topo_operations,has_source,shortest_path_time_ms," +
                 "shortest_path_relaxations,longest_path_length,longest_path_time_ms," +
-                "longest_path_relaxations");
+                "longest_path_relaxations,mode");
         csvWriter.flush();
     }
 
     private static void processDataset(String filename, String datasetName) throws IOException {
-        // Read JSON file using Gson
-        Gson gson = new Gson();
-        JsonObject json = gson.fromJson(new FileReader(filename), JsonObject.class);
+        JsonObject json = GraphJson.parse(new File(filename));
+        Graph g = GraphJson.read(json);
+        int n = g.getN();
+        String weightModel = GraphJson.weightModel(json);
 
-        int n = json.get("n").getAsInt();
-        JsonArray edges = json.getAsJsonArray("edges");
-
-        // Build original graph
-        Graph g = new Graph(n, true);
-        for (int i = 0; i < edges.size(); i++) {
-            JsonObject edge = edges.get(i).getAsJsonObject();
-            int u = edge.get("u").getAsInt();
-            int v = edge.get("v").getAsInt();
-            int w = edge.get("w").getAsInt();
-            g.addEdge(u, v, w);
-        }
-
-        System.out.println("Original Graph: " + n + " vertices, " + edges.size() + " edges");
+        System.out.println("Original Graph: " + n + " vertices, " + g.getEdgeCount() + " edges" +
+                " (weight model: " + weightModel + ")");
 
         // Variables for CSV metrics
         int numSCCs = 0;
@@ -98,13 +126,42 @@ public class Main {
         double lpTime = 0;
         int lpRelaxations = 0;
 
+        if (lazy && hasSource) {
+            processReachable(g, json.get("source").getAsInt(), datasetName);
+            return;
+        }
+
+        // Resume from a checkpoint of the same graph if there is one
+        File checkpointFile = null;
+        Checkpoint checkpoint = null;
+        if (checkpointDir != null) {
+            checkpointFile = new File(checkpointDir, datasetName + ".ckpt");
+            long fingerprint = Checkpoint.fingerprint(g);
+            try {
+                checkpoint = Checkpoint.load(checkpointFile, fingerprint);
+            } catch (IOException e) {
+                System.out.println("Ignoring checkpoint: " + e.getMessage());
+            }
+            if (checkpoint == null) {
+                checkpoint = new Checkpoint(fingerprint);
+            }
+        }
+
         // ==========================================
         // 1. Find Strongly Connected Components
         // ==========================================
-        System.out.println("\n[1] Finding Strongly Connected Components (Tarjan)...");
+        System.out.println("\n[1] Finding Strongly Connected Components...");
         Metrics sccMetrics = new Metrics();
-        TarjanSCC tarjan = new TarjanSCC();
-        List<List<Integer>> sccs = tarjan.findSCCs(g, sccMetrics);
+        List<List<Integer>> sccs;
+        if (checkpoint != null && checkpoint.getSCCs() != null) {
+            sccs = checkpoint.getSCCs();
+            System.out.println("Resumed from checkpoint");
+        } else {
+            SCCSelector selector = new SCCSelector();
+            sccs = selector.findSCCs(g, sccMetrics);
+            System.out.println("Engine: " + selector.getName());
+            saveCheckpoint(checkpoint, checkpointFile, c -> c.setSCCs(sccs));
+        }
 
         numSCCs = sccs.size();
         sccTime = sccMetrics.getElapsedTimeMs();
@@ -121,24 +178,58 @@ public class Main {
         // 2. Build Condensation Graph (DAG of SCCs)
         // ==========================================
         System.out.println("\n[2] Building Condensation Graph...");
-        CondensationGraph condGraph = new CondensationGraph();
-        Graph dag = condGraph.build(g, sccs);
+        Graph dag;
+        int[] vertexToSCC;
+        if (checkpoint != null && checkpoint.getCondensation() != null) {
+            dag = checkpoint.getCondensation();
+            vertexToSCC = checkpoint.vertexToSCC(n);
+            System.out.println("Resumed from checkpoint");
+        } else {
+            CondensationGraph condGraph = new CondensationGraph();
+            dag = condGraph.build(g, sccs);
+            vertexToSCC = new int[n];
+            for (int v = 0; v < n; v++) {
+                vertexToSCC[v] = condGraph.getVertexSCC(v);
+            }
+            saveCheckpoint(checkpoint, checkpointFile, c -> c.setCondensation(dag));
+        }
 
         // Count edges in condensation
-        int condEdges = 0;
-        for (int i = 0; i < dag.getN(); i++) {
-            condEdges += dag.getNeighbors(i).size();
-        }
+        int condEdges = dag.getEdgeCount();
 
         System.out.println("Condensation DAG: " + dag.getN() + " nodes (SCCs), " + condEdges + " edges");
 
+        // Same reachability with fewer edges: enough for ordering
+        Graph orderDag = dag;
+        if (reduce) {
+            Metrics reduceMetrics = new Metrics();
+            TransitiveReduction reduction = new TransitiveReduction();
+            try {
+                orderDag = reduction.reduce(dag, reduceMetrics);
+                System.out.println("Transitive reduction removed " + reduction.getRemovedEdges() + " edge(s)");
+                System.out.println("Performance: " + reduceMetrics);
+            } catch (IllegalArgumentException e) {
+                // Closure too large: order the unreduced condensation instead
+                System.out.println("Transitive reduction skipped: " + e.getMessage());
+            }
+        }
+
         // ==========================================
         // 3. Topological Sort of Condensation
         // ==========================================
         System.out.println("\n[3] Topological Sort of Condensation DAG...");
         Metrics topoMetrics = new Metrics();
         TopologicalSort topo = new TopologicalSort();
-        List<Integer> sccOrder = topo.sort(dag, topoMetrics);
+        List<Integer> sccOrder;
+        if (checkpoint != null && checkpoint.getOrder() != null) {
+            sccOrder = checkpoint.getOrder();
+            System.out.println("Resumed from checkpoint");
+        } else {
+            sccOrder = topo.sort(orderDag, topoMetrics);
+            if (sccOrder != null) {
+                saveCheckpoint(checkpoint, checkpointFile, c -> c.setOrder(sccOrder));
+            }
+        }
 
         topoTime = topoMetrics.getElapsedTimeMs();
         topoOps = topoMetrics.getOperations();
@@ -161,7 +252,7 @@ public class Main {
             int originalSource = json.get("source").getAsInt();
 
             // Map original source vertex to its SCC index
-            int sccSource = condGraph.getVertexSCC(originalSource);
+            int sccSource = vertexToSCC[originalSource];
 
             System.out.println("\n[4] Shortest Paths in Condensation DAG...");
             System.out.println("Original source vertex: " + originalSource +
@@ -170,14 +261,14 @@ public class Main {
             Metrics spMetrics = new Metrics();
             DAGShortestPath dagSP = new DAGShortestPath();
             int[] dist = dagSP.shortestPaths(dag, sccSource, spMetrics);
+            spRelaxations = spMetrics.getRelaxations();
 
             spTime = spMetrics.getElapsedTimeMs();
-            spRelaxations = spMetrics.getRelaxations();
 
             if (dist != null) {
                 System.out.println("Shortest distances from SCC " + sccSource + ":");
                 for (int i = 0; i < dist.length; i++) {
-                    if (dist[i] == Integer.MAX_VALUE / 2) {
+                    if (dist[i] == DAGShortestPath.INF) {
                         System.out.println("  To SCC " + i + ": UNREACHABLE");
                     } else {
                         System.out.println("  To SCC " + i + ": " + dist[i]);
@@ -187,6 +278,24 @@ public class Main {
             } else {
                 System.out.println("ERROR: Could not compute shortest paths (cycle detected)");
             }
+
+            // Exact distances between original vertices (Dijkstra inside each SCC)
+            try {
+                Metrics vertexMetrics = new Metrics();
+                HierarchicalShortestPath hsp = new HierarchicalShortestPath(g, sccs);
+                int[] vertexDist = hsp.shortestPaths(originalSource, vertexMetrics);
+                System.out.println("Shortest distances from vertex " + originalSource + ":");
+                for (int v = 0; v < vertexDist.length; v++) {
+                    if (vertexDist[v] == HierarchicalShortestPath.UNREACHABLE) {
+                        System.out.println("  To vertex " + v + ": UNREACHABLE");
+                    } else {
+                        System.out.println("  To vertex " + v + ": " + vertexDist[v]);
+                    }
+                }
+                System.out.println("Performance: " + vertexMetrics);
+            } catch (IllegalArgumentException e) {
+                System.out.println("Vertex-level distances unavailable: " + e.getMessage());
+            }
         }
 
         // ==========================================
@@ -224,11 +333,61 @@ public class Main {
         // ==========================================
         // Write metrics to CSV
         // ==========================================
-        writeCSVRow(datasetName, n, edges.size(), numSCCs, sccTime, sccVisits,
+        writeCSVRow(datasetName, n, g.getEdgeCount(), numSCCs, sccTime, sccVisits,
                 topoTime, topoOps, hasSource, spTime, spRelaxations,
                 longestPathLength, lpTime, lpRelaxations);
     }
 
+    /**
+     * --lazy with a source: SCCs, condensation and distances of the part of
+     * the graph the source reaches; nothing is computed for the rest
+     */
+    private static void processReachable(Graph g, int source, String datasetName) {
+        System.out.println("\n[lazy] Source-Restricted Shortest Paths from vertex " + source + "...");
+        Metrics spMetrics = new Metrics();
+        SourcePipeline.Result reached = new SourcePipeline(g).run(source, spMetrics);
+        List<List<Integer>> sccs = reached.getSCCs();
+
+        System.out.println("Reached " + reached.getVertices().length + " of " + g.getN() + " vertices, " +
+                sccs.size() + " SCC(s); source is in SCC " + reached.getSourceSCC());
+        System.out.println("Reached condensation DAG: " + reached.getCondensation().getN() + " nodes (SCCs), " +
+                reached.getCondensation().getEdgeCount() + " edges");
+        System.out.println("Shortest distances from SCC " + reached.getSourceSCC() + ":");
+        for (int c = 0; c < sccs.size(); c++) {
+            int d = reached.getDistance(c);
+            System.out.println("  To SCC " + c + " " + sccs.get(c) + ": " +
+                    (d == DAGShortestPath.INF ? "UNREACHABLE" : String.valueOf(d)));
+        }
+        System.out.println("Unreached vertices: " + (g.getN() - reached.getVertices().length));
+        System.out.println("Performance: " + spMetrics);
+
+        System.out.println("\n" + "-".repeat(60));
+
+        // Phases that did not run stay empty; sccs counts the reached SCCs only
+        csvWriter.printf("%s,%d,%d,%d,%.3f,%d,,,true,%.3f,%d,,,,lazy%n",
+                datasetName, g.getN(), g.getEdgeCount(), sccs.size(),
+                spMetrics.getValue("scc_time_ms"), (int) spMetrics.getValue("scc_dfs_visits"),
+                spMetrics.getValue("relax_time_ms"), (int) spMetrics.getValue("relaxations"));
+        csvWriter.flush();
+    }
+
+    /**
+     * Record a finished phase in the checkpoint (if enabled) and save it
+     * A failed save only costs the ability to resume, so it is not fatal
+     */
+    private static void saveCheckpoint(Checkpoint checkpoint, File file,
+                                       java.util.function.Consumer<Checkpoint> phase) {
+        if (checkpoint == null) {
+            return;
+        }
+        phase.accept(checkpoint);
+        try {
+            checkpoint.save(file);
+        } catch (IOException e) {
+            System.err.println("Could not save checkpoint: " + e.getMessage());
+        }
+    }
+
     /**
      * Write a row to CSV file
      */
@@ -237,7 +396,7 @@ public class Main {
                                     double topoTime, int topoOps, boolean hasSource,
                                     double spTime, int spRelaxations,
                                     int longestPathLength, double lpTime, int lpRelaxations) {
-        csvWriter.printf("%s,%d,%d,%d,%.3f,%d,%.3f,%d,%b,%.3f,%d,%d,%.3f,%d%n",
+        csvWriter.printf("%s,%d,%d,%d,%.3f,%d,%.3f,%d,%b,%.3f,%d,%d,%.3f,%d,full%n",
                 dataset, vertices, edges, sccs, sccTime, sccVisits,
                 topoTime, topoOps, hasSource, spTime, spRelaxations,
                 longestPathLength, lpTime, lpRelaxations);
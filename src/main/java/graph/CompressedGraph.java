@@ -0,0 +1,289 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * Read-only directed graph with compressed adjacency, for graphs too large
+ * to keep as 4-byte targets plus 4-byte weights per edge.
+ *
+ * Each vertex's edges are sorted by target and stored in one byte array as
+ * varints (7 bits per byte, high bit = more bytes follow):
+ *
+ *   degree, then per edge: gap [, weight]
+ *
+ * The first gap is the zigzag-encoded difference to the source vertex, the
+ * others are differences to the previous target (>= 0). When every weight
+ * lies in [0, 15] the weight is packed into the low 4 bits of the gap, so a
+ * local edge with a small weight takes a single byte; otherwise the weight
+ * follows as its own zigzag varint. Edges are read front to back with an
+ * EdgeCursor.
+ */
+public class CompressedGraph {
+    private static final int WEIGHT_BITS = 4;
+    private static final int MAX_PACKED_WEIGHT = (1 << WEIGHT_BITS) - 1;
+
+    private final int n;
+    private final int edgeCount;
+    private final int[] offsets;  // byte position of each vertex's edges (length n + 1)
+    private final byte[] data;
+    private final boolean packed; // weights packed into the gap varints
+    private final int[] nodeWeights;
+
+    private CompressedGraph(int n, int edgeCount, int[] offsets, byte[] data, boolean packed, int[] nodeWeights) {
+        this.n = n;
+        this.edgeCount = edgeCount;
+        this.offsets = offsets;
+        this.data = data;
+        this.packed = packed;
+        this.nodeWeights = nodeWeights;
+    }
+
+    /**
+     * Compress g (neighbor lists end up sorted by target)
+     */
+    public static CompressedGraph from(Graph g) {
+        int n = g.getN();
+        int[] off = g.getOffsets();
+        int[] tgt = g.getTargets();
+        int[] wgt = g.getWeights();
+        int m = off[n];
+
+        boolean packed = true;
+        for (int e = 0; e < m; e++) {
+            if (wgt[e] < 0 || wgt[e] > MAX_PACKED_WEIGHT) {
+                packed = false;
+                break;
+            }
+        }
+
+        Encoder out = new Encoder(m + n);
+        int[] offsets = new int[n + 1];
+        long[] sorted = new long[16];
+
+        for (int u = 0; u < n; u++) {
+            offsets[u] = out.size;
+            int degree = off[u + 1] - off[u];
+            out.writeVarint(degree);
+            if (degree > sorted.length) {
+                sorted = new long[degree];
+            }
+            // Pack (target, index) so sorting keeps weights attached
+            for (int i = 0; i < degree; i++) {
+                sorted[i] = ((long) tgt[off[u] + i] << 32) | i;
+            }
+            Arrays.sort(sorted, 0, degree);
+
+            int prev = u;
+            for (int i = 0; i < degree; i++) {
+                int v = (int) (sorted[i] >>> 32);
+                int w = wgt[off[u] + (int) sorted[i]];
+                long gap = i == 0 ? zigzag(v - u) : v - prev;
+                prev = v;
+                if (packed) {
+                    out.writeVarint((gap << WEIGHT_BITS) | w);
+                } else {
+                    out.writeVarint(gap);
+                    out.writeVarint(zigzag(w));
+                }
+            }
+        }
+        offsets[n] = out.size;
+
+        int[] nodeWeights = null;
+        if (g.hasNodeWeights()) {
+            nodeWeights = new int[n];
+            for (int v = 0; v < n; v++) {
+                nodeWeights[v] = g.getNodeWeight(v);
+            }
+        }
+        return new CompressedGraph(n, m, offsets, out.toArray(), packed, nodeWeights);
+    }
+
+    private static long zigzag(int x) {
+        return ((long) x << 1) ^ (x >> 31);
+    }
+
+    /**
+     * Growable byte buffer with varint output
+     */
+    private static final class Encoder {
+        byte[] bytes;
+        int size;
+
+        Encoder(int capacity) {
+            bytes = new byte[Math.max(capacity, 16)];
+        }
+
+        void writeVarint(long value) {
+            if (bytes.length - size < 10) {
+                long grown = Math.max((long) bytes.length * 2, size + 10L);
+                if (grown > Integer.MAX_VALUE - 8) {
+                    throw new IllegalArgumentException("Compressed graph exceeds 2 GB");
+                }
+                bytes = Arrays.copyOf(bytes, (int) grown);
+            }
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        byte[] toArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+
+    /**
+     * Sequential reader over the edges of one vertex:
+     *
+     *   for (cursor.reset(u); cursor.next(); ) { cursor.target(); cursor.weight(); }
+     *
+     * Not thread-safe; each thread (or DFS frame) needs its own cursor.
+     */
+    public final class EdgeCursor {
+        private int pos;
+        private int remaining;
+        private int target;
+        private int weight;
+        private boolean first;
+
+        private EdgeCursor() {
+        }
+
+        /**
+         * Position the cursor before the first edge of u
+         */
+        public EdgeCursor reset(int u) {
+            pos = offsets[u];
+            remaining = (int) readVarint();
+            target = u;
+            first = true;
+            return this;
+        }
+
+        /**
+         * Advance to the next edge; false when the vertex has no more edges
+         */
+        public boolean next() {
+            if (remaining == 0) {
+                return false;
+            }
+            long value = readVarint();
+            long gap;
+            if (packed) {
+                weight = (int) (value & MAX_PACKED_WEIGHT);
+                gap = value >>> WEIGHT_BITS;
+            } else {
+                gap = value;
+                long z = readVarint();
+                weight = (int) ((z >>> 1) ^ -(z & 1));
+            }
+            if (first) {
+                target += (int) ((gap >>> 1) ^ -(gap & 1)); // zigzag offset from the source
+                first = false;
+            } else {
+                target += (int) gap;
+            }
+            remaining--;
+            return true;
+        }
+
+        /**
+         * Target of the current edge
+         */
+        public int target() {
+            return target;
+        }
+
+        /**
+         * Weight of the current edge
+         */
+        public int weight() {
+            return weight;
+        }
+
+        /**
+         * Edges left after the current one
+         */
+        public int remaining() {
+            return remaining;
+        }
+
+        private long readVarint() {
+            long result = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[pos++];
+                result |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return result;
+        }
+    }
+
+    /**
+     * New cursor over this graph's edges
+     */
+    public EdgeCursor cursor() {
+        return new EdgeCursor();
+    }
+
+    /**
+     * Get number of vertices
+     */
+    public int getN() {
+        return n;
+    }
+
+    /**
+     * Get number of edges
+     */
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Get the weight of vertex v (0 if the graph has no node weights)
+     */
+    public int getNodeWeight(int v) {
+        return nodeWeights == null ? 0 : nodeWeights[v];
+    }
+
+    /**
+     * In-degree of every vertex (one pass over all edges)
+     */
+    public int[] inDegrees() {
+        int[] in = new int[n];
+        EdgeCursor c = cursor();
+        for (int u = 0; u < n; u++) {
+            for (c.reset(u); c.next(); ) {
+                in[c.target()]++;
+            }
+        }
+        return in;
+    }
+
+    /**
+     * Bytes used by the edge data and vertex offsets
+     */
+    public long getMemoryBytes() {
+        return data.length + 4L * offsets.length;
+    }
+
+    /**
+     * Average bytes per edge (edge data and offsets; the plain CSR form
+     * needs 8 bytes per edge plus 4 per vertex)
+     */
+    public double getBytesPerEdge() {
+        return edgeCount == 0 ? 0.0 : (double) getMemoryBytes() / edgeCount;
+    }
+
+    /**
+     * Check if weights are packed into the target gaps
+     */
+    public boolean isWeightPacked() {
+        return packed;
+    }
+}
@@ -0,0 +1,64 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * Directed graph with double edge weights
+ */
+public class DoubleGraph extends PrimitiveGraph {
+    private double[] weight;
+
+    /**
+     * Create a graph with n vertices
+     */
+    public DoubleGraph(int n) {
+        this(n, 16);
+    }
+
+    /**
+     * Create a graph with n vertices and room for expectedEdges edges
+     */
+    public DoubleGraph(int n, int expectedEdges) {
+        super(n, expectedEdges);
+        this.weight = new double[target.length];
+    }
+
+    /**
+     * Copy an int-weighted graph
+     */
+    public static DoubleGraph from(Graph g) {
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        int[] weights = g.getWeights();
+        DoubleGraph result = new DoubleGraph(g.getN(), g.getEdgeCount());
+        for (int u = 0; u < g.getN(); u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                result.addEdge(u, targets[e], weights[e]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Add an edge from u to v with weight w (must be finite)
+     */
+    public void addEdge(int u, int v, double w) {
+        if (Double.isNaN(w) || Double.isInfinite(w)) {
+            throw new IllegalArgumentException("Edge weight must be finite: " + w);
+        }
+        int e = addArc(u, v);
+        weight[e] = w;
+    }
+
+    /**
+     * Weight of edge e
+     */
+    public double edgeWeight(int e) {
+        return weight[e];
+    }
+
+    @Override
+    protected void growWeights(int capacity) {
+        weight = Arrays.copyOf(weight, capacity);
+    }
+}
@@ -4,11 +4,31 @@ import java.util.*;
 
 /**
  * Basic graph class for directed graphs with weighted edges
+ *
+ * A graph is either mutable (adjacency lists, built with addEdge) or frozen
+ * (compact CSR arrays only, built by GraphBuilder). Algorithms read the CSR
+ * arrays; for mutable graphs they are built lazily and rebuilt after changes.
  */
 public class Graph {
     private int n; // number of vertices
-    private List<List<Edge>> adj; // adjacency list
+    private List<List<Edge>> adj; // adjacency list, null for frozen graphs
     private boolean directed;
+    private int version; // incremented on every mutation
+    private int[] nodeWeights; // optional vertex weights (task durations), null if unused
+
+    // Compressed sparse row form: edges of u are [offsets[u], offsets[u + 1])
+    private int[] offsets;
+    private int[] targets;
+    private int[] weights;
+    private int csrVersion = -1; // version the CSR arrays were built for
+
+    // Transposed CSR (incoming edges) and degree arrays, built on first use
+    private int[] revOffsets;
+    private int[] revSources;
+    private int[] revWeights;
+    private int[] inDegrees;
+    private int[] outDegrees;
+    private int reverseVersion = -1;
 
     /**
      * Edge class to store destination and weight
@@ -35,18 +55,260 @@ public class Graph {
         }
     }
 
+    /**
+     * Create a frozen graph from CSR arrays (used by GraphBuilder)
+     */
+    Graph(int n, boolean directed, int[] offsets, int[] targets, int[] weights, int[] nodeWeights) {
+        this.n = n;
+        this.directed = directed;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.nodeWeights = nodeWeights;
+        this.csrVersion = 0;
+    }
+
     /**
      * Add an edge from u to v with weight w
      */
     public void addEdge(int u, int v, int w) {
+        checkMutable();
         adj.get(u).add(new Edge(v, w));
+        version++;
+    }
+
+    /**
+     * Remove the first edge from u to v
+     * Returns false if there is no such edge
+     */
+    public boolean removeEdge(int u, int v) {
+        checkMutable();
+        Iterator<Edge> it = adj.get(u).iterator();
+        while (it.hasNext()) {
+            if (it.next().to == v) {
+                it.remove();
+                version++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Set the weight (duration) of vertex v
+     */
+    public void setNodeWeight(int v, int w) {
+        checkMutable();
+        if (nodeWeights == null) {
+            nodeWeights = new int[n];
+        }
+        nodeWeights[v] = w;
+        version++;
+    }
+
+    /**
+     * Get the weight of vertex v (0 if the graph has no node weights)
+     */
+    public int getNodeWeight(int v) {
+        return nodeWeights == null ? 0 : nodeWeights[v];
+    }
+
+    /**
+     * Check if any node weight was set
+     */
+    public boolean hasNodeWeights() {
+        return nodeWeights != null;
     }
 
     /**
      * Get all neighbors of vertex v
+     * For frozen graphs this is a read-only view over the CSR arrays
      */
     public List<Edge> getNeighbors(int v) {
-        return adj.get(v);
+        if (adj != null) {
+            return adj.get(v);
+        }
+
+        final int start = offsets[v];
+        final int size = offsets[v + 1] - start;
+        return new AbstractList<Edge>() {
+            @Override
+            public Edge get(int i) {
+                if (i < 0 || i >= size) {
+                    throw new IndexOutOfBoundsException("Index " + i + " out of range [0, " + size + ")");
+                }
+                return new Edge(targets[start + i], weights[start + i]);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * CSR offsets (length n + 1); edges of u are [offsets[u], offsets[u + 1])
+     * The returned arrays are shared: do not modify them
+     */
+    public int[] getOffsets() {
+        ensureCSR();
+        return offsets;
+    }
+
+    /**
+     * CSR edge targets
+     */
+    public int[] getTargets() {
+        ensureCSR();
+        return targets;
+    }
+
+    /**
+     * CSR edge weights
+     */
+    public int[] getWeights() {
+        ensureCSR();
+        return weights;
+    }
+
+    /**
+     * Get number of edges
+     */
+    public int getEdgeCount() {
+        return getOffsets()[n];
+    }
+
+    /**
+     * Get number of edges leaving v
+     */
+    public int getOutDegree(int v) {
+        if (adj != null) {
+            return adj.get(v).size();
+        }
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * Transposed CSR offsets (length n + 1); edges into v are
+     * [revOffsets[v], revOffsets[v + 1]) in getReverseSources/getReverseWeights
+     * The returned arrays are shared: do not modify them
+     */
+    public int[] getReverseOffsets() {
+        ensureReverse();
+        return revOffsets;
+    }
+
+    /**
+     * Source vertex of each incoming edge
+     */
+    public int[] getReverseSources() {
+        ensureReverse();
+        return revSources;
+    }
+
+    /**
+     * Weight of each incoming edge
+     */
+    public int[] getReverseWeights() {
+        ensureReverse();
+        return revWeights;
+    }
+
+    /**
+     * In-degree of every vertex (shared array: do not modify)
+     */
+    public int[] getInDegrees() {
+        ensureReverse();
+        return inDegrees;
+    }
+
+    /**
+     * Out-degree of every vertex (shared array: do not modify)
+     */
+    public int[] getOutDegrees() {
+        ensureReverse();
+        return outDegrees;
+    }
+
+    /**
+     * Build the transposed CSR with one counting pass over the edges
+     * (parallel for large graphs) and a fill pass
+     */
+    private synchronized void ensureReverse() {
+        ensureCSR();
+        if (reverseVersion == csrVersion) {
+            return;
+        }
+
+        int m = offsets[n];
+        int[] sources = new int[m];
+        int[] out = new int[n];
+        for (int u = 0; u < n; u++) {
+            out[u] = offsets[u + 1] - offsets[u];
+            Arrays.fill(sources, offsets[u], offsets[u + 1], u);
+        }
+
+        // Group edges by target instead of source
+        int[] rOff = new int[n + 1];
+        int[] rSrc = new int[m];
+        int[] rWgt = new int[m];
+        GraphBuilder.fillCSR(n, m, targets, sources, weights, true, rOff, rSrc, rWgt);
+
+        int[] in = new int[n];
+        for (int v = 0; v < n; v++) {
+            in[v] = rOff[v + 1] - rOff[v];
+        }
+
+        revOffsets = rOff;
+        revSources = rSrc;
+        revWeights = rWgt;
+        inDegrees = in;
+        outDegrees = out;
+        reverseVersion = csrVersion;
+    }
+
+    /**
+     * (Re)build CSR arrays from the adjacency lists if they are stale
+     */
+    private synchronized void ensureCSR() {
+        if (csrVersion == version) {
+            return;
+        }
+
+        int[] off = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            off[u + 1] = off[u] + adj.get(u).size();
+        }
+
+        int[] tgt = new int[off[n]];
+        int[] wgt = new int[off[n]];
+        for (int u = 0; u < n; u++) {
+            int i = off[u];
+            for (Edge edge : adj.get(u)) {
+                tgt[i] = edge.to;
+                wgt[i] = edge.weight;
+                i++;
+            }
+        }
+
+        offsets = off;
+        targets = tgt;
+        weights = wgt;
+        csrVersion = version;
+    }
+
+    private void checkMutable() {
+        if (adj == null) {
+            throw new IllegalStateException("Graph is frozen");
+        }
+    }
+
+    /**
+     * Check if the graph is frozen (immutable)
+     */
+    public boolean isFrozen() {
+        return adj == null;
     }
 
     /**
@@ -56,6 +318,13 @@ public class Graph {
         return n;
     }
 
+    /**
+     * Get the mutation version (changes whenever an edge is added or removed)
+     */
+    public int getVersion() {
+        return version;
+    }
+
     /**
      * Check if graph is directed
      */
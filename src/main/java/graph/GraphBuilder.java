@@ -0,0 +1,223 @@
+package graph;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Builds a frozen (immutable) CSR graph from buffered edges.
+ *
+ * Edges are collected in primitive arrays (single addEdge calls or bulk
+ * addEdges). build() counts out-degrees in a first pass, turns them into
+ * offsets and fills pre-sized target/weight arrays in a second pass. For
+ * large inputs both passes can run in parallel over chunks of the edge list;
+ * neighbor order is the insertion order either way.
+ */
+public class GraphBuilder {
+    private static final int PARALLEL_THRESHOLD = 1 << 16; // edges
+
+    private final int n;
+    private boolean directed = true;
+    private boolean parallel;
+
+    // Buffered edges
+    private int[] src;
+    private int[] dst;
+    private int[] wgt;
+    private int size;
+
+    private int[] nodeWeights;
+
+    /**
+     * Builder for a graph with n vertices
+     */
+    public GraphBuilder(int n) {
+        this(n, 16);
+    }
+
+    /**
+     * Builder for a graph with n vertices and room for expectedEdges edges
+     */
+    public GraphBuilder(int n, int expectedEdges) {
+        this.n = n;
+        int capacity = Math.max(expectedEdges, 4);
+        this.src = new int[capacity];
+        this.dst = new int[capacity];
+        this.wgt = new int[capacity];
+    }
+
+    /**
+     * Mark the graph as directed or undirected (edges are stored as given)
+     */
+    public GraphBuilder directed(boolean directed) {
+        this.directed = directed;
+        return this;
+    }
+
+    /**
+     * Allow build() to use multiple threads for large inputs
+     */
+    public GraphBuilder parallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
+    /**
+     * Add an edge from u to v with weight w
+     */
+    public GraphBuilder addEdge(int u, int v, int w) {
+        checkVertex(u);
+        checkVertex(v);
+        ensureCapacity(size + 1);
+        src[size] = u;
+        dst[size] = v;
+        wgt[size] = w;
+        size++;
+        return this;
+    }
+
+    /**
+     * Add many edges at once: edge i is us[i] → vs[i] with weight ws[i]
+     */
+    public GraphBuilder addEdges(int[] us, int[] vs, int[] ws) {
+        if (us.length != vs.length || us.length != ws.length) {
+            throw new IllegalArgumentException("Edge arrays must have the same length");
+        }
+        for (int i = 0; i < us.length; i++) {
+            checkVertex(us[i]);
+            checkVertex(vs[i]);
+        }
+        ensureCapacity(size + us.length);
+        System.arraycopy(us, 0, src, size, us.length);
+        System.arraycopy(vs, 0, dst, size, vs.length);
+        System.arraycopy(ws, 0, wgt, size, ws.length);
+        size += us.length;
+        return this;
+    }
+
+    /**
+     * Set the weight (duration) of vertex v
+     */
+    public GraphBuilder setNodeWeight(int v, int w) {
+        checkVertex(v);
+        if (nodeWeights == null) {
+            nodeWeights = new int[n];
+        }
+        nodeWeights[v] = w;
+        return this;
+    }
+
+    /**
+     * Number of edges added so far
+     */
+    public int getEdgeCount() {
+        return size;
+    }
+
+    /**
+     * Build the frozen graph
+     */
+    public Graph build() {
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[size];
+        int[] weights = new int[size];
+        fillCSR(n, size, src, dst, wgt, parallel, offsets, targets, weights);
+
+        int[] nw = nodeWeights == null ? null : nodeWeights.clone();
+        return new Graph(n, directed, offsets, targets, weights, nw);
+    }
+
+    /**
+     * Group the first size edges (src[i] → dst[i], weight wgt[i]) by source
+     * into CSR arrays. Pass 1 counts out-degrees, pass 2 places every edge;
+     * the relative order of edges with the same source is kept.
+     */
+    static void fillCSR(int n, int size, int[] src, int[] dst, int[] wgt, boolean parallel,
+                        int[] offsets, int[] targets, int[] weights) {
+        int chunks = chunkCount(n, size, parallel);
+
+        if (chunks <= 1) {
+            // Pass 1: count out-degrees (shifted by one for the prefix sum)
+            for (int i = 0; i < size; i++) {
+                offsets[src[i] + 1]++;
+            }
+            for (int u = 0; u < n; u++) {
+                offsets[u + 1] += offsets[u];
+            }
+
+            // Pass 2: place every edge at its vertex's next free slot
+            int[] cursor = Arrays.copyOf(offsets, n);
+            for (int i = 0; i < size; i++) {
+                int pos = cursor[src[i]]++;
+                targets[pos] = dst[i];
+                weights[pos] = wgt[i];
+            }
+            return;
+        }
+
+        // Parallel version: per-chunk degree counts give every chunk its own
+        // write cursor for each vertex, so no synchronization is needed
+        int chunkSize = (size + chunks - 1) / chunks;
+        int[][] counts = new int[chunks][n];
+
+        // Pass 1: each chunk counts its own edges
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int[] count = counts[c];
+            int end = Math.min(size, (c + 1) * chunkSize);
+            for (int i = c * chunkSize; i < end; i++) {
+                count[src[i]]++;
+            }
+        });
+
+        // Prefix sums: vertex offsets, then turn counts into chunk cursors
+        for (int u = 0; u < n; u++) {
+            int pos = offsets[u];
+            for (int c = 0; c < chunks; c++) {
+                int count = counts[c][u];
+                counts[c][u] = pos;
+                pos += count;
+            }
+            offsets[u + 1] = pos;
+        }
+
+        // Pass 2: each chunk writes into its reserved slots
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int[] cursor = counts[c];
+            int end = Math.min(size, (c + 1) * chunkSize);
+            for (int i = c * chunkSize; i < end; i++) {
+                int pos = cursor[src[i]]++;
+                targets[pos] = dst[i];
+                weights[pos] = wgt[i];
+            }
+        });
+    }
+
+    /**
+     * Number of chunks for the parallel build (1 means sequential)
+     */
+    private static int chunkCount(int n, int size, boolean parallel) {
+        if (!parallel || size < PARALLEL_THRESHOLD) {
+            return 1;
+        }
+        int chunks = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+        // Per-chunk counters cost chunks * n ints; keep that below the edge buffers
+        while (chunks > 1 && (long) chunks * n > 2L * size) {
+            chunks--;
+        }
+        return chunks;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed > src.length) {
+            int newCap = Math.max(needed, src.length * 2);
+            src = Arrays.copyOf(src, newCap);
+            dst = Arrays.copyOf(dst, newCap);
+            wgt = Arrays.copyOf(wgt, newCap);
+        }
+    }
+
+    private void checkVertex(int v) {
+        if (v < 0 || v >= n) {
+            throw new IndexOutOfBoundsException("Vertex " + v + " out of range [0, " + n + ")");
+        }
+    }
+}
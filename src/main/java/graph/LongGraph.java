@@ -0,0 +1,61 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * Directed graph with long edge weights (e.g. durations in milliseconds)
+ */
+public class LongGraph extends PrimitiveGraph {
+    private long[] weight;
+
+    /**
+     * Create a graph with n vertices
+     */
+    public LongGraph(int n) {
+        this(n, 16);
+    }
+
+    /**
+     * Create a graph with n vertices and room for expectedEdges edges
+     */
+    public LongGraph(int n, int expectedEdges) {
+        super(n, expectedEdges);
+        this.weight = new long[target.length];
+    }
+
+    /**
+     * Copy an int-weighted graph
+     */
+    public static LongGraph from(Graph g) {
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        int[] weights = g.getWeights();
+        LongGraph result = new LongGraph(g.getN(), g.getEdgeCount());
+        for (int u = 0; u < g.getN(); u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                result.addEdge(u, targets[e], weights[e]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Add an edge from u to v with weight w
+     */
+    public void addEdge(int u, int v, long w) {
+        int e = addArc(u, v);
+        weight[e] = w;
+    }
+
+    /**
+     * Weight of edge e
+     */
+    public long edgeWeight(int e) {
+        return weight[e];
+    }
+
+    @Override
+    protected void growWeights(int capacity) {
+        weight = Arrays.copyOf(weight, capacity);
+    }
+}
@@ -1,5 +1,7 @@
 package graph;
 
+import java.util.*;
+
 /**
  * Interface for tracking algorithm performance metrics
  */
@@ -9,6 +11,7 @@ public class Metrics {
     private int operationCount;
     private long startTime;
     private long endTime;
+    private Map<String, Double> values = new LinkedHashMap<>(); // extra named results
 
     /**
      * Start timing
@@ -18,6 +21,7 @@ public class Metrics {
         this.dfsVisits = 0;
         this.edgeRelaxations = 0;
         this.operationCount = 0;
+        this.values.clear();
     }
 
     /**
@@ -76,9 +80,43 @@ public class Metrics {
         return operationCount;
     }
 
+    /**
+     * Add to operations counter (used when counts are collected elsewhere)
+     */
+    public void addOperations(int count) {
+        this.operationCount += count;
+    }
+
+    /**
+     * Record a named result (e.g. achieved parallelism)
+     */
+    public void setValue(String name, double value) {
+        values.put(name, value);
+    }
+
+    /**
+     * Get a named result, or 0 if it was not recorded
+     */
+    public double getValue(String name) {
+        Double value = values.get(name);
+        return value == null ? 0.0 : value;
+    }
+
+    /**
+     * Get all named results
+     */
+    public Map<String, Double> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+
     @Override
     public String toString() {
-        return String.format("Time: %.3f ms, DFS Visits: %d, Relaxations: %d, Operations: %d",
-                getElapsedTimeMs(), dfsVisits, edgeRelaxations, operationCount);
+        StringBuilder sb = new StringBuilder(String.format(
+                "Time: %.3f ms, DFS Visits: %d, Relaxations: %d, Operations: %d",
+                getElapsedTimeMs(), dfsVisits, edgeRelaxations, operationCount));
+        for (Map.Entry<String, Double> e : values.entrySet()) {
+            sb.append(String.format(", %s: %.3f", e.getKey(), e.getValue()));
+        }
+        return sb.toString();
     }
 }
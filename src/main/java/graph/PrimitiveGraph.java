@@ -0,0 +1,126 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * Base class for graphs whose edges live in primitive arrays.
+ * Edges are stored as linked lists per vertex (forward star):
+ * firstEdge(u), nextEdge(e) ... until -1. No Edge objects are allocated.
+ * Subclasses store the weight array in the type they need.
+ */
+public abstract class PrimitiveGraph {
+    protected final int n;
+    protected int[] head;    // first edge of each vertex, -1 if none
+    protected int[] tail;    // last edge of each vertex, -1 if none
+    protected int[] next;    // next edge with the same source, -1 at end
+    protected int[] target;  // destination of each edge
+    protected int edgeCount;
+
+    protected PrimitiveGraph(int n, int expectedEdges) {
+        this.n = n;
+        this.head = new int[n];
+        this.tail = new int[n];
+        Arrays.fill(head, -1);
+        Arrays.fill(tail, -1);
+        int capacity = Math.max(expectedEdges, 4);
+        this.next = new int[capacity];
+        this.target = new int[capacity];
+    }
+
+    /**
+     * Append an edge u→v and return its index
+     */
+    protected int addArc(int u, int v) {
+        if (v < 0 || v >= n) {
+            throw new IndexOutOfBoundsException("Vertex " + v + " out of range [0, " + n + ")");
+        }
+        if (edgeCount == target.length) {
+            int newCap = edgeCount * 2;
+            next = Arrays.copyOf(next, newCap);
+            target = Arrays.copyOf(target, newCap);
+            growWeights(newCap);
+        }
+
+        int e = edgeCount++;
+        target[e] = v;
+        next[e] = -1;
+        if (tail[u] == -1) {
+            head[u] = e;
+        } else {
+            next[tail[u]] = e;
+        }
+        tail[u] = e;
+        return e;
+    }
+
+    /**
+     * Resize the weight array to the new edge capacity
+     */
+    protected abstract void growWeights(int capacity);
+
+    /**
+     * First edge leaving u, or -1
+     */
+    public int firstEdge(int u) {
+        return head[u];
+    }
+
+    /**
+     * Edge after e with the same source, or -1
+     */
+    public int nextEdge(int e) {
+        return next[e];
+    }
+
+    /**
+     * Destination of edge e
+     */
+    public int edgeTarget(int e) {
+        return target[e];
+    }
+
+    /**
+     * Get number of vertices
+     */
+    public int getN() {
+        return n;
+    }
+
+    /**
+     * Get number of edges
+     */
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Topological order (Kahn's algorithm), or null if there is a cycle
+     */
+    public int[] topologicalOrder() {
+        int[] inDegree = new int[n];
+        for (int e = 0; e < edgeCount; e++) {
+            inDegree[target[e]]++;
+        }
+
+        // The result array doubles as the queue
+        int[] order = new int[n];
+        int qHead = 0;
+        int qTail = 0;
+        for (int i = 0; i < n; i++) {
+            if (inDegree[i] == 0) {
+                order[qTail++] = i;
+            }
+        }
+
+        while (qHead < qTail) {
+            int u = order[qHead++];
+            for (int e = head[u]; e != -1; e = next[e]) {
+                if (--inDegree[target[e]] == 0) {
+                    order[qTail++] = target[e];
+                }
+            }
+        }
+
+        return qTail == n ? order : null;
+    }
+}
@@ -0,0 +1,58 @@
+package graph.bench;
+
+import graph.CompressedGraph;
+import graph.Graph;
+import graph.Metrics;
+import graph.dagsp.DAGShortestPath;
+import graph.reorder.VertexReordering;
+import graph.topo.TopologicalSort;
+
+/**
+ * Bytes per edge and traversal speed of CompressedGraph vs. plain CSR
+ * Usage: CompressionBenchmark [n] [avgDegree] [rounds]
+ *
+ * Shuffled ids give large target gaps; after BFS relabeling most gaps are
+ * small and the varints shrink, so both orders are reported
+ */
+public class CompressionBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        Graph shuffled = GraphGenerator.dag(n, degree, 1);
+        Graph local = VertexReordering.compute(shuffled, VertexReordering.Strategy.BFS).getGraph();
+
+        System.out.println("n=" + n + " m=" + shuffled.getEdgeCount() + " rounds=" + rounds);
+        System.out.printf("%-9s %-11s %14s %10s %10s%n", "ids", "form", "bytes_per_edge", "topo_ms", "dagsp_ms");
+
+        report("shuffled", shuffled, rounds);
+        report("bfs", local, rounds);
+    }
+
+    private static void report(String ids, Graph g, int rounds) {
+        CompressedGraph cg = CompressedGraph.from(g);
+        int source = new TopologicalSort().sort(g, new Metrics()).get(0);
+        double csrBytes = (8.0 * g.getEdgeCount() + 4.0 * (g.getN() + 1)) / g.getEdgeCount();
+
+        System.out.printf("%-9s %-11s %14.2f %10.3f %10.3f%n", ids, "csr", csrBytes,
+                best(rounds, () -> new TopologicalSort().sort(g, new Metrics())),
+                best(rounds, () -> new DAGShortestPath().shortestPaths(g, source, new Metrics())));
+        System.out.printf("%-9s %-11s %14.2f %10.3f %10.3f%n", ids, "compressed", cg.getBytesPerEdge(),
+                best(rounds, () -> new TopologicalSort().sort(cg, new Metrics())),
+                best(rounds, () -> new DAGShortestPath().shortestPaths(cg, source, new Metrics())));
+    }
+
+    private static double best(int rounds, Runnable run) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 2 * rounds; i++) {
+            long t0 = System.nanoTime();
+            run.run();
+            if (i >= rounds) { // first half is warm-up
+                best = Math.min(best, System.nanoTime() - t0);
+            }
+        }
+        return best / 1_000_000.0;
+    }
+}
@@ -0,0 +1,62 @@
+package graph.bench;
+
+import graph.Graph;
+import graph.GraphBuilder;
+import java.util.*;
+
+/**
+ * Synthetic graphs for benchmarks
+ */
+public class GraphGenerator {
+
+    /**
+     * Random DAG of n vertices with about n * avgDegree edges
+     * Edges only go forward in a hidden order and mostly to nearby vertices,
+     * like a task graph; ids are shuffled so the input has no locality
+     */
+    public static Graph dag(int n, int avgDegree, long seed) {
+        return generate(n, avgDegree, 0.0, seed);
+    }
+
+    /**
+     * Same as dag(), but a fraction of the edges point backwards, creating SCCs
+     */
+    public static Graph cyclic(int n, int avgDegree, double backEdgeFraction, long seed) {
+        return generate(n, avgDegree, backEdgeFraction, seed);
+    }
+
+    private static Graph generate(int n, int avgDegree, double backFraction, long seed) {
+        Random rnd = new Random(seed);
+        int[] label = shuffledIds(n, rnd);
+        int m = n < 2 ? 0 : n * avgDegree;
+        int[] us = new int[m];
+        int[] vs = new int[m];
+        int[] ws = new int[m];
+        int window = Math.max(2, (int) Math.sqrt(n));
+
+        for (int i = 0; i < m; i++) {
+            int a = rnd.nextInt(n - 1);
+            int b = Math.min(n - 1, a + 1 + rnd.nextInt(window));
+            boolean back = rnd.nextDouble() < backFraction;
+            us[i] = label[back ? b : a];
+            vs[i] = label[back ? a : b];
+            ws[i] = 1 + rnd.nextInt(10);
+        }
+
+        return new GraphBuilder(n, m).addEdges(us, vs, ws).build();
+    }
+
+    private static int[] shuffledIds(int n, Random rnd) {
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int t = ids[i];
+            ids[i] = ids[j];
+            ids[j] = t;
+        }
+        return ids;
+    }
+}
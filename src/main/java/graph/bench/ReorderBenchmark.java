@@ -0,0 +1,57 @@
+package graph.bench;
+
+import graph.Graph;
+import graph.Metrics;
+import graph.dagsp.DAGShortestPath;
+import graph.reorder.VertexReordering;
+import graph.scc.TarjanSCC;
+
+/**
+ * Compares Tarjan and DAG relaxation on shuffled ids vs. reordered ids
+ * Usage: ReorderBenchmark [n] [avgDegree] [rounds]
+ * (TarjanSCC is recursive: run large n with a big stack, e.g. -Xss64m)
+ *
+ * The JVM cannot read hardware cache-miss counters, so locality is reported
+ * as the average edge span |u - v| and the fraction of edges whose endpoints
+ * share a 64-byte block of an int[]; run under `perf stat -e cache-misses`
+ * for the hardware numbers
+ */
+public class ReorderBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        Graph cyclic = GraphGenerator.cyclic(n, degree, 0.05, 1);
+        Graph dag = GraphGenerator.dag(n, degree, 2);
+
+        System.out.println("n=" + n + " m=" + cyclic.getEdgeCount() + " rounds=" + rounds);
+        System.out.printf("%-12s %-8s %12s %10s %12s%n", "strategy", "engine", "edge_span", "local", "best_ms");
+
+        report("original", "tarjan", cyclic, () -> new TarjanSCC().findSCCs(cyclic, new Metrics()), rounds);
+        report("original", "dagsp", dag, () -> new DAGShortestPath().longestPath(dag, new Metrics()), rounds);
+
+        for (VertexReordering.Strategy s : VertexReordering.Strategy.values()) {
+            if (s != VertexReordering.Strategy.TOPOLOGICAL) {
+                VertexReordering r = VertexReordering.compute(cyclic, s);
+                report(s.name(), "tarjan", r.getGraph(), () -> r.findSCCs(new Metrics()), rounds);
+            }
+            VertexReordering d = VertexReordering.compute(dag, s);
+            report(s.name(), "dagsp", d.getGraph(), () -> d.longestPath(new Metrics()), rounds);
+        }
+    }
+
+    private static void report(String strategy, String engine, Graph g, Runnable run, int rounds) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < rounds; i++) {
+            long t0 = System.nanoTime();
+            run.run();
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        System.out.printf("%-12s %-8s %12.1f %9.1f%% %12.2f%n", strategy, engine,
+                VertexReordering.averageEdgeSpan(g),
+                100 * VertexReordering.localEdgeFraction(g),
+                best / 1_000_000.0);
+    }
+}
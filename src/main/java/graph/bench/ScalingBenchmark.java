@@ -0,0 +1,336 @@
+package graph.bench;
+
+import graph.Graph;
+import graph.Metrics;
+import graph.dagsp.DAGShortestPath;
+import graph.scc.*;
+import graph.topo.TopologicalSort;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Scaling and regression harness: runs every phase on generated graphs of
+ * doubling size, records time, allocated bytes and retained heap per phase,
+ * fits growth rates and compares against a stored baseline.
+ *
+ * Usage: ScalingBenchmark [--start N] [--steps K] [--rounds R]
+ *                         [--baseline FILE] [--update-baseline]
+ *                         [--threshold T] [--max-slope S]
+ *
+ * - time is the best of R measured rounds (after R warm-up rounds)
+ * - alloc is the bytes allocated by the measuring thread during one run
+ *   (HotSpot's ThreadMXBean; -1 where unsupported)
+ * - retained is the heap still reachable from the phase's result after a GC
+ * - slope is the least-squares fit of log(time) against log(n + m) over
+ *   the runs above 1 ms; linear phases (Tarjan, condensation, topological
+ *   sort, DAG paths) fail the run when it exceeds --max-slope (default 1.3)
+ * - every (phase, n) row present in the baseline (default
+ *   results/baseline.csv) fails the run when its time or allocation grew by
+ *   more than --threshold (default 0.5 = +50%); times under 1 ms are only
+ *   compared above that noise floor. A missing baseline is written instead.
+ *
+ * The exit status is 1 when anything failed, so the harness can gate CI.
+ * Everything runs on one thread with a 1 GB stack (TarjanSCC is recursive).
+ */
+public class ScalingBenchmark {
+    private static final double NOISE_FLOOR_MS = 1.0;
+    private static final List<String> LINEAR_PHASES = Arrays.asList(
+            "tarjan", "condensation", "topo_sort", "dag_shortest", "dag_longest");
+
+    /**
+     * One measured phase at one size
+     */
+    public static class Row {
+        public final String phase;
+        public final int n;
+        public final int m;
+        public final double timeMs;
+        public final long allocBytes;
+        public final long retainedBytes;
+
+        public Row(String phase, int n, int m, double timeMs, long allocBytes, long retainedBytes) {
+            this.phase = phase;
+            this.n = n;
+            this.m = m;
+            this.timeMs = timeMs;
+            this.allocBytes = allocBytes;
+            this.retainedBytes = retainedBytes;
+        }
+
+        public String key() {
+            return phase + "@" + n;
+        }
+    }
+
+    private int start = 10_000;
+    private int steps = 5;
+    private int rounds = 3;
+    private File baselineFile = new File("results/baseline.csv");
+    private boolean updateBaseline;
+    private double threshold = 0.5;
+    private double maxSlope = 1.3;
+
+    public static void main(String[] args) throws Exception {
+        ScalingBenchmark bench = new ScalingBenchmark();
+        for (int i = 0; i < args.length; i++) {
+            boolean hasValue = i + 1 < args.length;
+            if (args[i].equals("--start") && hasValue) {
+                bench.start = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--steps") && hasValue) {
+                bench.steps = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--rounds") && hasValue) {
+                bench.rounds = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--baseline") && hasValue) {
+                bench.baselineFile = new File(args[++i]);
+            } else if (args[i].equals("--update-baseline")) {
+                bench.updateBaseline = true;
+            } else if (args[i].equals("--threshold") && hasValue) {
+                bench.threshold = Double.parseDouble(args[++i]);
+            } else if (args[i].equals("--max-slope") && hasValue) {
+                bench.maxSlope = Double.parseDouble(args[++i]);
+            } else {
+                System.err.println("Unknown argument: " + args[i]);
+                System.exit(2);
+            }
+        }
+
+        // Stays a failure unless run() returns: an uncaught error (OOM, stack
+        // overflow, a crashing phase) must not exit 0
+        int[] status = {2};
+        Thread worker = new Thread(null, () -> {
+            try {
+                status[0] = bench.run();
+            } catch (IOException e) {
+                System.err.println("Error: " + e.getMessage());
+                status[0] = 2;
+            }
+        }, "scaling", 1L << 30);
+        worker.start();
+        worker.join();
+        System.exit(status[0]);
+    }
+
+    /**
+     * Measure, report and compare; returns the exit status
+     */
+    int run() throws IOException {
+        List<Row> rows = new ArrayList<>();
+        System.out.printf("%-13s %9s %9s %11s %14s %14s%n", "phase", "n", "m", "time_ms", "alloc_bytes", "retained_bytes");
+
+        for (int step = 0, n = start; step < steps; step++, n *= 2) {
+            Graph g = GraphGenerator.cyclic(n, 4, 0.1, 42 + step);
+            g.getReverseOffsets(); // cached transpose is part of the input, not of a phase
+            int m = g.getEdgeCount();
+
+            measure(rows, "tarjan", n, m, () -> new TarjanSCC().findSCCs(g, new Metrics()));
+            measure(rows, "kosaraju", n, m, () -> new KosarajuSCC().findSCCs(g, new Metrics()));
+            measure(rows, "path_based", n, m, () -> new PathBasedSCC().findSCCs(g, new Metrics()));
+
+            List<List<Integer>> sccs = new TarjanSCC().findSCCs(g, new Metrics());
+            measure(rows, "condensation", n, m, () -> new CondensationGraph().build(g, sccs));
+
+            // The condensation of g is small; DAG phases get a DAG of the same size
+            Graph dag = GraphGenerator.dag(n, 4, 7 + step);
+            dag.getReverseOffsets();
+            int dm = dag.getEdgeCount();
+            measure(rows, "topo_sort", n, dm, () -> new TopologicalSort().sort(dag, new Metrics()));
+            int source = new TopologicalSort().sort(dag, new Metrics()).get(0);
+            measure(rows, "dag_shortest", n, dm, () -> new DAGShortestPath().shortestPaths(dag, source, new Metrics()));
+            measure(rows, "dag_longest", n, dm, () -> new DAGShortestPath().longestPath(dag, new Metrics()));
+        }
+
+        File out = new File("results/scaling.csv");
+        writeCSV(out, rows);
+        System.out.println("Measurements saved to: " + out);
+
+        boolean failed = checkSlopes(rows);
+
+        if (updateBaseline || !baselineFile.exists()) {
+            writeCSV(baselineFile, rows);
+            System.out.println("Baseline written to: " + baselineFile);
+        } else {
+            failed |= compare(rows, readCSV(baselineFile), threshold);
+        }
+
+        System.out.println(failed ? "FAILED" : "OK");
+        return failed ? 1 : 0;
+    }
+
+    /**
+     * Warm up, then keep the best time; allocation and retained heap come
+     * from one extra run
+     */
+    private void measure(List<Row> rows, String phase, int n, int m, Supplier<Object> run) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 2 * rounds; i++) {
+            long t0 = System.nanoTime();
+            run.get();
+            long elapsed = System.nanoTime() - t0;
+            if (i >= rounds) {
+                best = Math.min(best, elapsed);
+            }
+        }
+
+        long before = usedHeapAfterGC();
+        long alloc0 = allocatedBytes();
+        Object result = run.get();
+        long alloc = alloc0 < 0 ? -1 : allocatedBytes() - alloc0;
+        long retained = Math.max(0, usedHeapAfterGC() - before);
+        Objects.requireNonNull(result); // keep the result reachable until here
+
+        Row row = new Row(phase, n, m, best / 1_000_000.0, alloc, retained);
+        rows.add(row);
+        System.out.printf("%-13s %9d %9d %11.3f %14d %14d%n", phase, n, m, row.timeMs, alloc, retained);
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) bean;
+            if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled()) {
+                return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static long usedHeapAfterGC() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 2; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    /**
+     * Fit log(time) ~ slope * log(n + m) per phase; linear phases must stay
+     * under maxSlope. Returns true if any failed
+     */
+    private boolean checkSlopes(List<Row> rows) {
+        Map<String, List<Row>> byPhase = new LinkedHashMap<>();
+        for (Row r : rows) {
+            byPhase.computeIfAbsent(r.phase, k -> new ArrayList<>()).add(r);
+        }
+
+        boolean failed = false;
+        System.out.println("\nGrowth (time ~ (n + m)^slope):");
+        for (Map.Entry<String, List<Row>> e : byPhase.entrySet()) {
+            // Points under the noise floor say more about the timer than the algorithm
+            List<Row> series = new ArrayList<>();
+            for (Row r : e.getValue()) {
+                if (r.timeMs >= NOISE_FLOOR_MS) {
+                    series.add(r);
+                }
+            }
+            double[] x = new double[series.size()];
+            double[] y = new double[series.size()];
+            for (int i = 0; i < x.length; i++) {
+                x[i] = Math.log(series.get(i).n + (double) series.get(i).m);
+                y[i] = Math.log(Math.max(series.get(i).timeMs, 1e-6));
+            }
+            double slope = slope(x, y);
+            boolean checked = LINEAR_PHASES.contains(e.getKey());
+            boolean bad = checked && x.length > 1 && slope > maxSlope;
+            failed |= bad;
+            System.out.printf("  %-13s %6.2f%s%n", e.getKey(), slope,
+                    bad ? "  SUPERLINEAR (max " + maxSlope + ")" : "");
+        }
+        return failed;
+    }
+
+    /**
+     * Least-squares slope of y against x (0 for fewer than two points)
+     */
+    public static double slope(double[] x, double[] y) {
+        int k = x.length;
+        if (k < 2) {
+            return 0.0;
+        }
+        double mx = 0;
+        double my = 0;
+        for (int i = 0; i < k; i++) {
+            mx += x[i] / k;
+            my += y[i] / k;
+        }
+        double num = 0;
+        double den = 0;
+        for (int i = 0; i < k; i++) {
+            num += (x[i] - mx) * (y[i] - my);
+            den += (x[i] - mx) * (x[i] - mx);
+        }
+        return den == 0 ? 0.0 : num / den;
+    }
+
+    /**
+     * Compare against the baseline; returns true if anything regressed
+     */
+    public static boolean compare(List<Row> rows, Map<String, Row> baseline, double threshold) {
+        boolean failed = false;
+        int compared = 0;
+        System.out.println("\nAgainst baseline (threshold +" + Math.round(threshold * 100) + "%):");
+        for (Row r : rows) {
+            Row b = baseline.get(r.key());
+            if (b == null) {
+                continue;
+            }
+            compared++;
+            boolean slower = r.timeMs > b.timeMs * (1 + threshold)
+                    && r.timeMs > NOISE_FLOOR_MS;
+            boolean heavier = b.allocBytes > 0 && r.allocBytes > b.allocBytes * (1 + threshold);
+            if (slower) {
+                System.out.printf("  %-13s n=%-8d time %.3f ms vs %.3f ms%n", r.phase, r.n, r.timeMs, b.timeMs);
+            }
+            if (heavier) {
+                System.out.printf("  %-13s n=%-8d alloc %d B vs %d B%n", r.phase, r.n, r.allocBytes, b.allocBytes);
+            }
+            failed |= slower || heavier;
+        }
+        System.out.println("  " + compared + " measurements compared" + (failed ? "" : ", no regressions"));
+        return failed;
+    }
+
+    /**
+     * Write rows in the baseline format
+     */
+    public static void writeCSV(File file, List<Row> rows) throws IOException {
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create directory: " + dir);
+        }
+        try (PrintWriter out = new PrintWriter(new FileWriter(file))) {
+            out.println("phase,n,m,time_ms,alloc_bytes,retained_bytes");
+            for (Row r : rows) {
+                out.printf(Locale.ROOT, "%s,%d,%d,%.3f,%d,%d%n", r.phase, r.n, r.m, r.timeMs, r.allocBytes, r.retainedBytes);
+            }
+        }
+    }
+
+    /**
+     * Read a baseline, keyed by phase@n
+     * Throws IOException on a malformed row
+     */
+    public static Map<String, Row> readCSV(File file) throws IOException {
+        Map<String, Row> rows = new HashMap<>();
+        try (BufferedReader in = new BufferedReader(new FileReader(file))) {
+            String line = in.readLine(); // header
+            int lineNo = 1;
+            while ((line = in.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] f = line.split(",");
+                try {
+                    Row r = new Row(f[0], Integer.parseInt(f[1]), Integer.parseInt(f[2]),
+                            Double.parseDouble(f[3]), Long.parseLong(f[4]), Long.parseLong(f[5]));
+                    rows.put(r.key(), r);
+                } catch (RuntimeException e) {
+                    throw new IOException(file + ":" + lineNo + ": malformed baseline row", e);
+                }
+            }
+        }
+        return rows;
+    }
+}
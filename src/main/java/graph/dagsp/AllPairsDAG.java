@@ -0,0 +1,310 @@
+package graph.dagsp;
+
+import graph.Graph;
+import graph.Metrics;
+import graph.topo.TopologicalSort;
+import java.io.*;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * All-pairs shortest or longest distances in a DAG.
+ *
+ * Row s holds the distances from s and is filled by one topological sweep
+ * starting at s's position. Rows are computed on first access, or all at
+ * once with computeAll(), which splits the rows into blocks on a fork-join
+ * pool. The n x n matrix is stored row-major as ints, either on the heap or
+ * in a memory-mapped file (for matrices larger than the heap).
+ */
+public class AllPairsDAG implements AutoCloseable {
+    private static final int BLOCK = 32; // rows per fork-join leaf
+
+    /**
+     * Which distance the matrix holds
+     */
+    public enum Mode {
+        SHORTEST, // unreachable = Integer.MAX_VALUE / 2 (as in DAGShortestPath)
+        LONGEST   // unreachable = Integer.MIN_VALUE / 2
+    }
+
+    private final Graph g;
+    private final Mode mode;
+    private final int n;
+    private final int unreachable;
+    private final int[] order;
+    private final int[] position;
+    private final Storage storage;
+    private final AtomicIntegerArray done;
+    private final ThreadLocal<int[]> scratch;
+
+    /**
+     * Heap-backed matrix (n * n must fit in one int array)
+     * Throws IllegalArgumentException if dag has a cycle
+     */
+    public AllPairsDAG(Graph dag, Mode mode) {
+        this(dag, mode, heapStorage(dag.getN()));
+    }
+
+    /**
+     * Matrix stored in a memory-mapped file (created or overwritten)
+     */
+    public AllPairsDAG(Graph dag, Mode mode, File file) throws IOException {
+        this(dag, mode, new MappedStorage(file, dag.getN()));
+    }
+
+    private AllPairsDAG(Graph dag, Mode mode, Storage storage) {
+        this.g = dag;
+        this.mode = mode;
+        this.n = dag.getN();
+        this.unreachable = mode == Mode.SHORTEST ? DAGShortestPath.INF : Integer.MIN_VALUE / 2;
+        this.storage = storage;
+        this.done = new AtomicIntegerArray(n);
+        this.scratch = ThreadLocal.withInitial(() -> new int[n]);
+
+        List<Integer> topo = new TopologicalSort().sort(dag, new Metrics());
+        if (topo == null) {
+            storage.close();
+            throw new IllegalArgumentException("Graph has a cycle");
+        }
+        order = topo.stream().mapToInt(Integer::intValue).toArray();
+        position = new int[n];
+        for (int i = 0; i < n; i++) {
+            position[order[i]] = i;
+        }
+    }
+
+    private static Storage heapStorage(int n) {
+        long cells = (long) n * n;
+        if (cells > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(n + " x " + n + " matrix is too large for the heap; use a file");
+        }
+        return new HeapStorage(n, (int) cells);
+    }
+
+    /**
+     * Value used for "no path" in this mode
+     */
+    public int getUnreachable() {
+        return unreachable;
+    }
+
+    /**
+     * Distance from source to target (computes source's row if needed)
+     */
+    public int get(int source, int target) {
+        ensureRow(source);
+        return storage.get(source, target);
+    }
+
+    /**
+     * Copy of the distances from source
+     */
+    public int[] row(int source) {
+        ensureRow(source);
+        int[] result = new int[n];
+        storage.read(source, result);
+        return result;
+    }
+
+    /**
+     * Check if a row is already computed
+     */
+    public boolean isComputed(int source) {
+        return done.get(source) == 1;
+    }
+
+    /**
+     * Compute every missing row in parallel
+     */
+    public void computeAll(Metrics m) {
+        m.start();
+        int before = countDone();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        pool.invoke(new RowBlock(0, n));
+        m.stop();
+        m.setValue("rows_computed", countDone() - before);
+        m.setValue("parallelism", pool.getParallelism());
+    }
+
+    /**
+     * Fork-join task over a range of rows
+     */
+    private class RowBlock extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        RowBlock(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BLOCK) {
+                for (int s = from; s < to; s++) {
+                    ensureRow(s);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RowBlock(from, mid), new RowBlock(mid, to));
+        }
+    }
+
+    /**
+     * Compute row s into a per-thread buffer and publish it
+     * Two threads may compute the same row; they write identical values
+     */
+    private void ensureRow(int s) {
+        if (done.get(s) == 1) {
+            return;
+        }
+        int[] dist = scratch.get();
+        Arrays.fill(dist, unreachable);
+        dist[s] = g.getNodeWeight(s);
+
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        int[] weights = g.getWeights();
+        boolean shortest = mode == Mode.SHORTEST;
+
+        // Only vertices after s in the order can be reached
+        for (int i = position[s]; i < n; i++) {
+            int u = order[i];
+            if (dist[u] == unreachable) {
+                continue;
+            }
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                int candidate = DAGShortestPath.checkedSum(dist[u], (long) weights[e] + g.getNodeWeight(v), u, v);
+                if (dist[v] == unreachable || (shortest ? candidate < dist[v] : candidate > dist[v])) {
+                    dist[v] = candidate;
+                }
+            }
+        }
+
+        storage.write(s, dist);
+        done.set(s, 1);
+    }
+
+    private int countDone() {
+        int count = 0;
+        for (int s = 0; s < n; s++) {
+            count += done.get(s);
+        }
+        return count;
+    }
+
+    /**
+     * Release the backing file (the mapping itself is freed by the GC)
+     */
+    @Override
+    public void close() {
+        storage.close();
+    }
+
+    /**
+     * Row-major n x n int matrix
+     */
+    private interface Storage {
+        void write(int row, int[] values);
+
+        void read(int row, int[] values);
+
+        int get(int row, int col);
+
+        void close();
+    }
+
+    private static class HeapStorage implements Storage {
+        private final int n;
+        private final int[] cells;
+
+        HeapStorage(int n, int size) {
+            this.n = n;
+            this.cells = new int[size];
+        }
+
+        public void write(int row, int[] values) {
+            System.arraycopy(values, 0, cells, row * n, n);
+        }
+
+        public void read(int row, int[] values) {
+            System.arraycopy(cells, row * n, values, 0, n);
+        }
+
+        public int get(int row, int col) {
+            return cells[row * n + col];
+        }
+
+        public void close() {
+        }
+    }
+
+    /**
+     * File-backed matrix, mapped in segments of whole rows (a mapping is limited to 2 GB)
+     */
+    private static class MappedStorage implements Storage {
+        private static final long SEGMENT_BYTES = 1L << 30;
+
+        private final int n;
+        private final int rowsPerSegment;
+        private final IntBuffer[] segments;
+        private final RandomAccessFile file;
+
+        MappedStorage(File path, int n) throws IOException {
+            this.n = n;
+            long rowBytes = 4L * n;
+            this.rowsPerSegment = (int) Math.max(1, SEGMENT_BYTES / Math.max(rowBytes, 1));
+            int count = n == 0 ? 0 : (n + rowsPerSegment - 1) / rowsPerSegment;
+            this.segments = new IntBuffer[count];
+            this.file = new RandomAccessFile(path, "rw");
+            try {
+                file.setLength(rowBytes * n);
+                FileChannel channel = file.getChannel();
+                for (int i = 0; i < count; i++) {
+                    int rows = Math.min(rowsPerSegment, n - i * rowsPerSegment);
+                    MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_WRITE,
+                            i * rowsPerSegment * rowBytes, rows * rowBytes);
+                    segments[i] = map.asIntBuffer();
+                }
+            } catch (IOException e) {
+                file.close();
+                throw e;
+            }
+        }
+
+        private IntBuffer at(int row) {
+            IntBuffer b = segments[row / rowsPerSegment].duplicate();
+            b.position((row % rowsPerSegment) * n);
+            return b;
+        }
+
+        public void write(int row, int[] values) {
+            at(row).put(values, 0, n);
+        }
+
+        public void read(int row, int[] values) {
+            at(row).get(values, 0, n);
+        }
+
+        public int get(int row, int col) {
+            return segments[row / rowsPerSegment].get((row % rowsPerSegment) * n + col);
+        }
+
+        public void close() {
+            try {
+                file.close();
+            } catch (IOException e) {
+                // Nothing left to release
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package graph.dagsp;
+
+import graph.Graph;
+import graph.Metrics;
+import graph.topo.TopologicalSort;
+import graph.util.LongMinHeap;
+import java.util.*;
+
+/**
+ * Repeated point queries on one DAG: distance to a single target, or all
+ * vertices within a distance bound.
+ *
+ * The topological order is computed once. A query only touches vertices
+ * reachable from its source: they are taken from a heap keyed by
+ * topological position, so a vertex is final when popped, a target query
+ * stops as soon as the target is popped (or its position is passed), and
+ * nothing unreachable is ever scanned. Per-vertex state lives in arrays
+ * stamped with a query number, so a query does not pay O(n) to reset them.
+ *
+ * Not thread-safe: use one instance per thread.
+ */
+public class DAGPathQuery {
+    public static final int UNREACHABLE = DAGShortestPath.INF;
+
+    private final Graph g;
+    private int version;
+    private int[] position; // topological position of each vertex
+    private boolean nonNegative; // all edge and node weights >= 0 (bound pruning is exact)
+
+    // Workspace, valid where stamp[v] == query
+    private final int[] dist;
+    private final int[] parent;
+    private final int[] stamp;
+    private int query;
+    private final LongMinHeap heap = new LongMinHeap();
+
+    /**
+     * Prepare queries on g; throws IllegalArgumentException if g has a cycle
+     */
+    public DAGPathQuery(Graph g) {
+        this.g = g;
+        int n = g.getN();
+        dist = new int[n];
+        parent = new int[n];
+        stamp = new int[n];
+        refresh();
+    }
+
+    /**
+     * Recompute the order if the graph changed since the last query
+     */
+    private void refresh() {
+        if (position != null && version == g.getVersion()) {
+            return;
+        }
+        List<Integer> order = new TopologicalSort().sort(g, new Metrics());
+        if (order == null) {
+            throw new IllegalArgumentException("Graph has a cycle");
+        }
+        position = new int[g.getN()];
+        for (int i = 0; i < order.size(); i++) {
+            position[order.get(i)] = i;
+        }
+
+        nonNegative = true;
+        for (int w : g.getWeights()) {
+            nonNegative &= w >= 0;
+        }
+        for (int v = 0; v < g.getN(); v++) {
+            nonNegative &= g.getNodeWeight(v) >= 0;
+        }
+        version = g.getVersion();
+    }
+
+    /**
+     * Shortest distance from source to target (UNREACHABLE if there is no path)
+     */
+    public int distance(int source, int target, Metrics m) {
+        m.start();
+        run(source, target, UNREACHABLE, m);
+        m.stop();
+        return known(target) ? dist[target] : UNREACHABLE;
+    }
+
+    /**
+     * Shortest path from source to target, or null if there is none
+     */
+    public DAGShortestPath.PathResult path(int source, int target, Metrics m) {
+        int d = distance(source, target, m);
+        if (d == UNREACHABLE) {
+            return null;
+        }
+        List<Integer> path = new ArrayList<>();
+        for (int v = target; v != -1; v = parent[v]) {
+            path.add(v);
+        }
+        Collections.reverse(path);
+        return new DAGShortestPath.PathResult(path, d);
+    }
+
+    /**
+     * All vertices whose shortest distance from source is at most bound,
+     * in topological order. With non-negative weights anything beyond the
+     * bound is pruned during the sweep; otherwise the bound only filters
+     * the result.
+     */
+    public Reached within(int source, int bound, Metrics m) {
+        m.start();
+        int[] visited = run(source, -1, bound, m);
+        m.stop();
+
+        int count = 0;
+        for (int v : visited) {
+            if (dist[v] <= bound) {
+                visited[count++] = v;
+            }
+        }
+        int[] vertices = Arrays.copyOf(visited, count);
+        int[] distances = new int[count];
+        for (int i = 0; i < count; i++) {
+            distances[i] = dist[vertices[i]];
+        }
+        return new Reached(vertices, distances);
+    }
+
+    /**
+     * Sweep the vertices reachable from source in topological order
+     * Stops after target (if >= 0); prunes candidates above bound when exact
+     * Returns the finalized vertices in order
+     */
+    private int[] run(int source, int target, int bound, Metrics m) {
+        refresh();
+        if (++query == 0) {
+            // Stamp counter wrapped: old stamps could look current
+            Arrays.fill(stamp, 0);
+            query = 1;
+        }
+        heap.clear();
+
+        boolean prune = nonNegative && bound != UNREACHABLE;
+        int[] visited = new int[16];
+        int count = 0;
+
+        set(source, g.getNodeWeight(source), -1);
+        heap.push(position[source], source);
+
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        int[] weights = g.getWeights();
+
+        while (!heap.isEmpty()) {
+            if (target >= 0 && heap.peekKey() > position[target]) {
+                break; // target's position passed without reaching it
+            }
+            int u = heap.pop();
+            if (count == visited.length) {
+                visited = Arrays.copyOf(visited, count * 2);
+            }
+            visited[count++] = u;
+            m.incrementOperations();
+            if (u == target) {
+                break;
+            }
+
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                int candidate = DAGShortestPath.checkedSum(dist[u], (long) weights[e] + g.getNodeWeight(v), u, v);
+                if (prune && candidate > bound) {
+                    continue;
+                }
+                if (!known(v)) {
+                    set(v, candidate, u);
+                    heap.push(position[v], v);
+                    m.incrementRelaxations();
+                } else if (candidate < dist[v]) {
+                    dist[v] = candidate;
+                    parent[v] = u;
+                    m.incrementRelaxations();
+                }
+            }
+        }
+
+        m.setValue("visited", count);
+        return Arrays.copyOf(visited, count);
+    }
+
+    private boolean known(int v) {
+        return stamp[v] == query;
+    }
+
+    private void set(int v, int d, int p) {
+        stamp[v] = query;
+        dist[v] = d;
+        parent[v] = p;
+    }
+
+    /**
+     * Result of a bounded query: vertices[i] is at distance dist[i]
+     */
+    public static class Reached {
+        public final int[] vertices;
+        public final int[] dist;
+
+        public Reached(int[] vertices, int[] dist) {
+            this.vertices = vertices;
+            this.dist = dist;
+        }
+    }
+}
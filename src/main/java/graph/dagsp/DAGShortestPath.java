@@ -1,5 +1,6 @@
 package graph.dagsp;
 
+import graph.CompressedGraph;
 import graph.Graph;
 import graph.Metrics;
 import graph.topo.TopologicalSort;
@@ -7,9 +8,31 @@ import java.util.*;
 
 /**
  * Shortest and longest paths in a DAG
+ * Node weights (if the graph has them) are added for every vertex on a path,
+ * in the same pass as the edge weights
  */
 public class DAGShortestPath {
-    private static final int INF = Integer.MAX_VALUE / 2;
+    /** Distance of unreachable vertices in shortestPaths results */
+    public static final int INF = Integer.MAX_VALUE / 2;
+
+    private List<Integer> lastCycle;
+
+    /**
+     * Cycle that made the last call on a Graph return null (null after a
+     * successful call): each vertex has an edge to the next, the last to the first
+     */
+    public List<Integer> getLastCycle() {
+        return lastCycle;
+    }
+
+    /**
+     * Topological order of g, or null with the cycle kept for getLastCycle()
+     */
+    private List<Integer> topologicalOrder(Graph g) {
+        TopologicalSort.Result sorted = new TopologicalSort().sort(g, TopologicalSort.Mode.FULL, new Metrics());
+        lastCycle = sorted.getCycle();
+        return sorted.getOrder();
+    }
 
     /**
      * Find the shortest paths from source in a DAG
@@ -22,29 +45,32 @@ public class DAGShortestPath {
         // Initialize distances
         Arrays.fill(dist, INF);
         Arrays.fill(parent, -1);
-        dist[source] = 0;
+        dist[source] = g.getNodeWeight(source);
 
         m.start();
 
         // Get topological order
-        TopologicalSort topo = new TopologicalSort();
-        Metrics topoMetrics = new Metrics();
-        List<Integer> order = topo.sort(g, topoMetrics);
+        List<Integer> order = topologicalOrder(g);
 
         if (order == null) {
             m.stop();
             return null; // Graph has cycle
         }
 
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        int[] weights = g.getWeights();
+
         // Relax edges in topological order
         for (int u : order) {
             if (dist[u] != INF) {
-                for (Graph.Edge edge : g.getNeighbors(u)) {
-                    int v = edge.to;
-                    int w = edge.weight;
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int v = targets[e];
+                    int w = weights[e];
 
-                    if (dist[u] + w < dist[v]) {
-                        dist[v] = dist[u] + w;
+                    int candidate = checkedSum(dist[u], (long) w + g.getNodeWeight(v), u, v);
+                    if (candidate < dist[v]) {
+                        dist[v] = candidate;
                         parent[v] = u;
                         m.incrementRelaxations();
                     }
@@ -57,6 +83,44 @@ public class DAGShortestPath {
         return dist;
     }
 
+    /**
+     * Shortest paths from source in a compressed DAG
+     * Returns null if graph has a cycle
+     */
+    public int[] shortestPaths(CompressedGraph g, int source, Metrics m) {
+        int n = g.getN();
+        int[] dist = new int[n];
+        Arrays.fill(dist, INF);
+        dist[source] = g.getNodeWeight(source);
+
+        m.start();
+
+        List<Integer> order = new TopologicalSort().sort(g, new Metrics());
+        if (order == null) {
+            m.stop();
+            return null; // Graph has cycle
+        }
+
+        CompressedGraph.EdgeCursor c = g.cursor();
+        for (int u : order) {
+            if (dist[u] == INF) {
+                continue;
+            }
+            for (c.reset(u); c.next(); ) {
+                int v = c.target();
+                int candidate = checkedSum(dist[u], (long) c.weight() + g.getNodeWeight(v), u, v);
+                if (candidate < dist[v]) {
+                    dist[v] = candidate;
+                    m.incrementRelaxations();
+                }
+            }
+        }
+
+        m.stop();
+
+        return dist;
+    }
+
     /**
      * Find the longest path in a DAG (critical path)
      * Returns the longest path starting from any source vertex (vertices with in-degree 0)
@@ -73,39 +137,36 @@ public class DAGShortestPath {
         m.start();
 
         // Get topological order
-        TopologicalSort topo = new TopologicalSort();
-        Metrics topoMetrics = new Metrics();
-        List<Integer> order = topo.sort(g, topoMetrics);
+        List<Integer> order = topologicalOrder(g);
 
         if (order == null) {
             m.stop();
             return null;
         }
 
-        // Calculate in-degree for each vertex
-        int[] inDegree = new int[n];
-        for (int u = 0; u < n; u++) {
-            for (Graph.Edge edge : g.getNeighbors(u)) {
-                inDegree[edge.to]++;
-            }
-        }
+        // Cached in-degrees (read only)
+        int[] inDegree = g.getInDegrees();
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        int[] weights = g.getWeights();
 
-        // Initialize source vertices (in-degree == 0) to 0
+        // Initialize source vertices (in-degree == 0) to their own weight
         for (int i = 0; i < n; i++) {
             if (inDegree[i] == 0) {
-                dist[i] = 0;
+                dist[i] = g.getNodeWeight(i);
             }
         }
 
         // Relax edges for longest path in topological order
         for (int u : order) {
             if (dist[u] != Integer.MIN_VALUE / 2) {
-                for (Graph.Edge edge : g.getNeighbors(u)) {
-                    int v = edge.to;
-                    int w = edge.weight;
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int v = targets[e];
+                    int w = weights[e];
 
-                    if (dist[u] + w > dist[v]) {
-                        dist[v] = dist[u] + w;
+                    int candidate = checkedSum(dist[u], (long) w + g.getNodeWeight(v), u, v);
+                    if (candidate > dist[v]) {
+                        dist[v] = candidate;
                         parent[v] = u;
                         m.incrementRelaxations();
                     }
@@ -136,6 +197,104 @@ public class DAGShortestPath {
         return new PathResult(path, maxDist);
     }
 
+    /**
+     * Longest path from every vertex to any sink (the vertex's "bottom level")
+     * Counts node durations plus edge weights along the path
+     * (durations may be null to use the graph's own node weights)
+     * Returns null if graph has a cycle
+     */
+    public long[] longestToSink(Graph g, int[] durations, Metrics m) {
+        int n = g.getN();
+        long[] level = new long[n];
+
+        m.start();
+
+        List<Integer> order = topologicalOrder(g);
+
+        if (order == null) {
+            m.stop();
+            return null;
+        }
+
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        int[] weights = g.getWeights();
+
+        // Reverse topological order: successors are final before u
+        for (int i = order.size() - 1; i >= 0; i--) {
+            int u = order.get(i);
+            long best = 0;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                long candidate = weights[e] + level[targets[e]];
+                if (candidate > best) {
+                    best = candidate;
+                }
+                m.incrementRelaxations();
+            }
+            level[u] = best + (durations == null ? g.getNodeWeight(u) : durations[u]);
+        }
+
+        m.stop();
+
+        return level;
+    }
+
+    /**
+     * Slack of every vertex: how much longer than the critical path a path
+     * through it may become before it becomes critical (0 = on a critical path)
+     * Earliest finish is pulled from predecessors over the reverse adjacency
+     * Returns null if graph has a cycle
+     */
+    public long[] slack(Graph g, Metrics m) {
+        int n = g.getN();
+        long[] tail = longestToSink(g, null, new Metrics());
+        if (tail == null) {
+            return null;
+        }
+
+        m.start();
+
+        List<Integer> order = topologicalOrder(g);
+        int[] revOffsets = g.getReverseOffsets();
+        int[] revSources = g.getReverseSources();
+        int[] revWeights = g.getReverseWeights();
+
+        // Longest path ending at each vertex (forward pass, pulling from predecessors)
+        long[] head = new long[n];
+        long critical = 0;
+        for (int v : order) {
+            long best = 0;
+            for (int e = revOffsets[v]; e < revOffsets[v + 1]; e++) {
+                best = Math.max(best, head[revSources[e]] + revWeights[e]);
+                m.incrementRelaxations();
+            }
+            head[v] = best + g.getNodeWeight(v);
+            critical = Math.max(critical, head[v] + tail[v] - g.getNodeWeight(v));
+        }
+
+        long[] slack = new long[n];
+        for (int v = 0; v < n; v++) {
+            slack[v] = critical - (head[v] + tail[v] - g.getNodeWeight(v));
+        }
+
+        m.stop();
+
+        return slack;
+    }
+
+    /**
+     * Add an edge (plus node) weight to a distance, failing instead of wrapping around
+     * Sums must stay strictly between the -INF and INF sentinels
+     */
+    static int checkedSum(int dist, long w, int u, int v) {
+        long sum = dist + w;
+        if (sum >= INF || sum <= -INF) {
+            throw new ArithmeticException("Path length overflow relaxing edge " + u + "→" + v +
+                    "; use LongDAGShortestPath for large weights");
+        }
+        return (int) sum;
+    }
+
     /**
      * Reconstruct path from parent array
      */
@@ -0,0 +1,146 @@
+package graph.dagsp;
+
+import graph.DoubleGraph;
+import graph.Metrics;
+import java.util.*;
+
+/**
+ * Shortest and longest paths in a DAG with double weights.
+ * A relaxation that turns finite values into an infinite sum throws
+ * ArithmeticException.
+ */
+public class DoubleDAGShortestPath {
+    public static final double UNREACHABLE = Double.POSITIVE_INFINITY;
+
+    /**
+     * Find the shortest paths from source in a DAG
+     * Unreachable vertices get UNREACHABLE; returns null if graph has a cycle
+     */
+    public double[] shortestPaths(DoubleGraph g, int source, Metrics m) {
+        int n = g.getN();
+        double[] dist = new double[n];
+        Arrays.fill(dist, UNREACHABLE);
+        dist[source] = 0;
+
+        m.start();
+
+        int[] order = g.topologicalOrder();
+        if (order == null) {
+            m.stop();
+            return null; // Graph has cycle
+        }
+
+        // Relax edges in topological order
+        for (int u : order) {
+            double du = dist[u];
+            if (du == UNREACHABLE) {
+                continue;
+            }
+            for (int e = g.firstEdge(u); e != -1; e = g.nextEdge(e)) {
+                int v = g.edgeTarget(e);
+                double candidate = add(du, g.edgeWeight(e), u, v);
+                if (candidate < dist[v]) {
+                    dist[v] = candidate;
+                    m.incrementRelaxations();
+                }
+            }
+        }
+
+        m.stop();
+
+        return dist;
+    }
+
+    /**
+     * Find the longest path starting from any vertex with in-degree 0
+     * Returns null if graph has a cycle
+     */
+    public DoublePathResult longestPath(DoubleGraph g, Metrics m) {
+        int n = g.getN();
+        double[] dist = new double[n];
+        int[] parent = new int[n];
+        Arrays.fill(dist, Double.NEGATIVE_INFINITY);
+        Arrays.fill(parent, -1);
+
+        m.start();
+
+        int[] order = g.topologicalOrder();
+        if (order == null) {
+            m.stop();
+            return null;
+        }
+
+        // Initialize source vertices (in-degree == 0) to 0
+        int[] inDegree = new int[n];
+        for (int u = 0; u < n; u++) {
+            for (int e = g.firstEdge(u); e != -1; e = g.nextEdge(e)) {
+                inDegree[g.edgeTarget(e)]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (inDegree[i] == 0) {
+                dist[i] = 0;
+            }
+        }
+
+        for (int u : order) {
+            if (dist[u] == Double.NEGATIVE_INFINITY) {
+                continue;
+            }
+            for (int e = g.firstEdge(u); e != -1; e = g.nextEdge(e)) {
+                int v = g.edgeTarget(e);
+                double candidate = add(dist[u], g.edgeWeight(e), u, v);
+                if (candidate > dist[v]) {
+                    dist[v] = candidate;
+                    parent[v] = u;
+                    m.incrementRelaxations();
+                }
+            }
+        }
+
+        m.stop();
+
+        int endVertex = -1;
+        for (int i = 0; i < n; i++) {
+            if (dist[i] != Double.NEGATIVE_INFINITY && (endVertex == -1 || dist[i] > dist[endVertex])) {
+                endVertex = i;
+            }
+        }
+
+        if (endVertex == -1) {
+            return new DoublePathResult(new ArrayList<>(), 0);
+        }
+
+        List<Integer> path = new ArrayList<>();
+        for (int v = endVertex; v != -1; v = parent[v]) {
+            path.add(v);
+        }
+        Collections.reverse(path);
+
+        return new DoublePathResult(path, dist[endVertex]);
+    }
+
+    /**
+     * Addition that rejects overflow to infinity when relaxing edge u→v
+     */
+    private static double add(double a, double b, int u, int v) {
+        double sum = a + b;
+        if (Double.isInfinite(sum)) {
+            throw new ArithmeticException("Path length overflow relaxing edge " + u + "→" + v);
+        }
+        return sum;
+    }
+
+    /**
+     * Path result with a double length
+     */
+    public static class DoublePathResult {
+        public List<Integer> path;
+        public double length;
+
+        public DoublePathResult(List<Integer> path, double length) {
+            this.path = path;
+            this.length = length;
+        }
+    }
+}
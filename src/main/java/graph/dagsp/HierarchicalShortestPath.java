@@ -0,0 +1,164 @@
+package graph.dagsp;
+
+import graph.Graph;
+import graph.Metrics;
+import graph.scc.TarjanSCC;
+import graph.util.LongMinHeap;
+import java.util.*;
+
+/**
+ * Exact vertex-level shortest paths on a graph with cycles.
+ *
+ * Between SCCs the condensation is a DAG, so components are settled in
+ * topological order: when a component is reached, every edge entering it
+ * comes from a component that is already final. Inside a component a
+ * heap-based Dijkstra runs, seeded with all entry distances at once. Each
+ * component (and each edge) is handled once per query, and components not
+ * reachable from the source are never touched.
+ *
+ * Edges between SCCs may have any weight; inside an SCC the weight plus the
+ * target's node weight must be non-negative (Dijkstra's requirement).
+ */
+public class HierarchicalShortestPath {
+    public static final int UNREACHABLE = DAGShortestPath.INF;
+
+    private final Graph g;
+    private final int[] comp;       // component of each vertex, numbered in topological order
+    private final int components;
+    private int[] parent;   // of the last query
+    private int[] lastDist;
+
+    /**
+     * Find the SCCs of g once; throws IllegalArgumentException if an edge
+     * inside an SCC is negative
+     */
+    public HierarchicalShortestPath(Graph g) {
+        this(g, new TarjanSCC().findSCCs(g, new Metrics()));
+    }
+
+    /**
+     * Reuse already computed SCCs of g (in reverse topological order, as
+     * every SCCAlgorithm returns them)
+     */
+    public HierarchicalShortestPath(Graph g, List<List<Integer>> sccs) {
+        this.g = g;
+        int n = g.getN();
+        components = sccs.size();
+
+        // Tarjan emits SCCs in reverse topological order
+        comp = new int[n];
+        for (int i = 0; i < components; i++) {
+            for (int v : sccs.get(i)) {
+                comp[v] = components - 1 - i;
+            }
+        }
+
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        int[] weights = g.getWeights();
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (comp[u] == comp[v] && (long) weights[e] + g.getNodeWeight(v) < 0) {
+                    throw new IllegalArgumentException("Negative edge " + u + "→" + v + " inside an SCC");
+                }
+            }
+        }
+    }
+
+    /**
+     * Shortest distance from source to every vertex (UNREACHABLE if none)
+     */
+    public int[] shortestPaths(int source, Metrics m) {
+        int n = g.getN();
+        int[] dist = new int[n];
+        boolean[] settled = new boolean[n];
+        parent = new int[n];
+        Arrays.fill(dist, UNREACHABLE);
+        Arrays.fill(parent, -1);
+
+        // Entry vertices of components reached so far, grouped by component
+        List<List<Integer>> entries = new ArrayList<>(Collections.nCopies(components, (List<Integer>) null));
+        LongMinHeap pending = new LongMinHeap(); // components by topological index
+        LongMinHeap heap = new LongMinHeap();    // Dijkstra inside one component
+
+        m.start();
+
+        dist[source] = g.getNodeWeight(source);
+        entries.set(comp[source], new ArrayList<>(Collections.singletonList(source)));
+        pending.push(comp[source], comp[source]);
+
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        int[] weights = g.getWeights();
+        int visited = 0;
+
+        while (!pending.isEmpty()) {
+            int c = pending.pop();
+            visited++;
+
+            // All edges into c are relaxed: seed Dijkstra with its entry vertices
+            heap.clear();
+            for (int v : entries.get(c)) {
+                heap.push(dist[v], v);
+            }
+            entries.set(c, null);
+
+            while (!heap.isEmpty()) {
+                long d = heap.peekKey();
+                int u = heap.pop();
+                if (settled[u] || d != dist[u]) {
+                    continue; // stale heap entry
+                }
+                settled[u] = true;
+                m.incrementOperations();
+
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int v = targets[e];
+                    int candidate = DAGShortestPath.checkedSum(dist[u], (long) weights[e] + g.getNodeWeight(v), u, v);
+                    if (candidate >= dist[v]) {
+                        continue;
+                    }
+                    boolean firstVisit = dist[v] == UNREACHABLE;
+                    dist[v] = candidate;
+                    parent[v] = u;
+                    m.incrementRelaxations();
+
+                    if (comp[v] == c) {
+                        heap.push(candidate, v);
+                    } else if (firstVisit) {
+                        // Later component: remember the entry, settle it in topological order
+                        List<Integer> list = entries.get(comp[v]);
+                        if (list == null) {
+                            list = new ArrayList<>();
+                            entries.set(comp[v], list);
+                            pending.push(comp[v], comp[v]);
+                        }
+                        list.add(v);
+                    }
+                }
+            }
+        }
+
+        m.stop();
+        m.setValue("components_visited", visited);
+
+        lastDist = dist;
+        return dist;
+    }
+
+    /**
+     * Shortest path to target from the last query's source (empty if unreachable)
+     */
+    public List<Integer> reconstructPath(int target) {
+        List<Integer> path = new ArrayList<>();
+        if (lastDist == null || lastDist[target] == UNREACHABLE) {
+            return path;
+        }
+        for (int v = target; v != -1; v = parent[v]) {
+            path.add(v);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
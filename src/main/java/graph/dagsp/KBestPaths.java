@@ -0,0 +1,362 @@
+package graph.dagsp;
+
+import graph.Graph;
+import graph.Metrics;
+import graph.topo.TopologicalSort;
+import graph.util.LongMinHeap;
+import java.util.*;
+
+/**
+ * K shortest / K longest paths in a DAG.
+ *
+ * A backward pass in topological order computes the exact best completion
+ * cost from every vertex. Paths are then produced lazily by recursive
+ * enumeration: each vertex keeps the sorted list of its best completions
+ * found so far, each entry being (edge, index into the successor's list),
+ * and a candidate heap with at most one entry per out-edge. The i-th call to
+ * next() returns the i-th best path and extends a vertex's list only as far
+ * as that path needs, so no list grows beyond K entries: memory is at most
+ * K entries per vertex plus one candidate per edge, all in primitive arrays.
+ */
+public class KBestPaths {
+    private static final long NONE = Long.MIN_VALUE; // no completion from vertex
+
+    /**
+     * Stream the K shortest paths from source to target (best first)
+     * Returns null if the graph has a cycle
+     */
+    public Iterator<DAGShortestPath.PathResult> shortestPaths(Graph g, int source, int target,
+                                                             int k, Metrics m) {
+        boolean[] goal = new boolean[g.getN()];
+        goal[target] = true;
+        return enumerate(g, new int[]{source}, goal, k, false, m);
+    }
+
+    /**
+     * Stream the K longest source-to-sink paths (critical paths first)
+     * Sources have in-degree 0, sinks have out-degree 0
+     * Returns null if the graph has a cycle
+     */
+    public Iterator<DAGShortestPath.PathResult> longestPaths(Graph g, int k, Metrics m) {
+        int n = g.getN();
+        int[] inDegree = g.getInDegrees();
+        int[] outDegree = g.getOutDegrees();
+        boolean[] goal = new boolean[n];
+
+        for (int u = 0; u < n; u++) {
+            goal[u] = outDegree[u] == 0;
+        }
+
+        int count = 0;
+        int[] starts = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (inDegree[i] == 0) {
+                starts[count++] = i;
+            }
+        }
+
+        return enumerate(g, Arrays.copyOf(starts, count), goal, k, true, m);
+    }
+
+    /**
+     * Collect up to K paths into a list
+     */
+    public static List<DAGShortestPath.PathResult> take(Iterator<DAGShortestPath.PathResult> it, int k) {
+        List<DAGShortestPath.PathResult> result = new ArrayList<>();
+        while (it != null && result.size() < k && it.hasNext()) {
+            result.add(it.next());
+        }
+        return result;
+    }
+
+    private Iterator<DAGShortestPath.PathResult> enumerate(Graph g, int[] starts, boolean[] goal,
+                                                           int k, boolean longest, Metrics m) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+
+        m.start();
+
+        List<Integer> order = new TopologicalSort().sort(g, new Metrics());
+        if (order == null) {
+            m.stop();
+            return null; // Graph has cycle
+        }
+
+        // Best completion from every vertex, working in "smaller is better" space
+        // (longest paths negate the weights)
+        int n = g.getN();
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        int[] weights = g.getWeights();
+        long[] completion = new long[n];
+        Arrays.fill(completion, NONE);
+
+        for (int i = order.size() - 1; i >= 0; i--) {
+            int u = order.get(i);
+            long best = goal[u] ? 0 : NONE;
+
+            if (!goal[u]) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    long rest = completion[targets[e]];
+                    if (rest == NONE) {
+                        continue;
+                    }
+                    long cost = signed(weights[e], longest) + rest;
+                    if (best == NONE || cost < best) {
+                        best = cost;
+                    }
+                }
+            }
+            completion[u] = best;
+        }
+
+        m.stop();
+        return new PathIterator(g, starts, goal, completion, k, longest, m);
+    }
+
+    private static long signed(int weight, boolean longest) {
+        return longest ? -(long) weight : weight;
+    }
+
+    /**
+     * Lazy enumeration over per-vertex completion lists
+     */
+    private static class PathIterator implements Iterator<DAGShortestPath.PathResult> {
+        private final int[] offsets;
+        private final int[] targets;
+        private final int[] weights;
+        private final boolean[] goal;
+        private final long[] completion;
+        private final int k;
+        private final boolean longest;
+        private final Metrics m;
+
+        // Completion list of each vertex, best first: cost, first edge (-1 at a
+        // goal) and index of the rest in the edge target's list
+        private final long[][] listCost;
+        private final int[][] listEdge;
+        private final int[][] listNext;
+        private final int[] listSize;
+
+        // Candidate heap of each vertex (null until first needed); an edge's
+        // candidate continues with entry edgeIndex[e] of its target's list
+        private final LongMinHeap[] candidates;
+        private final int[] edgeIndex;
+        private final int[] refill; // edge whose next candidate is still to be pushed, or -1
+
+        // The start vertices act as the out-edges of a virtual root
+        private final int[] starts;
+        private final int[] startIndex;
+        private final LongMinHeap rootHeap = new LongMinHeap();
+        private int rootRefill = -1;
+
+        // Explicit stack for list extension (a path can be very long)
+        private int[] stackVertex = new int[16];
+        private int[] stackIndex = new int[16];
+
+        private long storedEntries;
+        private long candidateEntries;
+        private int produced;
+        private DAGShortestPath.PathResult next;
+
+        PathIterator(Graph g, int[] starts, boolean[] goal, long[] completion,
+                     int k, boolean longest, Metrics m) {
+            int n = g.getN();
+            this.offsets = g.getOffsets();
+            this.targets = g.getTargets();
+            this.weights = g.getWeights();
+            this.goal = goal;
+            this.completion = completion;
+            this.k = k;
+            this.longest = longest;
+            this.m = m;
+
+            this.listCost = new long[n][];
+            this.listEdge = new int[n][];
+            this.listNext = new int[n][];
+            this.listSize = new int[n];
+            this.candidates = new LongMinHeap[n];
+            this.edgeIndex = new int[offsets[n]];
+            this.refill = new int[n];
+            Arrays.fill(refill, -1);
+
+            this.starts = starts;
+            this.startIndex = new int[starts.length];
+            for (int i = 0; i < starts.length; i++) {
+                if (completion[starts[i]] != NONE) {
+                    rootHeap.push(completion[starts[i]], i);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && produced < k) {
+                next = advance();
+            }
+            return next != null;
+        }
+
+        @Override
+        public DAGShortestPath.PathResult next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            DAGShortestPath.PathResult result = next;
+            next = null;
+            produced++;
+            return result;
+        }
+
+        /**
+         * Next best path over all start vertices
+         */
+        private DAGShortestPath.PathResult advance() {
+            // The start used last time moves on to its next completion
+            if (rootRefill != -1) {
+                int j = startIndex[rootRefill] + 1;
+                if (extend(starts[rootRefill], j)) {
+                    startIndex[rootRefill] = j;
+                    rootHeap.push(listCost[starts[rootRefill]][j], rootRefill);
+                }
+                rootRefill = -1;
+            }
+
+            DAGShortestPath.PathResult result = null;
+            if (!rootHeap.isEmpty()) {
+                rootRefill = rootHeap.pop();
+                result = buildPath(starts[rootRefill], startIndex[rootRefill]);
+            }
+
+            m.stop();
+            m.setValue("stored_entries", storedEntries);
+            m.setValue("candidates", candidateEntries);
+            return result;
+        }
+
+        /**
+         * Make sure entry index of u's list exists; false if u has fewer paths
+         */
+        private boolean extend(int u0, int index) {
+            int top = 0;
+            stackVertex[0] = u0;
+            stackIndex[0] = index;
+
+            while (top >= 0) {
+                int u = stackVertex[top];
+                int i = stackIndex[top];
+                if (listSize[u] > i) {
+                    top--;
+                    continue;
+                }
+                if (candidates[u] == null) {
+                    initialize(u);
+                    continue;
+                }
+
+                int e = refill[u];
+                if (e != -1) {
+                    // The edge taken last needs its target's next entry first
+                    int v = targets[e];
+                    int j = edgeIndex[e] + 1;
+                    if (listSize[v] <= j && hasMore(v)) {
+                        if (++top == stackVertex.length) {
+                            stackVertex = Arrays.copyOf(stackVertex, top * 2);
+                            stackIndex = Arrays.copyOf(stackIndex, top * 2);
+                        }
+                        stackVertex[top] = v;
+                        stackIndex[top] = j;
+                        continue;
+                    }
+                    refill[u] = -1;
+                    if (listSize[v] > j) {
+                        edgeIndex[e] = j;
+                        candidates[u].push(signed(weights[e], longest) + listCost[v][j], e);
+                    } else {
+                        candidateEntries--;
+                    }
+                    continue;
+                }
+
+                if (candidates[u].isEmpty()) {
+                    top--; // u has no more paths
+                    continue;
+                }
+                long cost = candidates[u].peekKey();
+                e = candidates[u].pop();
+                append(u, cost, e, edgeIndex[e]);
+                refill[u] = e;
+            }
+            return listSize[u0] > index;
+        }
+
+        /**
+         * Goal vertices end their only path; others get one candidate per usable edge
+         */
+        private void initialize(int u) {
+            if (goal[u]) {
+                candidates[u] = new LongMinHeap(1);
+                append(u, 0, -1, 0);
+                return;
+            }
+            candidates[u] = new LongMinHeap(offsets[u + 1] - offsets[u]);
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                long rest = completion[targets[e]];
+                if (rest != NONE) {
+                    candidates[u].push(signed(weights[e], longest) + rest, e);
+                    candidateEntries++;
+                    m.incrementRelaxations();
+                }
+            }
+        }
+
+        private boolean hasMore(int v) {
+            return candidates[v] == null || !candidates[v].isEmpty() || refill[v] != -1;
+        }
+
+        private void append(int u, long cost, int edge, int nextIndex) {
+            int size = listSize[u];
+            if (listCost[u] == null) {
+                listCost[u] = new long[2];
+                listEdge[u] = new int[2];
+                listNext[u] = new int[2];
+            } else if (size == listCost[u].length) {
+                int newCap = Math.min(size * 2, Math.max(k, size + 1));
+                listCost[u] = Arrays.copyOf(listCost[u], newCap);
+                listEdge[u] = Arrays.copyOf(listEdge[u], newCap);
+                listNext[u] = Arrays.copyOf(listNext[u], newCap);
+            }
+            listCost[u][size] = cost;
+            listEdge[u][size] = edge;
+            listNext[u][size] = nextIndex;
+            listSize[u]++;
+            storedEntries++;
+            m.incrementOperations();
+        }
+
+        /**
+         * Follow entry index of u's list down to its goal
+         */
+        private DAGShortestPath.PathResult buildPath(int u, int index) {
+            extend(u, index);
+            long cost = listCost[u][index];
+            List<Integer> path = new ArrayList<>();
+            path.add(u);
+            while (listEdge[u][index] != -1) {
+                int e = listEdge[u][index];
+                index = listNext[u][index];
+                u = targets[e];
+                extend(u, index);
+                path.add(u);
+            }
+
+            long length = longest ? -cost : cost;
+            if (length >= DAGShortestPath.INF || length <= -DAGShortestPath.INF) {
+                throw new ArithmeticException("Path length overflow on path ending at " + u +
+                        "; use LongDAGShortestPath for large weights");
+            }
+            return new DAGShortestPath.PathResult(path, (int) length);
+        }
+    }
+}
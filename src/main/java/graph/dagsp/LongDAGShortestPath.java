@@ -0,0 +1,147 @@
+package graph.dagsp;
+
+import graph.LongGraph;
+import graph.Metrics;
+import java.util.*;
+
+/**
+ * Shortest and longest paths in a DAG with long weights.
+ * Every relaxation is overflow checked; an overflow throws ArithmeticException
+ * instead of silently wrapping.
+ */
+public class LongDAGShortestPath {
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    /**
+     * Find the shortest paths from source in a DAG
+     * Unreachable vertices get UNREACHABLE; returns null if graph has a cycle
+     */
+    public long[] shortestPaths(LongGraph g, int source, Metrics m) {
+        int n = g.getN();
+        long[] dist = new long[n];
+        Arrays.fill(dist, UNREACHABLE);
+        dist[source] = 0;
+
+        m.start();
+
+        int[] order = g.topologicalOrder();
+        if (order == null) {
+            m.stop();
+            return null; // Graph has cycle
+        }
+
+        // Relax edges in topological order
+        for (int u : order) {
+            long du = dist[u];
+            if (du == UNREACHABLE) {
+                continue;
+            }
+            for (int e = g.firstEdge(u); e != -1; e = g.nextEdge(e)) {
+                int v = g.edgeTarget(e);
+                long candidate = add(du, g.edgeWeight(e), u, v);
+                if (candidate < dist[v]) {
+                    dist[v] = candidate;
+                    m.incrementRelaxations();
+                }
+            }
+        }
+
+        m.stop();
+
+        return dist;
+    }
+
+    /**
+     * Find the longest path starting from any vertex with in-degree 0
+     * Returns null if graph has a cycle
+     */
+    public LongPathResult longestPath(LongGraph g, Metrics m) {
+        int n = g.getN();
+        long[] dist = new long[n];
+        int[] parent = new int[n];
+        Arrays.fill(parent, -1);
+
+        m.start();
+
+        int[] order = g.topologicalOrder();
+        if (order == null) {
+            m.stop();
+            return null;
+        }
+
+        // Vertices with in-degree 0 start at 0; a flag instead of a sentinel
+        // keeps the whole long range available for distances
+        boolean[] reached = new boolean[n];
+        int[] inDegree = new int[n];
+        for (int u = 0; u < n; u++) {
+            for (int e = g.firstEdge(u); e != -1; e = g.nextEdge(e)) {
+                inDegree[g.edgeTarget(e)]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            reached[i] = inDegree[i] == 0;
+        }
+
+        for (int u : order) {
+            if (!reached[u]) {
+                continue;
+            }
+            for (int e = g.firstEdge(u); e != -1; e = g.nextEdge(e)) {
+                int v = g.edgeTarget(e);
+                long candidate = add(dist[u], g.edgeWeight(e), u, v);
+                if (!reached[v] || candidate > dist[v]) {
+                    dist[v] = candidate;
+                    parent[v] = u;
+                    reached[v] = true;
+                    m.incrementRelaxations();
+                }
+            }
+        }
+
+        m.stop();
+
+        int endVertex = -1;
+        for (int i = 0; i < n; i++) {
+            if (reached[i] && (endVertex == -1 || dist[i] > dist[endVertex])) {
+                endVertex = i;
+            }
+        }
+
+        if (endVertex == -1) {
+            return new LongPathResult(new ArrayList<>(), 0);
+        }
+
+        List<Integer> path = new ArrayList<>();
+        for (int v = endVertex; v != -1; v = parent[v]) {
+            path.add(v);
+        }
+        Collections.reverse(path);
+
+        return new LongPathResult(path, dist[endVertex]);
+    }
+
+    /**
+     * Overflow-checked addition for relaxing edge u→v
+     */
+    private static long add(long a, long b, int u, int v) {
+        long sum = a + b;
+        // Overflow iff both operands have the same sign and the sum differs
+        if (((a ^ sum) & (b ^ sum)) < 0 || sum == UNREACHABLE) {
+            throw new ArithmeticException("Path length overflow relaxing edge " + u + "→" + v);
+        }
+        return sum;
+    }
+
+    /**
+     * Path result with a long length
+     */
+    public static class LongPathResult {
+        public List<Integer> path;
+        public long length;
+
+        public LongPathResult(List<Integer> path, long length) {
+            this.path = path;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package graph.dagsp;
+
+import graph.Graph;
+import graph.Metrics;
+import java.util.*;
+
+/**
+ * Bounded LRU cache in front of DAGShortestPath.
+ * Results are keyed by graph identity, graph version and source,
+ * so any addEdge on the graph makes old results unreachable.
+ * A graph is only referenced while it has entries: stale entries are
+ * dropped on the next lookup of their graph or on the next store.
+ */
+public class PathCache {
+    private static final int LONGEST_PATH = -1; // source key used for longestPath
+
+    private final int maxEntries;
+    private final long maxCells; // total stored vertices across all entries
+    private final DAGShortestPath engine = new DAGShortestPath();
+
+    // Access-ordered map: iteration starts at the least recently used entry
+    private final LinkedHashMap<Key, Object> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Graph, Held> held = new IdentityHashMap<>(); // graphs with entries
+    private long cells;
+
+    // Statistics
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Create a cache limited by entry count only
+     */
+    public PathCache(int maxEntries) {
+        this(maxEntries, Long.MAX_VALUE);
+    }
+
+    /**
+     * Create a cache limited by entry count and total stored vertices
+     */
+    public PathCache(int maxEntries, long maxCells) {
+        if (maxEntries <= 0 || maxCells <= 0) {
+            throw new IllegalArgumentException("Cache limits must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxCells = maxCells;
+    }
+
+    /**
+     * Cached version of DAGShortestPath.shortestPaths
+     * Returns a copy, so callers may modify the array
+     */
+    public int[] shortestPaths(Graph g, int source, Metrics m) {
+        Key key = new Key(g, g.getVersion(), source);
+        Object cached = lookup(key, m);
+        if (cached != null) {
+            return ((int[]) cached).clone();
+        }
+
+        int[] dist = engine.shortestPaths(g, source, m);
+        if (dist != null) {
+            store(key, dist.clone(), dist.length);
+        }
+        return dist;
+    }
+
+    /**
+     * Cached version of DAGShortestPath.longestPath
+     */
+    public DAGShortestPath.PathResult longestPath(Graph g, Metrics m) {
+        Key key = new Key(g, g.getVersion(), LONGEST_PATH);
+        Object cached = lookup(key, m);
+        if (cached != null) {
+            return copy((DAGShortestPath.PathResult) cached);
+        }
+
+        DAGShortestPath.PathResult result = engine.longestPath(g, m);
+        if (result != null) {
+            store(key, copy(result), result.path.size());
+        }
+        return result;
+    }
+
+    /**
+     * Find an entry; drops stale entries when the graph has changed
+     */
+    private Object lookup(Key key, Metrics m) {
+        Held h = held.get(key.graph);
+        if (h != null && h.version != key.version) {
+            invalidate(key.graph);
+        }
+
+        Object value = entries.get(key);
+        if (value != null) {
+            hits++;
+            // Lookup still counts as a (very fast) run for the caller
+            m.start();
+            m.stop();
+            return value;
+        }
+
+        misses++;
+        return null;
+    }
+
+    /**
+     * Insert an entry and evict least recently used ones if needed
+     */
+    private void store(Key key, Object value, int size) {
+        if (size > maxCells) {
+            return; // would evict everything else
+        }
+
+        key.cells = size;
+        entries.put(key, value);
+        cells += size;
+        held.computeIfAbsent(key.graph, g -> new Held(key.version)).count++;
+
+        if (entries.size() > maxEntries || cells > maxCells) {
+            // Entries of graphs that changed since go first
+            Iterator<Key> it = entries.keySet().iterator();
+            while (it.hasNext()) {
+                Key k = it.next();
+                if (k.version != k.graph.getVersion()) {
+                    it.remove();
+                    release(k);
+                    invalidations++;
+                }
+            }
+        }
+
+        Iterator<Key> it = entries.keySet().iterator();
+        while ((entries.size() > maxEntries || cells > maxCells) && it.hasNext()) {
+            Key oldest = it.next();
+            it.remove();
+            release(oldest);
+            evictions++;
+        }
+    }
+
+    /**
+     * Account for a removed entry; forgets its graph with the last one
+     */
+    private void release(Key k) {
+        cells -= k.cells;
+        Held h = held.get(k.graph);
+        if (--h.count == 0) {
+            held.remove(k.graph);
+        }
+    }
+
+    /**
+     * Remove all entries that belong to a graph
+     */
+    public void invalidate(Graph g) {
+        Iterator<Key> it = entries.keySet().iterator();
+        while (it.hasNext()) {
+            Key k = it.next();
+            if (k.graph == g) {
+                it.remove();
+                release(k);
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * Remove everything
+     */
+    public void clear() {
+        entries.clear();
+        held.clear();
+        cells = 0;
+    }
+
+    private static DAGShortestPath.PathResult copy(DAGShortestPath.PathResult r) {
+        return new DAGShortestPath.PathResult(new ArrayList<>(r.path), r.length);
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Number of graphs the cache currently references
+     */
+    public int getGraphCount() {
+        return held.size();
+    }
+
+    /**
+     * Fraction of lookups answered from the cache
+     */
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Entries: %d, Hits: %d, Misses: %d, Hit rate: %.1f%%, Evictions: %d, Invalidations: %d",
+                entries.size(), hits, misses, getHitRate() * 100, evictions, invalidations);
+    }
+
+    /**
+     * Version and entry count of a graph with entries
+     */
+    private static class Held {
+        final int version;
+        int count;
+
+        Held(int version) {
+            this.version = version;
+        }
+    }
+
+    /**
+     * Cache key: graph identity, version and source
+     */
+    private static class Key {
+        final Graph graph;
+        final int version;
+        final int source;
+        int cells;
+
+        Key(Graph graph, int version, int source) {
+            this.graph = graph;
+            this.version = version;
+            this.source = source;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key k = (Key) o;
+            return graph == k.graph && version == k.version && source == k.source;
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(graph) * 31 + version) * 31 + source;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package graph.dagsp;
+
+import graph.Graph;
+import graph.GraphBuilder;
+import graph.Metrics;
+import graph.scc.CondensationGraph;
+import graph.scc.SCCSelector;
+import java.util.*;
+
+/**
+ * Single-source shortest paths over the condensation, restricted to what
+ * the source can reach.
+ *
+ * run() first marks the vertices reachable from the source (BFS), then
+ * finds SCCs, builds the condensation and relaxes it for that subgraph
+ * only. Every SCC of the subgraph is also an SCC of the whole graph, so the
+ * distances equal those of the full pipeline; vertices and edges that the
+ * source cannot reach are never touched. Per-vertex marks are stamped with
+ * a query number, so after the constructor a query costs time proportional
+ * to the reached part of the graph.
+ *
+ * Not thread-safe: use one instance per thread.
+ */
+public class SourcePipeline {
+    private final Graph g;
+    private final int[] stamp;
+    private final int[] local; // index in the reached subgraph, valid where stamp[v] == query
+    private int query;
+
+    /**
+     * Prepare queries on g
+     */
+    public SourcePipeline(Graph g) {
+        this.g = g;
+        this.stamp = new int[g.getN()];
+        this.local = new int[g.getN()];
+    }
+
+    /**
+     * Condensation distances from the SCC of source to every reachable SCC
+     */
+    public Result run(int source, Metrics m) {
+        if (source < 0 || source >= g.getN()) {
+            throw new IllegalArgumentException("Source " + source + " out of range [0, " + g.getN() + ")");
+        }
+        if (++query == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            query = 1;
+        }
+
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        int[] weights = g.getWeights();
+
+        m.start();
+
+        // Mark everything reachable from source
+        int[] reached = new int[16];
+        int count = 0;
+        reached[count++] = source;
+        stamp[source] = query;
+        int edges = 0;
+        for (int head = 0; head < count; head++) {
+            int u = reached[head];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                edges++;
+                if (stamp[v] != query) {
+                    stamp[v] = query;
+                    if (count == reached.length) {
+                        reached = Arrays.copyOf(reached, count * 2);
+                    }
+                    reached[count++] = v;
+                }
+            }
+        }
+
+        // Keep original id order (and edge order), so the condensation picks
+        // the same edge between two SCCs as the full pipeline does
+        int[] vertices = Arrays.copyOf(reached, count);
+        Arrays.sort(vertices);
+        for (int i = 0; i < count; i++) {
+            local[vertices[i]] = i;
+        }
+
+        GraphBuilder builder = new GraphBuilder(count, edges);
+        for (int i = 0; i < count; i++) {
+            int u = vertices[i];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                builder.addEdge(i, local[targets[e]], weights[e]);
+            }
+            if (g.hasNodeWeights()) {
+                builder.setNodeWeight(i, g.getNodeWeight(u));
+            }
+        }
+        Graph sub = builder.build();
+
+        // SCCs, condensation and relaxation on the reached part only
+        long sccStart = System.nanoTime();
+        Metrics sccMetrics = new Metrics();
+        List<List<Integer>> localSCCs = new SCCSelector().findSCCs(sub, sccMetrics);
+        CondensationGraph cg = new CondensationGraph();
+        Graph condensation = cg.build(sub, localSCCs);
+        double sccMs = (System.nanoTime() - sccStart) / 1_000_000.0;
+        int[] comp = new int[count];
+        for (int i = 0; i < count; i++) {
+            comp[i] = cg.getVertexSCC(i);
+        }
+        int sourceSCC = comp[local[source]];
+
+        Metrics relax = new Metrics();
+        int[] dist = new DAGShortestPath().shortestPaths(condensation, sourceSCC, relax);
+
+        List<List<Integer>> sccs = new ArrayList<>(localSCCs.size());
+        for (List<Integer> scc : localSCCs) {
+            List<Integer> members = new ArrayList<>(scc.size());
+            for (int i : scc) {
+                members.add(vertices[i]);
+            }
+            sccs.add(members);
+        }
+
+        m.stop();
+        m.setValue("reached_vertices", count);
+        m.setValue("reached_edges", edges);
+        m.setValue("relaxations", relax.getRelaxations());
+        m.setValue("scc_time_ms", sccMs); // SCCs and condensation of the reached part
+        m.setValue("scc_dfs_visits", sccMetrics.getDFSVisits());
+        m.setValue("relax_time_ms", relax.getElapsedTimeMs());
+
+        return new Result(vertices, comp, sccs, condensation, sourceSCC, dist);
+    }
+
+    /**
+     * Outcome of one query; SCC indices refer to getSCCs()
+     */
+    public static class Result {
+        private final int[] vertices; // reached vertices, ascending
+        private final int[] comp;     // SCC of vertices[i]
+        private final List<List<Integer>> sccs;
+        private final Graph condensation;
+        private final int sourceSCC;
+        private final int[] dist;
+
+        Result(int[] vertices, int[] comp, List<List<Integer>> sccs, Graph condensation, int sourceSCC, int[] dist) {
+            this.vertices = vertices;
+            this.comp = comp;
+            this.sccs = sccs;
+            this.condensation = condensation;
+            this.sourceSCC = sourceSCC;
+            this.dist = dist;
+        }
+
+        /**
+         * Reached vertices in ascending order
+         */
+        public int[] getVertices() {
+            return vertices;
+        }
+
+        /**
+         * SCCs of the reached subgraph (original vertex ids, reverse topological order)
+         */
+        public List<List<Integer>> getSCCs() {
+            return sccs;
+        }
+
+        /**
+         * Condensation of the reached subgraph
+         */
+        public Graph getCondensation() {
+            return condensation;
+        }
+
+        /**
+         * Index of the source's SCC
+         */
+        public int getSourceSCC() {
+            return sourceSCC;
+        }
+
+        /**
+         * Condensation distance to SCC index c
+         */
+        public int getDistance(int c) {
+            return dist[c];
+        }
+
+        /**
+         * SCC index of an original vertex, or -1 if it was not reached
+         */
+        public int sccOf(int v) {
+            int i = Arrays.binarySearch(vertices, v);
+            return i < 0 ? -1 : comp[i];
+        }
+
+        /**
+         * Condensation distance to the SCC of original vertex v
+         * (DAGShortestPath's INF if v was not reached)
+         */
+        public int distanceTo(int v) {
+            int c = sccOf(v);
+            return c < 0 ? DAGShortestPath.INF : dist[c];
+        }
+    }
+}
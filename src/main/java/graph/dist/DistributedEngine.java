@@ -0,0 +1,405 @@
+package graph.dist;
+
+import graph.Graph;
+import graph.Metrics;
+import graph.dagsp.LongDAGShortestPath.LongPathResult;
+import java.io.*;
+import java.net.*;
+import java.util.*;
+
+/**
+ * Runs SCC detection and condensation paths on a graph split across worker
+ * JVMs (one ShardWorker per contiguous vertex range).
+ *
+ * The coordinator only routes messages between supersteps; the vertex state
+ * stays in the workers:
+ * - SCCs: repeated forward max-color propagation followed by backward
+ *   marking from every vertex that kept its own color (coloring algorithm)
+ * - Paths: every SCC lives on the shard of its root vertex, counts its
+ *   incoming condensation edges and is relaxed once all of them arrived
+ *
+ * If any shard fails during a superstep, the replies of the others can no
+ * longer be matched to requests: the engine closes all workers and every
+ * later call fails immediately.
+ */
+public class DistributedEngine implements AutoCloseable {
+    private static final int ACCEPT_TIMEOUT_MS = 60_000;
+
+    private final Graph graph;
+    private final Partition part;
+    private final List<Process> processes = new ArrayList<>();
+    private final List<Socket> sockets = new ArrayList<>();
+    private final DataInputStream[] in;
+    private final DataOutputStream[] out;
+
+    private int[] component;     // SCC root per vertex
+    private boolean condensed;   // workers hold the condensation
+
+    private long supersteps;
+    private long messages;
+
+    private IOException failure; // first failed superstep; the workers are gone after it
+
+    /**
+     * Split g into the given number of shards (1..64) and start one local JVM per shard
+     */
+    public DistributedEngine(Graph g, int shards) throws IOException {
+        if (shards < 1 || shards > 64) {
+            throw new IllegalArgumentException("Shard count must be in [1, 64]: " + shards);
+        }
+        this.graph = g;
+        this.part = new Partition(g.getN(), Math.max(1, Math.min(shards, g.getN())));
+        this.in = new DataInputStream[part.shards];
+        this.out = new DataOutputStream[part.shards];
+
+        try (ServerSocket server = new ServerSocket(0, part.shards, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout(ACCEPT_TIMEOUT_MS);
+            String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+            for (int s = 0; s < part.shards; s++) {
+                processes.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                        ShardWorker.class.getName(), "127.0.0.1", String.valueOf(server.getLocalPort()))
+                        .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start());
+            }
+            for (int s = 0; s < part.shards; s++) {
+                Socket socket = server.accept();
+                sockets.add(socket);
+                in[s] = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                out[s] = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            }
+            for (int s = 0; s < part.shards; s++) {
+                load(s);
+            }
+            for (int s = 0; s < part.shards; s++) {
+                readStatus(s);
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Send shard s its vertices' out-edges, in-edges and node weights
+     */
+    private void load(int s) throws IOException {
+        int lo = part.lo(s);
+        int hi = part.hi(s);
+        DataOutputStream o = out[s];
+        o.writeByte(ShardWorker.LOAD);
+        o.writeInt(s);
+        o.writeInt(part.shards);
+        o.writeInt(part.n);
+        writeSlice(o, graph.getOffsets(), graph.getTargets(), graph.getWeights(), lo, hi);
+        writeSlice(o, graph.getReverseOffsets(), graph.getReverseSources(), null, lo, hi);
+        if (graph.hasNodeWeights()) {
+            o.writeInt(hi - lo);
+            for (int v = lo; v < hi; v++) {
+                o.writeInt(graph.getNodeWeight(v));
+            }
+        } else {
+            o.writeInt(0);
+        }
+        o.flush();
+    }
+
+    /**
+     * CSR rows lo..hi-1 with offsets rebased to 0 (weights skipped if null)
+     */
+    private static void writeSlice(DataOutputStream o, int[] offsets, int[] targets, int[] weights,
+                                   int lo, int hi) throws IOException {
+        int base = offsets[lo];
+        int end = offsets[hi];
+        o.writeInt(hi - lo + 1);
+        for (int v = lo; v <= hi; v++) {
+            o.writeInt(offsets[v] - base);
+        }
+        o.writeInt(end - base);
+        for (int e = base; e < end; e++) {
+            o.writeInt(targets[e]);
+        }
+        if (weights != null) {
+            o.writeInt(end - base);
+            for (int e = base; e < end; e++) {
+                o.writeInt(weights[e]);
+            }
+        }
+    }
+
+    /**
+     * Number of shards actually used
+     */
+    public int getShardCount() {
+        return part.shards;
+    }
+
+    /**
+     * SCC root (a member vertex) of every vertex
+     */
+    public int[] findComponents(Metrics m) throws IOException {
+        m.start();
+        resetCounters();
+
+        int rounds = 0;
+        while (true) {
+            long active = broadcast(ShardWorker.ACTIVE, 0, 0);
+            if (active == 0) {
+                break;
+            }
+            rounds++;
+
+            MessageBuffer[] inbox = step(ShardWorker.COLOR_INIT, 0, 0, emptyInbox());
+            while (count(inbox) > 0) {
+                inbox = step(ShardWorker.COLOR, 0, 0, inbox);
+            }
+            inbox = step(ShardWorker.MARK_INIT, 0, 0, emptyInbox());
+            while (count(inbox) > 0) {
+                inbox = step(ShardWorker.MARK, 0, 0, inbox);
+            }
+        }
+
+        component = new int[part.n];
+        for (MessageBuffer b : step(ShardWorker.COMPONENTS, 0, 0, emptyInbox())) {
+            for (int j = 0; j < b.size; j++) {
+                component[b.vertex[j]] = (int) b.value[j];
+            }
+        }
+        condensed = false;
+
+        m.stop();
+        m.setValue("shards", part.shards);
+        m.setValue("rounds", rounds);
+        recordCounters(m);
+
+        return component.clone();
+    }
+
+    /**
+     * SCCs as vertex lists, ordered by root
+     */
+    public List<List<Integer>> findSCCs(Metrics m) throws IOException {
+        int[] root = findComponents(m);
+        Map<Integer, List<Integer>> groups = new TreeMap<>();
+        for (int v = 0; v < root.length; v++) {
+            groups.computeIfAbsent(root[v], r -> new ArrayList<>()).add(v);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Shortest distances over the condensation from source's SCC, per vertex
+     * (every vertex gets its SCC's distance; unreachable = Long.MAX_VALUE)
+     */
+    public long[] shortestPaths(int source, Metrics m) throws IOException {
+        ensureCondensation();
+        m.start();
+        resetCounters();
+
+        long[][] result = runPaths(ShardWorker.SHORTEST, component[source]);
+        long[] dist = new long[part.n];
+        for (int v = 0; v < part.n; v++) {
+            dist[v] = result[0][component[v]];
+        }
+
+        m.stop();
+        recordCounters(m);
+        return dist;
+    }
+
+    /**
+     * Critical path over the condensation; the path lists SCC root vertices
+     */
+    public LongPathResult longestPath(Metrics m) throws IOException {
+        ensureCondensation();
+        m.start();
+        resetCounters();
+
+        long[][] result = runPaths(ShardWorker.LONGEST, -1);
+        long[] dist = result[0];
+        long[] parent = result[1];
+
+        int end = -1;
+        for (int v = 0; v < part.n; v++) {
+            if (component[v] == v && dist[v] != Long.MIN_VALUE && (end == -1 || dist[v] > dist[end])) {
+                end = v;
+            }
+        }
+        List<Integer> path = new ArrayList<>();
+        for (int v = end; v != -1; v = (int) parent[v]) {
+            path.add(v);
+        }
+        Collections.reverse(path);
+
+        m.stop();
+        recordCounters(m);
+        return new LongPathResult(path, end == -1 ? 0 : dist[end]);
+    }
+
+    /**
+     * Distance and parent per SCC root (indexed by vertex id)
+     */
+    private long[][] runPaths(long mode, int sourceRoot) throws IOException {
+        MessageBuffer[] inbox = step(ShardWorker.PATH_START, mode, sourceRoot, emptyInbox());
+        while (count(inbox) > 0) {
+            inbox = step(ShardWorker.PATH_BROADCAST, 0, 0, inbox);
+            inbox = step(ShardWorker.PATH_RELAX, 0, 0, inbox);
+        }
+
+        long[] dist = new long[part.n];
+        long[] parent = new long[part.n];
+        for (MessageBuffer b : step(ShardWorker.PATH_RESULT, 0, 0, emptyInbox())) {
+            for (int j = 0; j < b.size; j++) {
+                dist[b.vertex[j]] = b.value[j];
+                parent[b.vertex[j]] = b.aux[j];
+            }
+        }
+        return new long[][]{dist, parent};
+    }
+
+    /**
+     * Let the workers resolve remote SCC roots and aggregate SCC weights/in-degrees
+     */
+    private void ensureCondensation() throws IOException {
+        if (component == null) {
+            findComponents(new Metrics());
+        }
+        if (!condensed) {
+            MessageBuffer[] inbox = step(ShardWorker.SCC_EXCHANGE, 0, 0, emptyInbox());
+            inbox = step(ShardWorker.SCC_TABLE, 0, 0, inbox);
+            step(ShardWorker.SCC_NODES, 0, 0, inbox);
+            condensed = true;
+        }
+    }
+
+    /**
+     * One superstep: deliver every shard its inbox, collect and route the replies
+     */
+    private MessageBuffer[] step(byte op, long arg1, long arg2, MessageBuffer[] inbox) throws IOException {
+        checkUsable();
+        try {
+            // Write all requests before reading, so the workers run concurrently
+            for (int s = 0; s < part.shards; s++) {
+                out[s].writeByte(op);
+                out[s].writeLong(arg1);
+                out[s].writeLong(arg2);
+                inbox[s].write(out[s]);
+                out[s].flush();
+            }
+
+            MessageBuffer[] next = emptyInbox();
+            for (int s = 0; s < part.shards; s++) {
+                readStatus(s);
+                MessageBuffer reply = MessageBuffer.read(in[s]);
+                in[s].readLong();
+                for (int j = 0; j < reply.size; j++) {
+                    next[part.owner(reply.vertex[j])].add(reply.vertex[j], reply.aux[j], reply.value[j]);
+                }
+                messages += reply.size;
+            }
+            supersteps++;
+            return next;
+        } catch (IOException e) {
+            throw fail(e);
+        }
+    }
+
+    /**
+     * Request without messages; returns the sum of the workers' stats
+     */
+    private long broadcast(byte op, long arg1, long arg2) throws IOException {
+        checkUsable();
+        try {
+            for (int s = 0; s < part.shards; s++) {
+                out[s].writeByte(op);
+                out[s].writeLong(arg1);
+                out[s].writeLong(arg2);
+                new MessageBuffer(0).write(out[s]);
+                out[s].flush();
+            }
+            long total = 0;
+            for (int s = 0; s < part.shards; s++) {
+                readStatus(s);
+                MessageBuffer.read(in[s]);
+                total += in[s].readLong();
+            }
+            supersteps++;
+            return total;
+        } catch (IOException e) {
+            throw fail(e);
+        }
+    }
+
+    private void checkUsable() throws IOException {
+        if (failure != null) {
+            throw new IOException("Engine closed after a shard failure: " + failure.getMessage(), failure);
+        }
+    }
+
+    /**
+     * Remember the failure and stop all workers (unread replies are dropped with them)
+     */
+    private IOException fail(IOException e) {
+        failure = e;
+        close();
+        return e;
+    }
+
+    private void readStatus(int s) throws IOException {
+        if (in[s].readByte() != 0) {
+            throw new IOException("Shard " + s + " failed: " + in[s].readUTF());
+        }
+    }
+
+    private MessageBuffer[] emptyInbox() {
+        MessageBuffer[] inbox = new MessageBuffer[part.shards];
+        for (int s = 0; s < inbox.length; s++) {
+            inbox[s] = new MessageBuffer();
+        }
+        return inbox;
+    }
+
+    private static long count(MessageBuffer[] inbox) {
+        long total = 0;
+        for (MessageBuffer b : inbox) {
+            total += b.size;
+        }
+        return total;
+    }
+
+    private void resetCounters() {
+        supersteps = 0;
+        messages = 0;
+    }
+
+    private void recordCounters(Metrics m) {
+        m.setValue("supersteps", supersteps);
+        m.setValue("messages", messages);
+    }
+
+    /**
+     * Stop all workers
+     */
+    @Override
+    public void close() {
+        for (int s = 0; s < sockets.size(); s++) {
+            try {
+                out[s].writeByte(ShardWorker.CLOSE);
+                out[s].flush();
+                sockets.get(s).close();
+            } catch (IOException e) {
+                // Worker already gone
+            }
+        }
+        for (Process p : processes) {
+            try {
+                if (!p.waitFor(5, java.util.concurrent.TimeUnit.SECONDS)) {
+                    p.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                p.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
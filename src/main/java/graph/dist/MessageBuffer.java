@@ -0,0 +1,60 @@
+package graph.dist;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Batch of (vertex, aux, value) messages; vertex decides which shard receives it
+ */
+final class MessageBuffer {
+    int[] vertex;
+    int[] aux;
+    long[] value;
+    int size;
+
+    MessageBuffer() {
+        this(16);
+    }
+
+    MessageBuffer(int capacity) {
+        capacity = Math.max(capacity, 4);
+        vertex = new int[capacity];
+        aux = new int[capacity];
+        value = new long[capacity];
+    }
+
+    void add(int v, int a, long x) {
+        if (size == vertex.length) {
+            int newCap = size * 2;
+            vertex = Arrays.copyOf(vertex, newCap);
+            aux = Arrays.copyOf(aux, newCap);
+            value = Arrays.copyOf(value, newCap);
+        }
+        vertex[size] = v;
+        aux[size] = a;
+        value[size] = x;
+        size++;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeInt(vertex[i]);
+            out.writeInt(aux[i]);
+            out.writeLong(value[i]);
+        }
+    }
+
+    static MessageBuffer read(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        MessageBuffer buffer = new MessageBuffer(size);
+        for (int i = 0; i < size; i++) {
+            buffer.add(in.readInt(), in.readInt(), in.readLong());
+        }
+        return buffer;
+    }
+}
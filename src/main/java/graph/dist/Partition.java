@@ -0,0 +1,37 @@
+package graph.dist;
+
+/**
+ * Splits vertex ids 0..n-1 into contiguous ranges, one per shard
+ */
+final class Partition {
+    final int n;
+    final int shards;
+    private final int block;
+
+    Partition(int n, int shards) {
+        this.n = n;
+        this.shards = shards;
+        this.block = Math.max(1, (n + shards - 1) / shards);
+    }
+
+    /**
+     * Shard that owns vertex v
+     */
+    int owner(int v) {
+        return v / block;
+    }
+
+    /**
+     * First vertex of shard s (also used to address the shard itself)
+     */
+    int lo(int s) {
+        return Math.min(n, s * block);
+    }
+
+    /**
+     * One past the last vertex of shard s
+     */
+    int hi(int s) {
+        return Math.min(n, (s + 1) * block);
+    }
+}
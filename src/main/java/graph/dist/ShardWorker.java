@@ -0,0 +1,433 @@
+package graph.dist;
+
+import java.io.*;
+import java.net.Socket;
+import java.util.*;
+
+/**
+ * Worker process owning one contiguous range of vertices (a shard).
+ * Holds only the out- and in-edges of its own vertices and talks to the
+ * coordinator over a socket: every request carries the messages addressed to
+ * this shard, every reply carries the messages it produced. All per-vertex
+ * state (SCC colors, condensation in-degrees, distances) lives here.
+ *
+ * Usage: ShardWorker host port
+ */
+public class ShardWorker {
+    // Requests
+    static final byte LOAD = 1;
+    static final byte COLOR_INIT = 2;     // start max-color propagation over active vertices
+    static final byte COLOR = 3;
+    static final byte MARK_INIT = 4;      // roots (color == id) claim their backward set
+    static final byte MARK = 5;
+    static final byte ACTIVE = 6;         // stat = vertices without an SCC yet
+    static final byte COMPONENTS = 7;     // (v, 0, root of v's SCC)
+    static final byte SCC_EXCHANGE = 8;   // tell in-neighbors' shards our SCC roots
+    static final byte SCC_TABLE = 9;      // learn remote roots, report SCC weights/in-degrees
+    static final byte SCC_NODES = 10;     // SCC owners aggregate weights/in-degrees
+    static final byte PATH_START = 11;    // arg1 = mode, arg2 = source root
+    static final byte PATH_BROADCAST = 12;
+    static final byte PATH_RELAX = 13;
+    static final byte PATH_RESULT = 14;   // (root, parent root, distance)
+    static final byte CLOSE = 15;
+
+    static final long SHORTEST = 0;
+    static final long LONGEST = 1;
+
+    private Partition part;
+    private int shard;
+    private int lo;
+    private int k; // owned vertices
+
+    // Local adjacency, global vertex ids
+    private int[] outOff;
+    private int[] outTgt;
+    private int[] outWgt;
+    private int[] inOff;
+    private int[] inSrc;
+    private int[] nodeWeight;
+
+    // SCC state
+    private int[] color;
+    private int[] scc;
+    private int[] stack;
+    private boolean[] queued;
+    private int top;
+
+    // Condensation state, indexed by local id of the SCC root
+    private int[] edgeRoot;     // root of each out-edge's target
+    private int[] members;      // owned vertices grouped by root
+    private Map<Integer, int[]> memberRange;
+    private long[] sccWeight;
+    private int[] inDegree;     // incoming condensation edges
+    private int[] remaining;    // not yet relaxed in the current query
+    private long[] shardMask;   // shards holding members of the SCC
+    private long[] dist;
+    private int[] parent;
+    private long mode;
+
+    public static void main(String[] args) throws IOException {
+        try (Socket socket = new Socket(args[0], Integer.parseInt(args[1]))) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            new ShardWorker().serve(in, out);
+        }
+    }
+
+    private void serve(DataInputStream in, DataOutputStream out) throws IOException {
+        MessageBuffer outbox = new MessageBuffer();
+        while (true) {
+            byte op;
+            try {
+                op = in.readByte();
+            } catch (EOFException e) {
+                return;
+            }
+            if (op == CLOSE) {
+                return;
+            }
+            if (op == LOAD) {
+                load(in);
+                out.writeByte(0);
+                out.flush();
+                continue;
+            }
+
+            long arg1 = in.readLong();
+            long arg2 = in.readLong();
+            MessageBuffer inbox = MessageBuffer.read(in);
+            outbox.clear();
+            long stat;
+            try {
+                stat = handle(op, arg1, arg2, inbox, outbox);
+            } catch (RuntimeException e) {
+                out.writeByte(1);
+                out.writeUTF(String.valueOf(e));
+                out.flush();
+                continue;
+            }
+            out.writeByte(0);
+            outbox.write(out);
+            out.writeLong(stat);
+            out.flush();
+        }
+    }
+
+    private void load(DataInputStream in) throws IOException {
+        shard = in.readInt();
+        int shards = in.readInt();
+        int n = in.readInt();
+        part = new Partition(n, shards);
+        lo = part.lo(shard);
+        k = part.hi(shard) - lo;
+
+        outOff = readInts(in);
+        outTgt = readInts(in);
+        outWgt = readInts(in);
+        inOff = readInts(in);
+        inSrc = readInts(in);
+        nodeWeight = readInts(in);
+
+        color = new int[k];
+        scc = new int[k];
+        Arrays.fill(scc, -1);
+        stack = new int[k];
+        queued = new boolean[k];
+    }
+
+    private static int[] readInts(DataInputStream in) throws IOException {
+        int[] a = new int[in.readInt()];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = in.readInt();
+        }
+        return a;
+    }
+
+    private long handle(byte op, long arg1, long arg2, MessageBuffer inbox, MessageBuffer outbox) {
+        switch (op) {
+            case COLOR_INIT:
+                for (int i = 0; i < k; i++) {
+                    if (scc[i] == -1) {
+                        color[i] = lo + i;
+                        push(i);
+                    }
+                }
+                propagateColor(outbox);
+                return 0;
+            case COLOR:
+                for (int j = 0; j < inbox.size; j++) {
+                    int i = inbox.vertex[j] - lo;
+                    if (scc[i] == -1 && inbox.value[j] > color[i]) {
+                        color[i] = (int) inbox.value[j];
+                        push(i);
+                    }
+                }
+                propagateColor(outbox);
+                return 0;
+            case MARK_INIT:
+                for (int i = 0; i < k; i++) {
+                    if (scc[i] == -1 && color[i] == lo + i) {
+                        scc[i] = lo + i;
+                        push(i);
+                    }
+                }
+                propagateMark(outbox);
+                return 0;
+            case MARK:
+                for (int j = 0; j < inbox.size; j++) {
+                    int i = inbox.vertex[j] - lo;
+                    if (scc[i] == -1 && color[i] == inbox.value[j]) {
+                        scc[i] = color[i];
+                        push(i);
+                    }
+                }
+                propagateMark(outbox);
+                return 0;
+            case ACTIVE:
+                long active = 0;
+                for (int i = 0; i < k; i++) {
+                    if (scc[i] == -1) {
+                        active++;
+                    }
+                }
+                return active;
+            case COMPONENTS:
+                for (int i = 0; i < k; i++) {
+                    outbox.add(lo + i, 0, scc[i]);
+                }
+                return 0;
+            case SCC_EXCHANGE:
+                exchangeRoots(outbox);
+                return 0;
+            case SCC_TABLE:
+                buildCondensation(inbox, outbox);
+                return 0;
+            case SCC_NODES:
+                aggregateNodes(inbox);
+                return 0;
+            case PATH_START:
+                startPaths(arg1, (int) arg2, outbox);
+                return 0;
+            case PATH_BROADCAST:
+                relaxMembers(inbox, outbox);
+                return 0;
+            case PATH_RELAX:
+                receiveRelaxations(inbox, outbox);
+                return 0;
+            case PATH_RESULT:
+                for (int i = 0; i < k; i++) {
+                    if (scc[i] == lo + i) {
+                        outbox.add(lo + i, parent[i], dist[i]);
+                    }
+                }
+                return 0;
+            default:
+                throw new IllegalArgumentException("Unknown request " + op);
+        }
+    }
+
+    private void push(int i) {
+        if (!queued[i]) {
+            queued[i] = true;
+            stack[top++] = i;
+        }
+    }
+
+    private int pop() {
+        int i = stack[--top];
+        queued[i] = false;
+        return i;
+    }
+
+    private boolean owned(int v) {
+        return v >= lo && v < lo + k;
+    }
+
+    /**
+     * Push larger colors forward along out-edges; remote targets get a message
+     */
+    private void propagateColor(MessageBuffer outbox) {
+        while (top > 0) {
+            int i = pop();
+            int c = color[i];
+            for (int e = outOff[i]; e < outOff[i + 1]; e++) {
+                int t = outTgt[e];
+                if (!owned(t)) {
+                    outbox.add(t, 0, c);
+                } else if (scc[t - lo] == -1 && c > color[t - lo]) {
+                    color[t - lo] = c;
+                    push(t - lo);
+                }
+            }
+        }
+    }
+
+    /**
+     * Walk in-edges backwards inside one color; everything reached joins the root's SCC
+     */
+    private void propagateMark(MessageBuffer outbox) {
+        while (top > 0) {
+            int i = pop();
+            int c = scc[i];
+            for (int e = inOff[i]; e < inOff[i + 1]; e++) {
+                int p = inSrc[e];
+                if (!owned(p)) {
+                    outbox.add(p, 0, c);
+                } else if (scc[p - lo] == -1 && color[p - lo] == c) {
+                    scc[p - lo] = c;
+                    push(p - lo);
+                }
+            }
+        }
+    }
+
+    /**
+     * Send each vertex's SCC root once to every shard holding one of its in-neighbors
+     */
+    private void exchangeRoots(MessageBuffer outbox) {
+        for (int i = 0; i < k; i++) {
+            long sent = 0;
+            for (int e = inOff[i]; e < inOff[i + 1]; e++) {
+                int p = inSrc[e];
+                int s = part.owner(p);
+                if (!owned(p) && (sent & (1L << s)) == 0) {
+                    sent |= 1L << s;
+                    outbox.add(p, lo + i, scc[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolve the SCC of every out-edge target, group members by SCC, and report
+     * to each SCC's owner: (root, shard, node weight) per member and
+     * (root, -1, count) for incoming condensation edges
+     */
+    private void buildCondensation(MessageBuffer inbox, MessageBuffer outbox) {
+        Map<Integer, Integer> remoteRoot = new HashMap<>();
+        for (int j = 0; j < inbox.size; j++) {
+            remoteRoot.put(inbox.aux[j], (int) inbox.value[j]);
+        }
+
+        Map<Integer, Integer> inCount = new HashMap<>();
+        edgeRoot = new int[outTgt.length];
+        for (int i = 0; i < k; i++) {
+            for (int e = outOff[i]; e < outOff[i + 1]; e++) {
+                int t = outTgt[e];
+                edgeRoot[e] = owned(t) ? scc[t - lo] : remoteRoot.get(t);
+                if (edgeRoot[e] != scc[i]) {
+                    inCount.merge(edgeRoot[e], 1, Integer::sum);
+                }
+            }
+        }
+        for (Map.Entry<Integer, Integer> c : inCount.entrySet()) {
+            outbox.add(c.getKey(), -1, c.getValue());
+        }
+
+        // Owned vertices sorted by root
+        long[] keys = new long[k];
+        for (int i = 0; i < k; i++) {
+            keys[i] = ((long) scc[i] << 32) | i;
+            outbox.add(scc[i], shard, nodeWeight.length == 0 ? 0 : nodeWeight[i]);
+        }
+        Arrays.sort(keys);
+        members = new int[k];
+        memberRange = new HashMap<>();
+        for (int i = 0; i < k; i++) {
+            members[i] = (int) keys[i];
+            int root = (int) (keys[i] >>> 32);
+            int[] range = memberRange.computeIfAbsent(root, r -> new int[2]);
+            if (range[1] == 0) {
+                range[0] = i;
+            }
+            range[1] = i + 1;
+        }
+    }
+
+    private void aggregateNodes(MessageBuffer inbox) {
+        sccWeight = new long[k];
+        inDegree = new int[k];
+        shardMask = new long[k];
+        for (int j = 0; j < inbox.size; j++) {
+            int i = inbox.vertex[j] - lo;
+            if (inbox.aux[j] >= 0) {
+                sccWeight[i] = Math.addExact(sccWeight[i], inbox.value[j]);
+                shardMask[i] |= 1L << inbox.aux[j];
+            } else {
+                inDegree[i] += (int) inbox.value[j];
+            }
+        }
+    }
+
+    private long unset() {
+        return mode == SHORTEST ? Long.MAX_VALUE : Long.MIN_VALUE;
+    }
+
+    private void startPaths(long mode, int sourceRoot, MessageBuffer outbox) {
+        this.mode = mode;
+        dist = new long[k];
+        parent = new int[k];
+        Arrays.fill(parent, -1);
+        remaining = inDegree.clone();
+        for (int i = 0; i < k; i++) {
+            if (scc[i] != lo + i) {
+                continue;
+            }
+            boolean start = mode == SHORTEST ? lo + i == sourceRoot : remaining[i] == 0;
+            dist[i] = start ? sccWeight[i] : unset();
+            if (remaining[i] == 0) {
+                finish(i, outbox);
+            }
+        }
+    }
+
+    /**
+     * SCC i is final: tell every shard holding one of its members
+     */
+    private void finish(int i, MessageBuffer outbox) {
+        long mask = shardMask[i];
+        while (mask != 0) {
+            int s = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+            outbox.add(part.lo(s), lo + i, dist[i]);
+        }
+    }
+
+    /**
+     * Relax the condensation edges leaving the owned members of finished SCCs
+     */
+    private void relaxMembers(MessageBuffer inbox, MessageBuffer outbox) {
+        for (int j = 0; j < inbox.size; j++) {
+            int root = inbox.aux[j];
+            long d = inbox.value[j];
+            int[] range = memberRange.get(root);
+            for (int x = range[0]; x < range[1]; x++) {
+                int i = members[x];
+                for (int e = outOff[i]; e < outOff[i + 1]; e++) {
+                    if (edgeRoot[e] != root) {
+                        long candidate = d == unset() ? d : Math.addExact(d, outWgt[e]);
+                        outbox.add(edgeRoot[e], root, candidate);
+                    }
+                }
+            }
+        }
+    }
+
+    private void receiveRelaxations(MessageBuffer inbox, MessageBuffer outbox) {
+        for (int j = 0; j < inbox.size; j++) {
+            int i = inbox.vertex[j] - lo;
+            long candidate = inbox.value[j];
+            if (candidate != unset()) {
+                candidate = Math.addExact(candidate, sccWeight[i]);
+                boolean better = mode == SHORTEST ? candidate < dist[i] : candidate > dist[i];
+                if (better) {
+                    dist[i] = candidate;
+                    parent[i] = inbox.aux[j];
+                }
+            }
+            if (--remaining[i] == 0) {
+                finish(i, outbox);
+            }
+        }
+    }
+}
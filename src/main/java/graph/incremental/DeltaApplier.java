@@ -0,0 +1,695 @@
+package graph.incremental;
+
+import graph.Graph;
+import graph.GraphBuilder;
+import graph.Metrics;
+import graph.io.DeltaLog.Delta;
+import graph.scc.PathBasedSCC;
+import graph.util.LongMinHeap;
+import java.util.*;
+
+/**
+ * Applies edge additions/removals to a mutable graph in place and keeps its
+ * SCCs, a topological order of the SCCs and the critical path up to date.
+ *
+ * Only the dirty region is touched:
+ * - an edge inside an SCC changes nothing; removing u → v first searches
+ *   from u inside the SCC and stops at v, and only if v is no longer
+ *   reached re-runs the SCC search on that SCC alone, which splits it
+ * - an edge between SCCs that goes against the order reorders (or, if it
+ *   closes a cycle, merges) only the SCCs whose labels lie between its
+ *   endpoints (Pearce-Kelly)
+ * - longest-path values are recomputed for SCCs whose incoming edges
+ *   changed and pushed forward in label order only while they change
+ *
+ * Condensation edges are kept as counts per SCC pair, so a merge or split
+ * only re-buckets the edges of the SCCs involved. Parallel condensation
+ * edges all count, so the critical path uses the heaviest one.
+ * Reachability queries search the condensation, pruned by label.
+ */
+public class DeltaApplier {
+    private static final long GAP = 1L << 20; // initial distance between labels
+
+    private final Graph g;
+    private final int n;
+    private final List<List<Graph.Edge>> in; // incoming edges, Edge.to is the source
+
+    // SCC ids are stable handles in [0, n); unused ids have null members
+    private final int[] comp;
+    private final List<List<Integer>> members;
+    private final Deque<Integer> freeIds = new ArrayDeque<>();
+    private int sccCount;
+
+    // Condensation: number of edges from SCC a to SCC b, both directions
+    private final List<Map<Integer, Integer>> succ;
+    private final List<Map<Integer, Integer>> pred;
+
+    // Topological labels: label[a] < label[b] for every condensation edge a → b
+    private final long[] label;
+    private final TreeMap<Long, Integer> byLabel = new TreeMap<>();
+
+    // Longest path ending in each SCC, plus a multiset of all of them
+    private final long[] weight;
+    private final long[] head;
+    private final boolean[] counted;
+    private final TreeMap<Long, Integer> headCounts = new TreeMap<>();
+
+    // Dirty SCCs waiting for their longest-path value to be recomputed
+    private final boolean[] queued;
+    private final boolean[] forced; // successors must be revisited even if head is unchanged
+    private final List<Integer> dirty = new ArrayList<>();
+
+    // DFS stamps for the reorder searches
+    private final int[] seenForward;
+    private final int[] seenBackward;
+    private int stamp;
+
+    private int merges;
+    private int splits;
+
+    /**
+     * Take over a mutable graph and compute its SCCs and critical path once
+     */
+    public DeltaApplier(Graph g) {
+        if (g.isFrozen()) {
+            throw new IllegalArgumentException("DeltaApplier needs a mutable graph");
+        }
+        this.g = g;
+        this.n = g.getN();
+
+        in = new ArrayList<>(n);
+        int[] rOff = g.getReverseOffsets();
+        int[] rSrc = g.getReverseSources();
+        int[] rWgt = g.getReverseWeights();
+        for (int v = 0; v < n; v++) {
+            List<Graph.Edge> edges = new ArrayList<>(rOff[v + 1] - rOff[v]);
+            for (int e = rOff[v]; e < rOff[v + 1]; e++) {
+                edges.add(new Graph.Edge(rSrc[e], rWgt[e]));
+            }
+            in.add(edges);
+        }
+
+        comp = new int[n];
+        label = new long[n];
+        weight = new long[n];
+        head = new long[n];
+        counted = new boolean[n];
+        queued = new boolean[n];
+        forced = new boolean[n];
+        seenForward = new int[n];
+        seenBackward = new int[n];
+        members = new ArrayList<>(Collections.nCopies(n, (List<Integer>) null));
+        succ = new ArrayList<>(Collections.nCopies(n, (Map<Integer, Integer>) null));
+        pred = new ArrayList<>(Collections.nCopies(n, (Map<Integer, Integer>) null));
+
+        // SCCs come in reverse topological order; the iterative engine
+        // handles long cycles without deep recursion
+        List<List<Integer>> sccs = new PathBasedSCC().findSCCs(g, new Metrics());
+        sccCount = sccs.size();
+        for (int i = 0; i < sccCount; i++) {
+            List<Integer> scc = new ArrayList<>(sccs.get(i));
+            members.set(i, scc);
+            for (int v : scc) {
+                comp[v] = i;
+                weight[i] += g.getNodeWeight(v);
+            }
+            setLabel(i, (long) (sccCount - 1 - i) * GAP);
+            succ.set(i, new HashMap<>());
+            pred.set(i, new HashMap<>());
+        }
+        for (int id = n - 1; id >= sccCount; id--) {
+            freeIds.push(id);
+        }
+        for (int u = 0; u < n; u++) {
+            for (Graph.Edge e : g.getNeighbors(u)) {
+                if (comp[u] != comp[e.to]) {
+                    addCondensationEdge(comp[u], comp[e.to]);
+                }
+            }
+        }
+
+        for (int i = 0; i < sccCount; i++) {
+            markDirty(i);
+        }
+        propagate();
+    }
+
+    /**
+     * Apply a batch of changes; SCCs are updated per change, path values once at the end
+     * Removing a missing edge throws IllegalArgumentException (earlier changes stay applied)
+     */
+    public void apply(List<Delta> deltas, Metrics m) {
+        m.start();
+        merges = 0;
+        splits = 0;
+
+        for (Delta d : deltas) {
+            if (d.add) {
+                addEdge(d.u, d.v, d.w);
+            } else {
+                removeEdge(d.u, d.v);
+            }
+            m.incrementOperations();
+        }
+        int dirtyCount = dirty.size();
+        int recomputed = propagate();
+
+        m.stop();
+        m.setValue("merged_sccs", merges);
+        m.setValue("split_sccs", splits);
+        m.setValue("dirty_sccs", dirtyCount);
+        m.setValue("recomputed_sccs", recomputed);
+    }
+
+    private void addEdge(int u, int v, int w) {
+        g.addEdge(u, v, w);
+        in.get(v).add(new Graph.Edge(u, w));
+
+        int cu = comp[u];
+        int cv = comp[v];
+        if (cu == cv) {
+            return;
+        }
+        addCondensationEdge(cu, cv);
+        markDirty(cv);
+        if (label[cu] < label[cv]) {
+            return; // order still valid
+        }
+        reorder(cu, cv);
+    }
+
+    private void removeEdge(int u, int v) {
+        int w = 0;
+        boolean found = false;
+        for (Graph.Edge e : g.getNeighbors(u)) {
+            if (e.to == v) {
+                w = e.weight;
+                found = true;
+                break;
+            }
+        }
+        if (!found) {
+            throw new IllegalArgumentException("No edge " + u + "→" + v + " to remove");
+        }
+        g.removeEdge(u, v);
+        Iterator<Graph.Edge> it = in.get(v).iterator();
+        while (it.hasNext()) {
+            Graph.Edge e = it.next();
+            if (e.to == u && e.weight == w) {
+                it.remove();
+                break;
+            }
+        }
+
+        int c = comp[u];
+        if (c != comp[v]) {
+            removeCondensationEdge(c, comp[v]);
+            markDirty(comp[v]);
+        } else if (u != v && !reachesWithin(u, v, c)) {
+            split(c);
+        }
+    }
+
+    /**
+     * Search from u for v without leaving SCC c
+     */
+    private boolean reachesWithin(int u, int v, int c) {
+        stamp++;
+        Deque<Integer> stack = new ArrayDeque<>();
+        seenForward[u] = stamp;
+        stack.push(u);
+        while (!stack.isEmpty()) {
+            int x = stack.pop();
+            for (Graph.Edge e : g.getNeighbors(x)) {
+                int y = e.to;
+                if (y == v) {
+                    return true;
+                }
+                if (comp[y] == c && seenForward[y] != stamp) {
+                    seenForward[y] = stamp;
+                    stack.push(y);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * New edge cu → cv with label[cu] > label[cv]: search forward from cv and
+     * backward from cu inside the label window, then reuse the window's labels
+     * so that the backward set comes first. If cu was reached forward the edge
+     * closed a cycle and everything on a cv ⇝ cu path merges into one SCC.
+     */
+    private void reorder(int cu, int cv) {
+        stamp++;
+        List<Integer> forward = search(cv, label[cu], true);
+        List<Integer> backward = search(cu, label[cv], false);
+        boolean cycle = seenForward[cu] == stamp;
+
+        List<Integer> merged = new ArrayList<>();
+        List<Integer> before = new ArrayList<>();
+        List<Integer> after = new ArrayList<>();
+        for (int c : backward) {
+            (seenForward[c] == stamp ? merged : before).add(c);
+        }
+        for (int c : forward) {
+            if (seenBackward[c] != stamp) {
+                after.add(c);
+            }
+        }
+
+        // Pool of the affected labels, handed out in the new order
+        long[] pool = new long[forward.size() + backward.size() - merged.size()];
+        int k = 0;
+        for (int c : backward) {
+            pool[k++] = label[c];
+        }
+        for (int c : after) {
+            pool[k++] = label[c];
+        }
+        Arrays.sort(pool);
+        Comparator<Integer> byCurrentLabel = Comparator.comparingLong(c -> label[c]);
+        before.sort(byCurrentLabel);
+        after.sort(byCurrentLabel);
+        for (int c : backward) {
+            byLabel.remove(label[c]);
+        }
+        for (int c : after) {
+            byLabel.remove(label[c]);
+        }
+
+        k = 0;
+        for (int c : before) {
+            setLabel(c, pool[k++]);
+        }
+        if (cycle) {
+            int survivor = merge(merged);
+            setLabel(survivor, pool[k]);
+        }
+        k = pool.length - after.size();
+        for (int c : after) {
+            setLabel(c, pool[k++]);
+        }
+    }
+
+    /**
+     * SCCs reachable from start (forward) or reaching start (backward) whose
+     * labels stay within the bound; marks them with the current stamp
+     */
+    private List<Integer> search(int start, long bound, boolean forward) {
+        int[] seen = forward ? seenForward : seenBackward;
+        List<Integer> found = new ArrayList<>();
+        Deque<Integer> stack = new ArrayDeque<>();
+        seen[start] = stamp;
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            int c = stack.pop();
+            found.add(c);
+            for (int x : members.get(c)) {
+                for (Graph.Edge e : forward ? g.getNeighbors(x) : in.get(x)) {
+                    int d = comp[e.to];
+                    boolean inWindow = forward ? label[d] <= bound : label[d] >= bound;
+                    if (d != c && seen[d] != stamp && inWindow) {
+                        seen[d] = stamp;
+                        stack.push(d);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Merge SCCs into the largest one (its id survives); returns the survivor
+     */
+    private int merge(List<Integer> sccs) {
+        int survivor = sccs.get(0);
+        for (int c : sccs) {
+            if (members.get(c).size() > members.get(survivor).size()) {
+                survivor = c;
+            }
+            detach(c);
+        }
+        List<Integer> target = members.get(survivor);
+        for (int c : sccs) {
+            if (c == survivor) {
+                continue;
+            }
+            for (int v : members.get(c)) {
+                comp[v] = survivor;
+                target.add(v);
+            }
+            weight[survivor] += weight[c];
+            release(c);
+            merges++;
+        }
+        attach(target, Collections.singleton(survivor));
+        markDirty(survivor);
+        forced[survivor] = true;
+        return survivor;
+    }
+
+    /**
+     * An edge inside c was removed: find the SCCs of c alone and give the
+     * pieces labels between c's label and the next one
+     */
+    private void split(int c) {
+        List<Integer> vertices = members.get(c);
+        Map<Integer, Integer> local = new HashMap<>();
+        for (int i = 0; i < vertices.size(); i++) {
+            local.put(vertices.get(i), i);
+        }
+        GraphBuilder sub = new GraphBuilder(vertices.size());
+        for (int i = 0; i < vertices.size(); i++) {
+            for (Graph.Edge e : g.getNeighbors(vertices.get(i))) {
+                Integer j = local.get(e.to);
+                if (j != null) {
+                    sub.addEdge(i, j, e.weight);
+                }
+            }
+        }
+        List<List<Integer>> parts = new PathBasedSCC().findSCCs(sub.build(), new Metrics());
+        if (parts.size() == 1) {
+            return;
+        }
+        splits++;
+        detach(c);
+
+        Long next = byLabel.higherKey(label[c]);
+        long step = next == null ? GAP : (next - label[c]) / parts.size();
+        if (step == 0) {
+            // Spacing of at least parts.size() leaves room for every piece
+            relabel(Math.max(GAP, parts.size()));
+            next = byLabel.higherKey(label[c]);
+            step = next == null ? GAP : (next - label[c]) / parts.size();
+        }
+        long base = label[c];
+        byLabel.remove(base);
+        Set<Integer> pieceIds = new HashSet<>();
+
+        // Reverse SCC order is topological; the first piece keeps id c
+        for (int p = parts.size() - 1, rank = 0; p >= 0; p--, rank++) {
+            int id = rank == 0 ? c : freeIds.pop();
+            List<Integer> piece = new ArrayList<>();
+            long sum = 0;
+            for (int i : parts.get(p)) {
+                int v = vertices.get(i);
+                piece.add(v);
+                comp[v] = id;
+                sum += g.getNodeWeight(v);
+            }
+            if (rank > 0) {
+                sccCount++;
+                succ.set(id, new HashMap<>());
+                pred.set(id, new HashMap<>());
+            }
+            pieceIds.add(id);
+            members.set(id, piece);
+            weight[id] = sum;
+            setLabel(id, base + rank * step);
+            markDirty(id);
+            forced[id] = true;
+        }
+        attach(vertices, pieceIds);
+    }
+
+    /**
+     * Drop c's condensation edges from both sides (they are re-added by attach)
+     */
+    private void detach(int c) {
+        for (int d : succ.get(c).keySet()) {
+            pred.get(d).remove(c);
+        }
+        for (int d : pred.get(c).keySet()) {
+            succ.get(d).remove(c);
+        }
+        succ.get(c).clear();
+        pred.get(c).clear();
+    }
+
+    /**
+     * Count the condensation edges of a region of vertices whose SCC ids are
+     * ids: out-edges cover edges between those SCCs, in-edges add the ones
+     * from outside
+     */
+    private void attach(List<Integer> vertices, Set<Integer> ids) {
+        for (int x : vertices) {
+            for (Graph.Edge e : g.getNeighbors(x)) {
+                if (comp[x] != comp[e.to]) {
+                    addCondensationEdge(comp[x], comp[e.to]);
+                }
+            }
+            for (Graph.Edge e : in.get(x)) {
+                if (!ids.contains(comp[e.to])) {
+                    addCondensationEdge(comp[e.to], comp[x]);
+                }
+            }
+        }
+    }
+
+    private void addCondensationEdge(int a, int b) {
+        succ.get(a).merge(b, 1, Integer::sum);
+        pred.get(b).merge(a, 1, Integer::sum);
+    }
+
+    private void removeCondensationEdge(int a, int b) {
+        if (succ.get(a).merge(b, -1, Integer::sum) == 0) {
+            succ.get(a).remove(b);
+        }
+        if (pred.get(b).merge(a, -1, Integer::sum) == 0) {
+            pred.get(b).remove(a);
+        }
+    }
+
+    /**
+     * Spread all labels out again with the given spacing (only when a gap is exhausted)
+     */
+    private void relabel(long spacing) {
+        List<Integer> order = new ArrayList<>(byLabel.values());
+        byLabel.clear();
+        for (int i = 0; i < order.size(); i++) {
+            setLabel(order.get(i), i * spacing);
+        }
+    }
+
+    private void setLabel(int c, long value) {
+        label[c] = value;
+        byLabel.put(value, c);
+    }
+
+    /**
+     * Free the id of a merged-away SCC (its label was already taken back)
+     */
+    private void release(int c) {
+        uncount(c);
+        members.set(c, null);
+        succ.set(c, null);
+        pred.set(c, null);
+        forced[c] = false;
+        freeIds.push(c);
+        sccCount--;
+    }
+
+    private void markDirty(int c) {
+        if (!queued[c]) {
+            queued[c] = true;
+            dirty.add(c);
+        }
+    }
+
+    /**
+     * Recompute longest-path values of dirty SCCs in label order; successors
+     * are revisited only when a value changed. Returns the number recomputed.
+     */
+    private int propagate() {
+        LongMinHeap heap = new LongMinHeap();
+        for (int c : dirty) {
+            if (members.get(c) != null) {
+                heap.push(label[c], c);
+            } else {
+                queued[c] = false;
+            }
+        }
+        dirty.clear();
+
+        int recomputed = 0;
+        while (!heap.isEmpty()) {
+            int c = heap.pop();
+            queued[c] = false;
+            recomputed++;
+
+            long value = incomingMax(c);
+            if (counted[c] && value == head[c] && !forced[c]) {
+                continue;
+            }
+            uncount(c);
+            head[c] = value;
+            counted[c] = true;
+            headCounts.merge(value, 1, Integer::sum);
+            forced[c] = false;
+
+            for (int x : members.get(c)) {
+                for (Graph.Edge e : g.getNeighbors(x)) {
+                    int d = comp[e.to];
+                    if (d != c && !queued[d]) {
+                        queued[d] = true;
+                        heap.push(label[d], d);
+                    }
+                }
+            }
+        }
+        return recomputed;
+    }
+
+    /**
+     * Longest path ending in c: its weight plus the best predecessor
+     */
+    private long incomingMax(int c) {
+        long best = Long.MIN_VALUE;
+        for (int v : members.get(c)) {
+            for (Graph.Edge e : in.get(v)) {
+                int p = comp[e.to];
+                if (p != c) {
+                    best = Math.max(best, head[p] + e.weight);
+                }
+            }
+        }
+        return best == Long.MIN_VALUE ? weight[c] : Math.addExact(best, weight[c]);
+    }
+
+    private void uncount(int c) {
+        if (counted[c]) {
+            counted[c] = false;
+            headCounts.computeIfPresent(head[c], (k, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    /**
+     * Number of SCCs
+     */
+    public int getSCCCount() {
+        return sccCount;
+    }
+
+    /**
+     * Check if u and v are in the same SCC
+     */
+    public boolean sameSCC(int u, int v) {
+        return comp[u] == comp[v];
+    }
+
+    /**
+     * SCC id of vertex v (ids are reused after merges)
+     */
+    public int getSCC(int v) {
+        return comp[v];
+    }
+
+    /**
+     * Vertices of SCC id c
+     */
+    public List<Integer> getMembers(int c) {
+        return Collections.unmodifiableList(members.get(c));
+    }
+
+    /**
+     * SCC ids in topological order
+     */
+    public List<Integer> getTopologicalOrder() {
+        return new ArrayList<>(byLabel.values());
+    }
+
+    /**
+     * Number of condensation edges from SCC a to SCC b (parallel edges count)
+     */
+    public int getCondensationEdges(int a, int b) {
+        Integer count = succ.get(a).get(b);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * SCC ids with an edge from SCC a
+     */
+    public Set<Integer> getSuccessors(int a) {
+        return Collections.unmodifiableSet(succ.get(a).keySet());
+    }
+
+    /**
+     * Check whether vertex u reaches vertex v
+     * Searches the condensation, skipping SCCs ordered after v's
+     */
+    public boolean canReach(int u, int v) {
+        int from = comp[u];
+        int to = comp[v];
+        if (from == to) {
+            return true;
+        }
+        if (label[from] > label[to]) {
+            return false;
+        }
+        stamp++;
+        Deque<Integer> stack = new ArrayDeque<>();
+        seenForward[from] = stamp;
+        stack.push(from);
+        while (!stack.isEmpty()) {
+            int c = stack.pop();
+            for (int d : succ.get(c).keySet()) {
+                if (d == to) {
+                    return true;
+                }
+                if (seenForward[d] != stamp && label[d] < label[to]) {
+                    seenForward[d] = stamp;
+                    stack.push(d);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * SCCs in topological order
+     */
+    public List<List<Integer>> getSCCs() {
+        List<List<Integer>> result = new ArrayList<>(sccCount);
+        for (int c : byLabel.values()) {
+            result.add(new ArrayList<>(members.get(c)));
+        }
+        return result;
+    }
+
+    /**
+     * Length of the critical path (longest path over the condensation)
+     */
+    public long getLongestPathLength() {
+        return headCounts.isEmpty() ? 0 : headCounts.lastKey();
+    }
+
+    /**
+     * Materialize the condensation; vertex i is the i-th SCC of getSCCs(),
+     * so 0..k-1 is already a topological order (first edge per SCC pair kept,
+     * as in CondensationGraph)
+     */
+    public Graph getCondensation() {
+        int[] index = new int[n];
+        int i = 0;
+        for (int c : byLabel.values()) {
+            index[c] = i++;
+        }
+        GraphBuilder builder = new GraphBuilder(sccCount);
+        Set<Long> added = new HashSet<>();
+        for (int c : byLabel.values()) {
+            for (int x : members.get(c)) {
+                for (Graph.Edge e : g.getNeighbors(x)) {
+                    int d = comp[e.to];
+                    if (d != c && added.add(((long) index[c] << 32) | index[d])) {
+                        builder.addEdge(index[c], index[d], e.weight);
+                    }
+                }
+            }
+            if (g.hasNodeWeights()) {
+                builder.setNodeWeight(index[c], Math.toIntExact(weight[c]));
+            }
+        }
+        return builder.build();
+    }
+}
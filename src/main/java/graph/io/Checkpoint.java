@@ -0,0 +1,286 @@
+package graph.io;
+
+import graph.Graph;
+import graph.GraphBuilder;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Intermediate pipeline results (SCCs, condensation DAG, topological order)
+ * saved in a compact binary file so a rerun can skip finished phases.
+ *
+ * Layout (big endian): magic, format version, fingerprint of the input
+ * graph, a flag byte telling which sections follow, the sections, and a
+ * CRC32 of everything before it. Loading fails with an IOException if the
+ * file is damaged or belongs to a different graph.
+ */
+public class Checkpoint {
+    private static final int MAGIC = 0x47434B50; // "GCKP"
+    private static final int VERSION = 1;
+
+    private static final int HAS_SCCS = 1;
+    private static final int HAS_CONDENSATION = 2;
+    private static final int HAS_ORDER = 4;
+
+    private final long fingerprint;
+    private List<List<Integer>> sccs;
+    private Graph condensation;
+    private List<Integer> order;
+
+    /**
+     * Empty checkpoint for the graph with this fingerprint
+     */
+    public Checkpoint(long fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * 64-bit hash of the graph's vertices, edges and weights
+     */
+    public static long fingerprint(Graph g) {
+        long h = mix(0x2545F4914F6CDD1DL, g.getN());
+        h = mix(h, g.isDirected() ? 1 : 0);
+        for (int x : g.getOffsets()) {
+            h = mix(h, x);
+        }
+        for (int x : g.getTargets()) {
+            h = mix(h, x);
+        }
+        for (int x : g.getWeights()) {
+            h = mix(h, x);
+        }
+        if (g.hasNodeWeights()) {
+            for (int v = 0; v < g.getN(); v++) {
+                h = mix(h, g.getNodeWeight(v));
+            }
+        }
+        return h;
+    }
+
+    private static long mix(long h, int x) {
+        h ^= x;
+        h *= 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public List<List<Integer>> getSCCs() {
+        return sccs;
+    }
+
+    public void setSCCs(List<List<Integer>> sccs) {
+        this.sccs = sccs;
+    }
+
+    public Graph getCondensation() {
+        return condensation;
+    }
+
+    public void setCondensation(Graph condensation) {
+        this.condensation = condensation;
+    }
+
+    public List<Integer> getOrder() {
+        return order;
+    }
+
+    public void setOrder(List<Integer> order) {
+        this.order = order;
+    }
+
+    /**
+     * SCC index of every original vertex (needs the SCCs)
+     */
+    public int[] vertexToSCC(int n) {
+        int[] result = new int[n];
+        for (int i = 0; i < sccs.size(); i++) {
+            for (int v : sccs.get(i)) {
+                result[v] = i;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Write the checkpoint; the file is replaced atomically, so a crash while
+     * saving leaves the previous checkpoint intact
+     */
+    public void save(File file) throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (OutputStream raw = new BufferedOutputStream(new FileOutputStream(tmp))) {
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(raw, crc));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(fingerprint);
+            out.writeByte((sccs != null ? HAS_SCCS : 0)
+                    | (condensation != null ? HAS_CONDENSATION : 0)
+                    | (order != null ? HAS_ORDER : 0));
+
+            if (sccs != null) {
+                // SCC lists in CSR form, keeping member order
+                out.writeInt(sccs.size());
+                int total = 0;
+                for (List<Integer> scc : sccs) {
+                    out.writeInt(total);
+                    total += scc.size();
+                }
+                out.writeInt(total);
+                for (List<Integer> scc : sccs) {
+                    for (int v : scc) {
+                        out.writeInt(v);
+                    }
+                }
+            }
+
+            if (condensation != null) {
+                Graph d = condensation;
+                out.writeInt(d.getN());
+                writeInts(out, d.getOffsets());
+                writeInts(out, d.getTargets());
+                writeInts(out, d.getWeights());
+                out.writeBoolean(d.hasNodeWeights());
+                if (d.hasNodeWeights()) {
+                    for (int v = 0; v < d.getN(); v++) {
+                        out.writeInt(d.getNodeWeight(v));
+                    }
+                }
+            }
+
+            if (order != null) {
+                out.writeInt(order.size());
+                for (int v : order) {
+                    out.writeInt(v);
+                }
+            }
+
+            out.flush();
+            new DataOutputStream(raw).writeLong(crc.getValue());
+        }
+        Files.move(tmp.toPath(), file.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Load a checkpoint for the graph with this fingerprint
+     * Returns null if the file does not exist
+     */
+    public static Checkpoint load(File file, long fingerprint) throws IOException {
+        if (!file.exists()) {
+            return null;
+        }
+        long maxInts = file.length() / 4;
+        CRC32 crc = new CRC32();
+
+        try (InputStream raw = new BufferedInputStream(new FileInputStream(file))) {
+            DataInputStream in = new DataInputStream(new CheckedInputStream(raw, crc));
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not a checkpoint file");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException(file + ": unsupported checkpoint version " + version);
+            }
+            long stored = in.readLong();
+            if (stored != fingerprint) {
+                throw new IOException(file + " was written for a different graph");
+            }
+            Checkpoint c = new Checkpoint(fingerprint);
+            int flags = in.readByte();
+
+            if ((flags & HAS_SCCS) != 0) {
+                int count = checkLength(in.readInt(), maxInts);
+                int[] start = new int[count + 1];
+                for (int i = 0; i < count; i++) {
+                    start[i] = in.readInt();
+                }
+                start[count] = checkLength(in.readInt(), maxInts);
+                List<List<Integer>> sccs = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    int size = checkLength(start[i + 1] - start[i], maxInts);
+                    List<Integer> scc = new ArrayList<>(size);
+                    for (int j = 0; j < size; j++) {
+                        scc.add(in.readInt());
+                    }
+                    sccs.add(scc);
+                }
+                c.sccs = sccs;
+            }
+
+            if ((flags & HAS_CONDENSATION) != 0) {
+                int n = checkLength(in.readInt(), maxInts);
+                int[] offsets = readInts(in, maxInts);
+                int[] targets = readInts(in, maxInts);
+                int[] weights = readInts(in, maxInts);
+                if (offsets.length != n + 1 || targets.length != weights.length) {
+                    throw new IOException(file + ": inconsistent condensation arrays");
+                }
+                GraphBuilder builder = new GraphBuilder(n, targets.length);
+                try {
+                    for (int u = 0; u < n; u++) {
+                        for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                            builder.addEdge(u, targets[e], weights[e]);
+                        }
+                    }
+                    if (in.readBoolean()) {
+                        for (int v = 0; v < n; v++) {
+                            builder.setNodeWeight(v, in.readInt());
+                        }
+                    }
+                } catch (IndexOutOfBoundsException e) {
+                    throw new IOException(file + ": invalid condensation: " + e.getMessage());
+                }
+                c.condensation = builder.build();
+            }
+
+            if ((flags & HAS_ORDER) != 0) {
+                int size = checkLength(in.readInt(), maxInts);
+                List<Integer> order = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    order.add(in.readInt());
+                }
+                c.order = order;
+            }
+
+            long expected = crc.getValue();
+            if (new DataInputStream(raw).readLong() != expected || raw.read() != -1) {
+                throw new IOException(file + ": checksum mismatch");
+            }
+            return c;
+        } catch (EOFException e) {
+            throw new IOException(file + " is truncated");
+        }
+    }
+
+    private static void writeInts(DataOutputStream out, int[] a) throws IOException {
+        out.writeInt(a.length);
+        for (int x : a) {
+            out.writeInt(x);
+        }
+    }
+
+    private static int[] readInts(DataInputStream in, long maxInts) throws IOException {
+        int[] a = new int[checkLength(in.readInt(), maxInts)];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = in.readInt();
+        }
+        return a;
+    }
+
+    /**
+     * Reject lengths that cannot fit in the file (avoids huge allocations on damaged input)
+     */
+    private static int checkLength(int length, long maxInts) throws IOException {
+        if (length < 0 || length > maxInts) {
+            throw new IOException("Corrupt checkpoint: bad length " + length);
+        }
+        return length;
+    }
+}
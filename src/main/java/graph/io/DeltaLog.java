@@ -0,0 +1,96 @@
+package graph.io;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Text format for batches of edge changes, one change per line:
+ *
+ *   + u v w   add an edge u → v with weight w
+ *   - u v     remove one edge u → v
+ *
+ * Blank lines and lines starting with '#' are ignored.
+ */
+public class DeltaLog {
+
+    /**
+     * One edge change
+     */
+    public static class Delta {
+        public final boolean add;
+        public final int u;
+        public final int v;
+        public final int w; // 0 for removals
+
+        private Delta(boolean add, int u, int v, int w) {
+            this.add = add;
+            this.u = u;
+            this.v = v;
+            this.w = w;
+        }
+
+        public static Delta add(int u, int v, int w) {
+            return new Delta(true, u, v, w);
+        }
+
+        public static Delta remove(int u, int v) {
+            return new Delta(false, u, v, 0);
+        }
+
+        @Override
+        public String toString() {
+            return add ? "+ " + u + " " + v + " " + w : "- " + u + " " + v;
+        }
+    }
+
+    /**
+     * Read a delta file
+     */
+    public static List<Delta> read(File file) throws IOException {
+        try (Reader reader = new FileReader(file)) {
+            return read(reader);
+        }
+    }
+
+    /**
+     * Read deltas; malformed lines fail with their line number
+     */
+    public static List<Delta> read(Reader reader) throws IOException {
+        List<Delta> deltas = new ArrayList<>();
+        BufferedReader in = new BufferedReader(reader);
+        String line;
+        int lineNo = 0;
+        while ((line = in.readLine()) != null) {
+            lineNo++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+");
+            try {
+                if (parts[0].equals("+") && parts.length == 4) {
+                    deltas.add(Delta.add(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]),
+                            Integer.parseInt(parts[3])));
+                } else if (parts[0].equals("-") && parts.length == 3) {
+                    deltas.add(Delta.remove(Integer.parseInt(parts[1]), Integer.parseInt(parts[2])));
+                } else {
+                    throw new IOException("Line " + lineNo + ": expected '+ u v w' or '- u v': " + line);
+                }
+            } catch (NumberFormatException e) {
+                throw new IOException("Line " + lineNo + ": " + e.getMessage());
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * Write deltas in the same format
+     */
+    public static void write(Writer writer, List<Delta> deltas) throws IOException {
+        PrintWriter out = new PrintWriter(writer);
+        for (Delta d : deltas) {
+            out.println(d);
+        }
+        out.flush();
+    }
+}
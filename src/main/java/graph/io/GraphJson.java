@@ -0,0 +1,77 @@
+package graph.io;
+
+import com.google.gson.*;
+import graph.Graph;
+import graph.GraphBuilder;
+import java.io.*;
+
+/**
+ * Reads the dataset JSON format into a frozen graph:
+ *
+ *   { "n": 4, "edges": [{"u": 0, "v": 1, "w": 3}, ...],
+ *     "weight_model": "edge" | "node", "node_weights": [...] }
+ *
+ * Missing edge weights are 0; "node" needs one weight per vertex.
+ */
+public class GraphJson {
+
+    /**
+     * Parse a JSON file
+     */
+    public static JsonObject parse(File file) throws IOException {
+        try (Reader reader = new FileReader(file)) {
+            return new Gson().fromJson(reader, JsonObject.class);
+        } catch (JsonParseException e) {
+            throw new IOException("Invalid JSON in " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Read a graph file
+     */
+    public static Graph read(File file) throws IOException {
+        return read(parse(file));
+    }
+
+    /**
+     * Build the graph described by a parsed dataset
+     */
+    public static Graph read(JsonObject json) throws IOException {
+        if (!json.has("n") || !json.has("edges")) {
+            throw new IOException("Graph JSON needs \"n\" and \"edges\"");
+        }
+        int n = json.get("n").getAsInt();
+        JsonArray edges = json.getAsJsonArray("edges");
+        String weightModel = weightModel(json);
+
+        GraphBuilder builder = new GraphBuilder(n, edges.size());
+        for (int i = 0; i < edges.size(); i++) {
+            JsonObject edge = edges.get(i).getAsJsonObject();
+            int u = edge.get("u").getAsInt();
+            int v = edge.get("v").getAsInt();
+            int w = edge.has("w") ? edge.get("w").getAsInt() : 0;
+            builder.addEdge(u, v, w);
+        }
+
+        // Node weight model: task durations are given per vertex
+        if (weightModel.equals("node")) {
+            JsonArray nodeWeights = json.getAsJsonArray("node_weights");
+            if (nodeWeights == null || nodeWeights.size() != n) {
+                throw new IOException("weight_model \"node\" needs a node_weights array of size " + n);
+            }
+            for (int v = 0; v < n; v++) {
+                builder.setNodeWeight(v, nodeWeights.get(v).getAsInt());
+            }
+        } else if (!weightModel.equals("edge")) {
+            throw new IOException("Unknown weight_model: " + weightModel);
+        }
+        return builder.build();
+    }
+
+    /**
+     * The dataset's weight model ("edge" if not given)
+     */
+    public static String weightModel(JsonObject json) {
+        return json.has("weight_model") ? json.get("weight_model").getAsString() : "edge";
+    }
+}
@@ -0,0 +1,259 @@
+package graph.reach;
+
+import graph.Graph;
+import graph.Metrics;
+import graph.scc.CondensationGraph;
+import graph.topo.TopologicalSort;
+import java.util.*;
+
+/**
+ * Reachability index over the condensation DAG.
+ * Uses a bitset transitive closure when it fits in the memory budget,
+ * otherwise falls back to interval labeling with a pruned DFS.
+ */
+public class ReachabilityIndex {
+    public static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024; // 64 MB
+
+    private long memoryBudget = DEFAULT_MEMORY_BUDGET;
+
+    private CondensationGraph condensation;
+    private Graph dag;
+    private int[] offsets;  // CSR adjacency of the condensation
+    private int[] targets;
+    private int numNodes;
+
+    // Bitset closure: closure[u] has bit v set if u reaches v
+    private long[][] closure;
+
+    // Interval labeling (used when the closure does not fit)
+    private int[] topoPos;  // position in topological order
+    private int[] pre;      // DFS discovery number
+    private int[] post;     // DFS finish number
+    private int[] low;      // smallest finish number reachable from the node
+
+    // Workspace for the fallback DFS
+    private int[] visited;
+    private int epoch;
+    private int[] dfsStack;
+
+    /**
+     * Set the memory budget (in bytes) for the bitset closure
+     */
+    public void setMemoryBudget(long bytes) {
+        this.memoryBudget = bytes;
+    }
+
+    /**
+     * Build the index for a condensation graph
+     */
+    public void build(CondensationGraph cg, Metrics m) {
+        this.condensation = cg;
+        this.dag = cg.getCondensation();
+        this.offsets = dag.getOffsets();
+        this.targets = dag.getTargets();
+        this.numNodes = dag.getN();
+        this.closure = null;
+        this.topoPos = null;
+        this.pre = null;
+        this.post = null;
+        this.low = null;
+
+        m.start();
+
+        // Topological order of the condensation
+        List<Integer> order = new TopologicalSort().sort(dag, new Metrics());
+        if (order == null) {
+            m.stop();
+            throw new IllegalArgumentException("Condensation graph has a cycle");
+        }
+
+        if (closureBytes(numNodes) <= memoryBudget) {
+            buildClosure(order, m);
+        } else {
+            buildLabels(order, m);
+        }
+
+        m.stop();
+    }
+
+    /**
+     * Memory needed by the bitset closure for c nodes
+     */
+    public static long closureBytes(int c) {
+        long words = (c + 63) / 64;
+        return words * 8L * c;
+    }
+
+    /**
+     * Compute closure rows in reverse topological order
+     */
+    private void buildClosure(List<Integer> order, Metrics m) {
+        int words = (numNodes + 63) / 64;
+        closure = new long[numNodes][words];
+
+        for (int i = order.size() - 1; i >= 0; i--) {
+            int u = order.get(i);
+            long[] row = closure[u];
+
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                long[] other = closure[v];
+
+                // u reaches v and everything v reaches
+                row[v >>> 6] |= 1L << v;
+                for (int w = 0; w < words; w++) {
+                    row[w] |= other[w];
+                }
+                m.incrementOperations();
+            }
+        }
+    }
+
+    /**
+     * Compute DFS intervals and low labels
+     */
+    private void buildLabels(List<Integer> order, Metrics m) {
+        topoPos = new int[numNodes];
+        pre = new int[numNodes];
+        post = new int[numNodes];
+        low = new int[numNodes];
+        visited = new int[numNodes];
+        dfsStack = new int[numNodes];
+        epoch = 0;
+
+        for (int i = 0; i < order.size(); i++) {
+            topoPos[order.get(i)] = i;
+        }
+
+        // Iterative DFS over the whole DAG, roots taken in topological order
+        Arrays.fill(pre, -1);
+        int[] edgeIdx = Arrays.copyOf(offsets, numNodes); // next edge to explore
+        int[] stack = new int[numNodes];
+        int preCounter = 0;
+        int postCounter = 0;
+
+        for (int root : order) {
+            if (pre[root] != -1) {
+                continue;
+            }
+
+            int top = 0;
+            stack[top++] = root;
+            pre[root] = preCounter++;
+
+            while (top > 0) {
+                int u = stack[top - 1];
+                if (edgeIdx[u] < offsets[u + 1]) {
+                    int v = targets[edgeIdx[u]++];
+                    if (pre[v] == -1) {
+                        pre[v] = preCounter++;
+                        stack[top++] = v;
+                    }
+                } else {
+                    post[u] = postCounter++;
+                    top--;
+                }
+                m.incrementOperations();
+            }
+        }
+
+        // low[u] = min post over everything reachable from u
+        for (int i = order.size() - 1; i >= 0; i--) {
+            int u = order.get(i);
+            int best = post[u];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                best = Math.min(best, low[targets[e]]);
+            }
+            low[u] = best;
+        }
+    }
+
+    /**
+     * Check whether SCC a reaches SCC b in the condensation
+     */
+    public boolean canReachSCC(int a, int b) {
+        if (a == b) {
+            return true;
+        }
+
+        if (closure != null) {
+            return (closure[a][b >>> 6] & (1L << b)) != 0;
+        }
+
+        // Cheap negative checks
+        if (topoPos[a] > topoPos[b] || !labelContains(a, b)) {
+            return false;
+        }
+
+        // Cheap positive check: b is in a's DFS subtree
+        if (pre[a] < pre[b] && post[b] < post[a]) {
+            return true;
+        }
+
+        return prunedSearch(a, b);
+    }
+
+    /**
+     * Check whether original vertex u reaches original vertex v
+     */
+    public boolean canReach(int u, int v) {
+        return canReachSCC(condensation.getVertexSCC(u), condensation.getVertexSCC(v));
+    }
+
+    /**
+     * Label test: post[b] must lie in [low[a], post[a]] if a reaches b
+     */
+    private boolean labelContains(int a, int b) {
+        return low[a] <= post[b] && post[b] <= post[a];
+    }
+
+    /**
+     * DFS from a that skips nodes whose labels exclude b
+     */
+    private boolean prunedSearch(int a, int b) {
+        epoch++;
+        if (epoch == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            epoch = 1;
+        }
+
+        int top = 0;
+        dfsStack[top++] = a;
+        visited[a] = epoch;
+
+        while (top > 0) {
+            int u = dfsStack[--top];
+
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (v == b) {
+                    return true;
+                }
+                if (visited[v] != epoch && topoPos[v] < topoPos[b] && labelContains(v, b)) {
+                    visited[v] = epoch;
+                    dfsStack[top++] = v;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Check if the bitset closure is used
+     */
+    public boolean usesClosure() {
+        return closure != null;
+    }
+
+    /**
+     * Approximate memory used by the index in bytes
+     */
+    public long getMemoryBytes() {
+        if (closure != null) {
+            return closureBytes(numNodes);
+        }
+        // topoPos, pre, post, low, visited, dfsStack
+        return 6L * 4 * numNodes;
+    }
+}
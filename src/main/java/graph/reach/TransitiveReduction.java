@@ -0,0 +1,151 @@
+package graph.reach;
+
+import graph.Graph;
+import graph.GraphBuilder;
+import graph.Metrics;
+import graph.topo.TopologicalSort;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Transitive reduction of a DAG: the smallest subgraph with the same
+ * reachability. An edge u → v is dropped if v is also reachable through
+ * another successor of u (parallel edges count as redundant too).
+ *
+ * Nodes are grouped by topological level (longest edge count from a
+ * source); every successor of a node sits on a higher level. Levels are
+ * processed from the sinks upwards and the nodes of one level in
+ * parallel: each node scans its successors in topological order, keeps
+ * those not already covered by the bitset closure of the kept ones, and
+ * stores its own closure row.
+ *
+ * Reachability (and any topological order) is preserved, path lengths are
+ * not: use the full DAG for weighted distances.
+ */
+public class TransitiveReduction {
+    private long memoryBudget = ReachabilityIndex.DEFAULT_MEMORY_BUDGET;
+    private int removedEdges;
+
+    /**
+     * Set the memory budget (in bytes) for the bitset closure
+     */
+    public void setMemoryBudget(long bytes) {
+        this.memoryBudget = bytes;
+    }
+
+    /**
+     * Reduce a DAG; returns null if it has a cycle
+     * Throws IllegalArgumentException if the closure does not fit the budget
+     */
+    public Graph reduce(Graph dag, Metrics m) {
+        int n = dag.getN();
+        if (ReachabilityIndex.closureBytes(n) > memoryBudget) {
+            throw new IllegalArgumentException("Closure of " + n + " nodes needs " +
+                    ReachabilityIndex.closureBytes(n) + " bytes, budget is " + memoryBudget);
+        }
+
+        m.start();
+
+        List<Integer> order = new TopologicalSort().sort(dag, new Metrics());
+        if (order == null) {
+            m.stop();
+            return null;
+        }
+
+        int[] offsets = dag.getOffsets();
+        int[] targets = dag.getTargets();
+        int[] weights = dag.getWeights();
+
+        int[] position = new int[n];
+        for (int i = 0; i < n; i++) {
+            position[order.get(i)] = i;
+        }
+
+        // Level = longest edge count from a source; edges always go to a higher level
+        int[] level = new int[n];
+        int levels = n == 0 ? 0 : 1;
+        for (int u : order) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                level[v] = Math.max(level[v], level[u] + 1);
+                levels = Math.max(levels, level[v] + 1);
+            }
+        }
+        int[] levelStart = new int[levels + 1];
+        for (int v = 0; v < n; v++) {
+            levelStart[level[v] + 1]++;
+        }
+        for (int l = 0; l < levels; l++) {
+            levelStart[l + 1] += levelStart[l];
+        }
+        int[] byLevel = new int[n];
+        int[] cursor = Arrays.copyOf(levelStart, levels);
+        for (int v = 0; v < n; v++) {
+            byLevel[cursor[level[v]]++] = v;
+        }
+
+        int words = (n + 63) / 64;
+        long[][] closure = new long[n][];
+        boolean[] keep = new boolean[offsets[n]];
+
+        for (int l = levels - 1; l >= 0; l--) {
+            IntStream.range(levelStart[l], levelStart[l + 1]).parallel().forEach(i -> {
+                int u = byLevel[i];
+                long[] row = new long[words];
+
+                // Successor edges sorted by the target's topological position
+                int degree = offsets[u + 1] - offsets[u];
+                long[] sorted = new long[degree];
+                for (int j = 0; j < degree; j++) {
+                    int e = offsets[u] + j;
+                    sorted[j] = ((long) position[targets[e]] << 32) | e;
+                }
+                Arrays.sort(sorted);
+
+                for (long key : sorted) {
+                    int e = (int) key;
+                    int v = targets[e];
+                    if ((row[v >>> 6] & (1L << v)) != 0) {
+                        continue; // implied by an earlier successor (or a duplicate)
+                    }
+                    keep[e] = true;
+                    row[v >>> 6] |= 1L << v;
+                    long[] other = closure[v];
+                    for (int w = 0; w < words; w++) {
+                        row[w] |= other[w];
+                    }
+                }
+                closure[u] = row;
+            });
+        }
+
+        GraphBuilder builder = new GraphBuilder(n, offsets[n]);
+        int kept = 0;
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                if (keep[e]) {
+                    builder.addEdge(u, targets[e], weights[e]);
+                    kept++;
+                }
+            }
+            if (dag.hasNodeWeights()) {
+                builder.setNodeWeight(u, dag.getNodeWeight(u));
+            }
+        }
+        removedEdges = offsets[n] - kept;
+        m.addOperations(offsets[n]);
+
+        m.stop();
+        m.setValue("levels", levels);
+        m.setValue("removed_edges", removedEdges);
+
+        return builder.build();
+    }
+
+    /**
+     * Number of edges removed by the last reduce()
+     */
+    public int getRemovedEdges() {
+        return removedEdges;
+    }
+}
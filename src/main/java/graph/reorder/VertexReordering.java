@@ -0,0 +1,310 @@
+package graph.reorder;
+
+import graph.Graph;
+import graph.GraphBuilder;
+import graph.Metrics;
+import graph.dagsp.DAGShortestPath;
+import graph.scc.TarjanSCC;
+import graph.topo.TopologicalSort;
+import java.util.*;
+
+/**
+ * Relabels vertices so that vertices visited together get nearby ids.
+ * Algorithms then walk the CSR arrays mostly forward instead of jumping
+ * randomly through memory. Results are mapped back to the original ids,
+ * so callers never see the new labels.
+ */
+public class VertexReordering {
+
+    /**
+     * How the new order is chosen
+     */
+    public enum Strategy {
+        BFS,         // breadth-first order over in- and out-edges
+        RCM,         // reverse Cuthill-McKee (BFS from low degree, neighbors by degree)
+        TOPOLOGICAL  // Kahn order (DAGs only)
+    }
+
+    private final int[] newId; // old id → new id
+    private final int[] oldId; // new id → old id
+    private final Graph relabeled;
+
+    private VertexReordering(Graph g, int[] oldId) {
+        int n = g.getN();
+        this.oldId = oldId;
+        this.newId = new int[n];
+        for (int i = 0; i < n; i++) {
+            newId[oldId[i]] = i;
+        }
+        this.relabeled = relabel(g);
+    }
+
+    /**
+     * Compute a reordering of g with the given strategy
+     */
+    public static VertexReordering compute(Graph g, Strategy strategy) {
+        switch (strategy) {
+            case BFS:
+                return new VertexReordering(g, bfsOrder(g, false));
+            case RCM:
+                int[] order = bfsOrder(g, true);
+                reverse(order);
+                return new VertexReordering(g, order);
+            case TOPOLOGICAL:
+                List<Integer> topo = new TopologicalSort().sort(g, new Metrics());
+                if (topo == null) {
+                    throw new IllegalArgumentException("Topological relabeling needs a DAG");
+                }
+                return new VertexReordering(g, topo.stream().mapToInt(Integer::intValue).toArray());
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + strategy);
+        }
+    }
+
+    /**
+     * BFS over the undirected view of g; roots and (for RCM) neighbors
+     * are taken in order of increasing degree
+     */
+    private static int[] bfsOrder(Graph g, boolean byDegree) {
+        int n = g.getN();
+        int[] off = g.getOffsets();
+        int[] tgt = g.getTargets();
+        int[] rOff = g.getReverseOffsets();
+        int[] rSrc = g.getReverseSources();
+        int[] degree = new int[n];
+        for (int v = 0; v < n; v++) {
+            degree[v] = (off[v + 1] - off[v]) + (rOff[v + 1] - rOff[v]);
+        }
+
+        int[] roots = identity(n);
+        if (byDegree) {
+            roots = sortByDegree(roots, n, degree);
+        }
+
+        boolean[] visited = new boolean[n];
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
+        int[] buffer = new int[16];
+
+        for (int root : roots) {
+            if (visited[root]) {
+                continue;
+            }
+            visited[root] = true;
+            order[tail++] = root;
+
+            while (head < tail) {
+                int u = order[head++];
+
+                // Collect unvisited neighbors in both directions
+                int count = 0;
+                int needed = (off[u + 1] - off[u]) + (rOff[u + 1] - rOff[u]);
+                if (needed > buffer.length) {
+                    buffer = new int[needed];
+                }
+                for (int e = off[u]; e < off[u + 1]; e++) {
+                    if (!visited[tgt[e]]) {
+                        visited[tgt[e]] = true;
+                        buffer[count++] = tgt[e];
+                    }
+                }
+                for (int e = rOff[u]; e < rOff[u + 1]; e++) {
+                    if (!visited[rSrc[e]]) {
+                        visited[rSrc[e]] = true;
+                        buffer[count++] = rSrc[e];
+                    }
+                }
+
+                int[] next = byDegree ? sortByDegree(buffer, count, degree) : buffer;
+                System.arraycopy(next, 0, order, tail, count);
+                tail += count;
+            }
+        }
+
+        return order;
+    }
+
+    /**
+     * First count entries of vertices sorted by (degree, id)
+     */
+    private static int[] sortByDegree(int[] vertices, int count, int[] degree) {
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = ((long) degree[vertices[i]] << 32) | vertices[i];
+        }
+        Arrays.sort(keys);
+        int[] sorted = new int[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = (int) keys[i];
+        }
+        return sorted;
+    }
+
+    private static int[] identity(int n) {
+        int[] a = new int[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = i;
+        }
+        return a;
+    }
+
+    private static void reverse(int[] a) {
+        for (int i = 0, j = a.length - 1; i < j; i++, j--) {
+            int t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    /**
+     * Build the relabeled graph; neighbors are sorted by new id
+     */
+    private Graph relabel(Graph g) {
+        int n = g.getN();
+        int[] off = g.getOffsets();
+        int[] tgt = g.getTargets();
+        int[] wgt = g.getWeights();
+        int m = off[n];
+
+        int[] us = new int[m];
+        int[] vs = new int[m];
+        int[] ws = new int[m];
+        long[] packed = new long[16];
+        int pos = 0;
+
+        for (int u = 0; u < n; u++) {
+            int old = oldId[u];
+            int degree = off[old + 1] - off[old];
+            if (degree > packed.length) {
+                packed = new long[degree];
+            }
+            // Pack (new target, index) so sorting keeps weights attached
+            for (int i = 0; i < degree; i++) {
+                packed[i] = ((long) newId[tgt[off[old] + i]] << 32) | i;
+            }
+            Arrays.sort(packed, 0, degree);
+            for (int i = 0; i < degree; i++) {
+                us[pos] = u;
+                vs[pos] = (int) (packed[i] >>> 32);
+                ws[pos] = wgt[off[old] + (int) packed[i]];
+                pos++;
+            }
+        }
+
+        GraphBuilder builder = new GraphBuilder(n, m).directed(g.isDirected());
+        builder.addEdges(us, vs, ws);
+        if (g.hasNodeWeights()) {
+            for (int u = 0; u < n; u++) {
+                builder.setNodeWeight(u, g.getNodeWeight(oldId[u]));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * The relabeled graph
+     */
+    public Graph getGraph() {
+        return relabeled;
+    }
+
+    /**
+     * New id of an original vertex
+     */
+    public int toNew(int v) {
+        return newId[v];
+    }
+
+    /**
+     * Original id of a relabeled vertex
+     */
+    public int toOld(int v) {
+        return oldId[v];
+    }
+
+    /**
+     * Per-vertex values indexed by new id → indexed by original id
+     */
+    public int[] mapBack(int[] values) {
+        int[] result = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[oldId[i]] = values[i];
+        }
+        return result;
+    }
+
+    /**
+     * Vertex list in new ids → original ids
+     */
+    public List<Integer> mapBackVertices(List<Integer> vertices) {
+        List<Integer> result = new ArrayList<>(vertices.size());
+        for (int v : vertices) {
+            result.add(oldId[v]);
+        }
+        return result;
+    }
+
+    /**
+     * Tarjan SCCs of the original graph, computed on the relabeled one
+     */
+    public List<List<Integer>> findSCCs(Metrics m) {
+        List<List<Integer>> sccs = new TarjanSCC().findSCCs(relabeled, m);
+        List<List<Integer>> result = new ArrayList<>(sccs.size());
+        for (List<Integer> scc : sccs) {
+            result.add(mapBackVertices(scc));
+        }
+        return result;
+    }
+
+    /**
+     * DAG shortest paths from an original source, indexed by original id
+     */
+    public int[] shortestPaths(int source, Metrics m) {
+        int[] dist = new DAGShortestPath().shortestPaths(relabeled, newId[source], m);
+        return dist == null ? null : mapBack(dist);
+    }
+
+    /**
+     * Critical path with original vertex ids
+     */
+    public DAGShortestPath.PathResult longestPath(Metrics m) {
+        DAGShortestPath.PathResult r = new DAGShortestPath().longestPath(relabeled, m);
+        return r == null ? null : new DAGShortestPath.PathResult(mapBackVertices(r.path), r.length);
+    }
+
+    /**
+     * Locality measure: average |u - v| over all edges (smaller is better)
+     */
+    public static double averageEdgeSpan(Graph g) {
+        int[] off = g.getOffsets();
+        int[] tgt = g.getTargets();
+        long total = 0;
+        for (int u = 0; u < g.getN(); u++) {
+            for (int e = off[u]; e < off[u + 1]; e++) {
+                total += Math.abs(u - tgt[e]);
+            }
+        }
+        int m = off[g.getN()];
+        return m == 0 ? 0.0 : (double) total / m;
+    }
+
+    /**
+     * Fraction of edges whose endpoints fall in the same 64-byte block of an
+     * int[] indexed by vertex (16 ids); a proxy for cache hits
+     */
+    public static double localEdgeFraction(Graph g) {
+        int[] off = g.getOffsets();
+        int[] tgt = g.getTargets();
+        long local = 0;
+        for (int u = 0; u < g.getN(); u++) {
+            for (int e = off[u]; e < off[u + 1]; e++) {
+                if ((u >>> 4) == (tgt[e] >>> 4)) {
+                    local++;
+                }
+            }
+        }
+        int m = off[g.getN()];
+        return m == 0 ? 0.0 : (double) local / m;
+    }
+}
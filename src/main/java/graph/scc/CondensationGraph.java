@@ -31,22 +31,35 @@ public class CondensationGraph {
         // Create new graph with SCC nodes
         condensation = new Graph(numSCCs, true);
 
+        // An SCC runs as one unit, so its weight is the sum of its vertices
+        if (g.hasNodeWeights()) {
+            for (int i = 0; i < numSCCs; i++) {
+                int total = 0;
+                for (int v : sccs.get(i)) {
+                    total = Math.addExact(total, g.getNodeWeight(v));
+                }
+                condensation.setNodeWeight(i, total);
+            }
+        }
+
         // Add edges between different SCCs
-        Set<String> addedEdges = new HashSet<>();
+        Set<Long> addedEdges = new HashSet<>();
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        int[] weights = g.getWeights();
 
         for (int u = 0; u < g.getN(); u++) {
             int sccU = vertexToSCC[u];
 
-            for (Graph.Edge edge : g.getNeighbors(u)) {
-                int v = edge.to;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
                 int sccV = vertexToSCC[v];
 
                 // Only add edge if vertices are in different SCCs
                 if (sccU != sccV) {
-                    String edgeKey = sccU + "-" + sccV;
-                    if (!addedEdges.contains(edgeKey)) {
-                        condensation.addEdge(sccU, sccV, edge.weight);
-                        addedEdges.add(edgeKey);
+                    long edgeKey = ((long) sccU << 32) | sccV;
+                    if (addedEdges.add(edgeKey)) {
+                        condensation.addEdge(sccU, sccV, weights[e]);
                     }
                 }
             }
@@ -0,0 +1,96 @@
+package graph.scc;
+
+import graph.Graph;
+import graph.Metrics;
+import java.util.*;
+
+/**
+ * Kosaraju's algorithm with iterative DFS (no recursion depth limit)
+ * Pass 1 walks the transposed CSR and records finish order; pass 2 walks
+ * the forward CSR in decreasing finish order, and each tree is one SCC
+ * (sink SCCs come out first)
+ */
+public class KosarajuSCC implements SCCAlgorithm {
+
+    @Override
+    public List<List<Integer>> findSCCs(Graph g, Metrics m) {
+        int n = g.getN();
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        int[] revOffsets = g.getReverseOffsets();
+        int[] revSources = g.getReverseSources();
+
+        m.start();
+
+        // Pass 1: finish order on the transpose
+        int[] finished = new int[n];
+        int count = 0;
+        boolean[] visited = new boolean[n];
+        int[] stack = new int[n];
+        int[] next = new int[n]; // next edge to look at, per vertex on the stack
+
+        for (int s = 0; s < n; s++) {
+            if (visited[s]) {
+                continue;
+            }
+            int top = 0;
+            stack[top++] = s;
+            visited[s] = true;
+            next[s] = revOffsets[s];
+            m.incrementDFSVisits();
+
+            while (top > 0) {
+                int u = stack[top - 1];
+                if (next[u] < revOffsets[u + 1]) {
+                    int v = revSources[next[u]++];
+                    if (!visited[v]) {
+                        visited[v] = true;
+                        next[v] = revOffsets[v];
+                        stack[top++] = v;
+                        m.incrementDFSVisits();
+                    }
+                } else {
+                    top--;
+                    finished[count++] = u;
+                }
+            }
+        }
+
+        // Pass 2: forward DFS from the latest finished vertex; each tree is one SCC
+        List<List<Integer>> sccs = new ArrayList<>();
+        boolean[] assigned = new boolean[n];
+        for (int i = n - 1; i >= 0; i--) {
+            int s = finished[i];
+            if (assigned[s]) {
+                continue;
+            }
+            List<Integer> scc = new ArrayList<>();
+            int top = 0;
+            stack[top++] = s;
+            assigned[s] = true;
+
+            while (top > 0) {
+                int u = stack[--top];
+                scc.add(u);
+                m.incrementOperations();
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int v = targets[e];
+                    if (!assigned[v]) {
+                        assigned[v] = true;
+                        stack[top++] = v;
+                    }
+                }
+            }
+            sccs.add(scc);
+        }
+
+        m.stop();
+
+        return sccs;
+    }
+
+    @Override
+    public String getName() {
+        return "kosaraju";
+    }
+}
@@ -0,0 +1,94 @@
+package graph.scc;
+
+import graph.Graph;
+import graph.Metrics;
+import java.util.*;
+
+/**
+ * Gabow's path-based SCC algorithm with iterative DFS
+ * Keeps two stacks instead of low-links: S holds visited vertices without
+ * an SCC, P holds the roots of the SCCs on the current DFS path. A vertex
+ * that is still on top of P when it finishes closes an SCC.
+ */
+public class PathBasedSCC implements SCCAlgorithm {
+
+    @Override
+    public List<List<Integer>> findSCCs(Graph g, Metrics m) {
+        int n = g.getN();
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+
+        m.start();
+
+        int[] pre = new int[n];     // preorder number, -1 = unvisited
+        boolean[] done = new boolean[n]; // already in an SCC
+        Arrays.fill(pre, -1);
+        int counter = 0;
+
+        int[] s = new int[n];
+        int sTop = 0;
+        int[] p = new int[n];
+        int pTop = 0;
+        int[] call = new int[n];    // DFS call stack
+        int[] next = new int[n];    // next edge per vertex on the call stack
+
+        List<List<Integer>> sccs = new ArrayList<>();
+
+        for (int root = 0; root < n; root++) {
+            if (pre[root] != -1) {
+                continue;
+            }
+            int top = 0;
+            pre[root] = counter++;
+            s[sTop++] = root;
+            p[pTop++] = root;
+            call[top++] = root;
+            next[root] = offsets[root];
+            m.incrementDFSVisits();
+
+            while (top > 0) {
+                int u = call[top - 1];
+                if (next[u] < offsets[u + 1]) {
+                    int v = targets[next[u]++];
+                    if (pre[v] == -1) {
+                        pre[v] = counter++;
+                        s[sTop++] = v;
+                        p[pTop++] = v;
+                        call[top++] = v;
+                        next[v] = offsets[v];
+                        m.incrementDFSVisits();
+                    } else if (!done[v]) {
+                        // v is on the path: everything above it on P joins its SCC
+                        while (pre[p[pTop - 1]] > pre[v]) {
+                            pTop--;
+                        }
+                    }
+                    continue;
+                }
+
+                top--;
+                if (p[pTop - 1] == u) {
+                    pTop--;
+                    List<Integer> scc = new ArrayList<>();
+                    int v;
+                    do {
+                        v = s[--sTop];
+                        done[v] = true;
+                        scc.add(v);
+                        m.incrementOperations();
+                    } while (v != u);
+                    sccs.add(scc);
+                }
+            }
+        }
+
+        m.stop();
+
+        return sccs;
+    }
+
+    @Override
+    public String getName() {
+        return "path-based";
+    }
+}
@@ -0,0 +1,23 @@
+package graph.scc;
+
+import graph.Graph;
+import graph.Metrics;
+import java.util.*;
+
+/**
+ * Common interface of the SCC engines
+ * SCCs are returned in reverse topological order of the condensation
+ * (an SCC comes after every SCC it has edges to), as TarjanSCC does
+ */
+public interface SCCAlgorithm {
+
+    /**
+     * Find all SCCs in the graph
+     */
+    List<List<Integer>> findSCCs(Graph g, Metrics m);
+
+    /**
+     * Short engine name for reports
+     */
+    String getName();
+}
@@ -0,0 +1,52 @@
+package graph.scc;
+
+import graph.Graph;
+import graph.Metrics;
+import java.util.*;
+
+/**
+ * Picks an SCC engine from cheap graph statistics:
+ * - small graphs: Tarjan (recursion depth is harmless, one pass)
+ * - dense graphs: Kosaraju (two plain sweeps over the forward and
+ *   transposed CSR arrays, good locality per vertex)
+ * - otherwise: path-based (one iterative pass, no recursion limit)
+ */
+public class SCCSelector implements SCCAlgorithm {
+    public static final int SMALL_GRAPH = 10_000;       // vertices
+    public static final double DENSE_AVG_DEGREE = 16.0; // edges per vertex
+
+    private SCCAlgorithm lastChoice;
+
+    /**
+     * Engine this selector would use for g
+     */
+    public SCCAlgorithm choose(Graph g) {
+        int n = g.getN();
+        double avgDegree = n == 0 ? 0 : (double) g.getEdgeCount() / n;
+        if (n <= SMALL_GRAPH) {
+            return new TarjanSCC();
+        }
+        if (avgDegree >= DENSE_AVG_DEGREE) {
+            return new KosarajuSCC();
+        }
+        return new PathBasedSCC();
+    }
+
+    @Override
+    public List<List<Integer>> findSCCs(Graph g, Metrics m) {
+        lastChoice = choose(g);
+        return lastChoice.findSCCs(g, m);
+    }
+
+    /**
+     * Engine used by the last findSCCs call
+     */
+    public SCCAlgorithm getLastChoice() {
+        return lastChoice;
+    }
+
+    @Override
+    public String getName() {
+        return lastChoice == null ? "auto" : "auto(" + lastChoice.getName() + ")";
+    }
+}
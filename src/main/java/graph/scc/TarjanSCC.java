@@ -1,5 +1,6 @@
 package graph.scc;
 
+import graph.CompressedGraph;
 import graph.Graph;
 import graph.Metrics;
 import java.util.*;
@@ -7,9 +8,11 @@ import java.util.*;
 /**
  * Tarjan's algorithm for finding Strongly Connected Components
  */
-public class TarjanSCC {
+public class TarjanSCC implements SCCAlgorithm {
     private Graph graph;
     private Metrics metrics;
+    private int[] offsets;  // CSR adjacency of the graph
+    private int[] targets;
 
     // Tarjan algorithm variables
     private int[] low;      // lowest point reachable
@@ -24,9 +27,12 @@ public class TarjanSCC {
     /**
      * Find all SCCs in the graph
      */
+    @Override
     public List<List<Integer>> findSCCs(Graph g, Metrics m) {
         this.graph = g;
         this.metrics = m;
+        this.offsets = g.getOffsets();
+        this.targets = g.getTargets();
         int n = g.getN();
 
         // Initialize arrays
@@ -66,8 +72,8 @@ public class TarjanSCC {
         metrics.incrementDFSVisits();
 
         // Visit all neighbors
-        for (Graph.Edge edge : graph.getNeighbors(u)) {
-            int v = edge.to;
+        for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+            int v = targets[e];
 
             if (disc[v] == -1) {
                 // If v is not visited, recurse
@@ -95,6 +101,93 @@ public class TarjanSCC {
         }
     }
 
+    /**
+     * Find all SCCs of a compressed graph
+     * Iterative (one edge cursor per DFS level), so deep graphs need no
+     * extra thread stack; SCCs come out in the same reverse topological order
+     */
+    public List<List<Integer>> findSCCs(CompressedGraph g, Metrics m) {
+        int n = g.getN();
+        low = new int[n];
+        disc = new int[n];
+        onStack = new boolean[n];
+        stack = new Stack<>();
+        sccs = new ArrayList<>();
+        time = 0;
+        Arrays.fill(disc, -1);
+
+        int[] callStack = new int[n];
+        List<CompressedGraph.EdgeCursor> cursors = new ArrayList<>();
+
+        m.start();
+
+        for (int root = 0; root < n; root++) {
+            if (disc[root] != -1) {
+                continue;
+            }
+            int depth = 0;
+            enter(g, root, 0, callStack, cursors, m);
+
+            while (depth >= 0) {
+                int u = callStack[depth];
+                CompressedGraph.EdgeCursor c = cursors.get(depth);
+                if (c.next()) {
+                    int v = c.target();
+                    if (disc[v] == -1) {
+                        depth++;
+                        enter(g, v, depth, callStack, cursors, m);
+                    } else if (onStack[v]) {
+                        low[u] = Math.min(low[u], disc[v]);
+                    }
+                    continue;
+                }
+
+                // u is finished
+                if (low[u] == disc[u]) {
+                    List<Integer> scc = new ArrayList<>();
+                    int v;
+                    do {
+                        v = stack.pop();
+                        onStack[v] = false;
+                        scc.add(v);
+                        m.incrementOperations();
+                    } while (v != u);
+                    sccs.add(scc);
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callStack[depth];
+                    low[parent] = Math.min(low[parent], low[u]);
+                }
+            }
+        }
+
+        m.stop();
+
+        return sccs;
+    }
+
+    /**
+     * Discover u at the given DFS depth and position a cursor on its edges
+     */
+    private void enter(CompressedGraph g, int u, int depth, int[] callStack,
+                       List<CompressedGraph.EdgeCursor> cursors, Metrics m) {
+        disc[u] = low[u] = time++;
+        stack.push(u);
+        onStack[u] = true;
+        m.incrementDFSVisits();
+        callStack[depth] = u;
+        if (depth == cursors.size()) {
+            cursors.add(g.cursor());
+        }
+        cursors.get(depth).reset(u);
+    }
+
+    @Override
+    public String getName() {
+        return "tarjan";
+    }
+
     /**
      * Get the list of SCCs
      */
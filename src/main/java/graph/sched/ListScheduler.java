@@ -0,0 +1,160 @@
+package graph.sched;
+
+import graph.Graph;
+import graph.Metrics;
+import graph.dagsp.DAGShortestPath;
+import graph.topo.TopologicalSort;
+import graph.util.LongMinHeap;
+import java.util.*;
+
+/**
+ * Resource-constrained list scheduling of a DAG on a fixed number of workers.
+ *
+ * Every node has a duration; an edge u→v with weight w means v may start
+ * no earlier than w time units after u finishes. Ready nodes are started in
+ * order of their critical path to a sink (highest first). The simulation is
+ * event driven, so its cost is O((V + E) log V) regardless of time values.
+ */
+public class ListScheduler {
+
+    /**
+     * Schedule the DAG on the given number of workers
+     * Returns null if graph has a cycle
+     */
+    public Schedule schedule(Graph dag, int[] durations, int workers, Metrics m) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Need at least one worker");
+        }
+        int n = dag.getN();
+        if (durations.length != n) {
+            throw new IllegalArgumentException("Expected " + n + " durations, got " + durations.length);
+        }
+
+        // Critical path priorities
+        long[] priority = new DAGShortestPath().longestToSink(dag, durations, new Metrics());
+        if (priority == null) {
+            return null; // Graph has cycle
+        }
+
+        m.start();
+
+        int[] remaining = new TopologicalSort().inDegrees(dag);
+        int[] offsets = dag.getOffsets();
+        int[] targets = dag.getTargets();
+        int[] weights = dag.getWeights();
+
+        long[] release = new long[n];  // earliest start allowed by predecessors
+        long[] start = new long[n];
+        int[] worker = new int[n];
+
+        LongMinHeap pending = new LongMinHeap(n); // key: release time
+        LongMinHeap ready = new LongMinHeap(n);   // key: -priority
+        LongMinHeap running = new LongMinHeap(workers); // key: finish time
+
+        // Free workers as a stack, lowest id on top
+        int[] freeWorkers = new int[workers];
+        int freeCount = workers;
+        for (int i = 0; i < workers; i++) {
+            freeWorkers[i] = workers - 1 - i;
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (remaining[i] == 0) {
+                pending.push(0, i);
+            }
+        }
+
+        long now = 0;
+        long makespan = 0;
+        int scheduled = 0;
+
+        while (scheduled < n || !running.isEmpty()) {
+            // 1. Complete every task finishing at the current time
+            while (!running.isEmpty() && running.peekKey() <= now) {
+                int u = running.pop();
+                freeWorkers[freeCount++] = worker[u];
+                long finish = start[u] + durations[u];
+
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int v = targets[e];
+                    release[v] = Math.max(release[v], finish + weights[e]);
+                    if (--remaining[v] == 0) {
+                        pending.push(release[v], v);
+                    }
+                }
+                m.incrementOperations();
+            }
+
+            // 2. Move released tasks to the ready list
+            while (!pending.isEmpty() && pending.peekKey() <= now) {
+                int v = pending.pop();
+                ready.push(-priority[v], v);
+            }
+
+            // 3. Start ready tasks on free workers
+            while (freeCount > 0 && !ready.isEmpty()) {
+                int v = ready.pop();
+                start[v] = now;
+                worker[v] = freeWorkers[--freeCount];
+                running.push(now + durations[v], v);
+                makespan = Math.max(makespan, now + durations[v]);
+                scheduled++;
+                m.incrementOperations();
+            }
+
+            // 4. Jump to the next event
+            long next = Long.MAX_VALUE;
+            if (!running.isEmpty()) {
+                next = running.peekKey();
+            }
+            if (!pending.isEmpty() && (freeCount > 0 || ready.isEmpty())) {
+                next = Math.min(next, pending.peekKey());
+            }
+            if (next == Long.MAX_VALUE) {
+                break;
+            }
+            now = Math.max(now, next);
+        }
+
+        m.stop();
+
+        long lowerBound = 0;
+        for (long p : priority) {
+            lowerBound = Math.max(lowerBound, p);
+        }
+
+        return new Schedule(start, worker, makespan, lowerBound);
+    }
+
+    /**
+     * Sum task durations inside each SCC (an SCC runs as one unit)
+     */
+    public static int[] sccDurations(List<List<Integer>> sccs, int[] taskDurations) {
+        int[] result = new int[sccs.size()];
+        for (int i = 0; i < sccs.size(); i++) {
+            long sum = 0;
+            for (int v : sccs.get(i)) {
+                sum += taskDurations[v];
+            }
+            result[i] = Math.toIntExact(sum);
+        }
+        return result;
+    }
+
+    /**
+     * Scheduling result
+     */
+    public static class Schedule {
+        public long[] start;     // start time of each node
+        public int[] worker;     // worker assigned to each node
+        public long makespan;    // finish time of the last node
+        public long criticalPath; // lower bound with unlimited workers
+
+        public Schedule(long[] start, int[] worker, long makespan, long criticalPath) {
+            this.start = start;
+            this.worker = worker;
+            this.makespan = makespan;
+            this.criticalPath = criticalPath;
+        }
+    }
+}
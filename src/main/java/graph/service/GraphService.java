@@ -0,0 +1,322 @@
+package graph.service;
+
+import com.google.gson.*;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import graph.Graph;
+import graph.Metrics;
+import graph.dagsp.DAGShortestPath;
+import graph.dagsp.HierarchicalShortestPath;
+import graph.io.GraphJson;
+import java.io.*;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Resident HTTP service: graphs are loaded and analyzed once, then queried
+ * many times without paying JVM startup, JSON parsing or SCC work again.
+ *
+ * Endpoints (GET, parameters in the query string, JSON responses):
+ *
+ *   /graphs                              loaded graphs
+ *   /load?graph=NAME&file=PATH           load (or replace) a dataset file
+ *   /unload?graph=NAME                   drop a graph
+ *   /shortest?graph=&source=[&target=]   distances, or one path
+ *   /critical?graph=                     critical path of the condensation
+ *   /reach?graph=&from=&to=              reachability
+ *   /metrics                             per-endpoint latency
+ *
+ * Requests run on a cached thread pool, so independent queries proceed in
+ * parallel. The server binds to the loopback address only.
+ */
+public class GraphService implements AutoCloseable {
+
+    /**
+     * One endpoint's work: query parameters in, JSON out
+     */
+    private interface Handler {
+        JsonElement handle(Map<String, String> params) throws Exception;
+    }
+
+    private final Map<String, ResidentGraph> graphs = new ConcurrentHashMap<>();
+    private final Map<String, LatencyStats> stats = new ConcurrentSkipListMap<>();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Create a service on a local port (0 picks a free one); call start()
+     */
+    public GraphService(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+
+        endpoint("/graphs", p -> listGraphs());
+        endpoint("/load", p -> describe(load(require(p, "graph"), new File(require(p, "file")))));
+        endpoint("/unload", p -> {
+            String name = require(p, "graph");
+            JsonObject result = new JsonObject();
+            result.addProperty("unloaded", graphs.remove(name) != null);
+            return result;
+        });
+        endpoint("/shortest", this::shortest);
+        endpoint("/critical", this::critical);
+        endpoint("/reach", p -> {
+            ResidentGraph rg = get(require(p, "graph"));
+            JsonObject result = new JsonObject();
+            result.addProperty("reachable", rg.canReach(intParam(p, "from"), intParam(p, "to")));
+            return result;
+        });
+        endpoint("/metrics", p -> metrics());
+    }
+
+    /**
+     * Start answering requests
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Port the service listens on
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stop the server and its worker threads
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Load a dataset file under the given name (replacing an older one)
+     */
+    public ResidentGraph load(String name, File file) throws IOException {
+        return add(name, GraphJson.read(file));
+    }
+
+    /**
+     * Analyze g and serve it under the given name
+     */
+    public ResidentGraph add(String name, Graph g) {
+        ResidentGraph rg = new ResidentGraph(name, g);
+        graphs.put(name, rg);
+        return rg;
+    }
+
+    /**
+     * A loaded graph; throws NoSuchElementException if there is none
+     */
+    public ResidentGraph get(String name) {
+        ResidentGraph rg = graphs.get(name);
+        if (rg == null) {
+            throw new NoSuchElementException("No graph named " + name);
+        }
+        return rg;
+    }
+
+    /**
+     * Latency of an endpoint such as "/shortest" (null if unknown)
+     */
+    public LatencyStats getStats(String endpoint) {
+        return stats.get(endpoint);
+    }
+
+    /**
+     * Register a handler; timing and error replies are handled here
+     */
+    private void endpoint(String path, Handler handler) {
+        LatencyStats latency = new LatencyStats();
+        stats.put(path, latency);
+        server.createContext(path, exchange -> {
+            long start = System.nanoTime();
+            int status = 200;
+            JsonElement body;
+            try {
+                if (!exchange.getRequestURI().getPath().equals(path)) {
+                    throw new NoSuchElementException("Unknown endpoint " + exchange.getRequestURI().getPath());
+                }
+                body = handler.handle(parseQuery(exchange.getRequestURI().getRawQuery()));
+            } catch (IllegalArgumentException | IOException e) {
+                status = 400;
+                body = error(e);
+            } catch (NoSuchElementException e) {
+                status = 404;
+                body = error(e);
+            } catch (Exception e) {
+                status = 500;
+                body = error(e);
+            }
+            // Record before replying, so a client that saw the reply also sees it counted
+            byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+            latency.record(System.nanoTime() - start, status != 200);
+            send(exchange, status, bytes);
+        });
+    }
+
+    private JsonElement listGraphs() {
+        JsonArray result = new JsonArray();
+        for (String name : new TreeSet<>(graphs.keySet())) {
+            ResidentGraph rg = graphs.get(name);
+            if (rg != null) {
+                result.add(describe(rg));
+            }
+        }
+        return result;
+    }
+
+    private JsonObject describe(ResidentGraph rg) {
+        JsonObject result = new JsonObject();
+        result.addProperty("graph", rg.getName());
+        result.addProperty("vertices", rg.getGraph().getN());
+        result.addProperty("edges", rg.getGraph().getEdgeCount());
+        result.addProperty("sccs", rg.getSCCs().size());
+        result.addProperty("load_time_ms", rg.getLoadTimeMs());
+        return result;
+    }
+
+    private JsonElement shortest(Map<String, String> p) {
+        ResidentGraph rg = get(require(p, "graph"));
+        int source = intParam(p, "source");
+        Metrics m = new Metrics();
+        JsonObject result = new JsonObject();
+        result.addProperty("source", source);
+
+        if (p.containsKey("target")) {
+            int target = intParam(p, "target");
+            DAGShortestPath.PathResult path = rg.shortestPath(source, target, m);
+            result.addProperty("target", target);
+            if (path == null) {
+                result.add("distance", JsonNull.INSTANCE);
+                result.add("path", new JsonArray());
+            } else {
+                result.addProperty("distance", path.length);
+                result.add("path", toJson(path.path));
+            }
+        } else {
+            int[] dist = rg.shortestPaths(source, m);
+            JsonArray distances = new JsonArray();
+            for (int d : dist) {
+                if (d == HierarchicalShortestPath.UNREACHABLE) {
+                    distances.add(JsonNull.INSTANCE);
+                } else {
+                    distances.add(d);
+                }
+            }
+            result.add("distances", distances);
+        }
+        result.addProperty("compute_ms", m.getElapsedTimeMs());
+        return result;
+    }
+
+    private JsonElement critical(Map<String, String> p) {
+        ResidentGraph rg = get(require(p, "graph"));
+        JsonObject result = new JsonObject();
+        result.addProperty("length", rg.getCriticalPath().length);
+        result.add("scc_path", toJson(rg.getCriticalPath().path));
+        JsonArray members = new JsonArray();
+        for (int c : rg.getCriticalPath().path) {
+            members.add(toJson(rg.getSCCs().get(c)));
+        }
+        result.add("scc_members", members);
+        return result;
+    }
+
+    private JsonElement metrics() {
+        JsonObject result = new JsonObject();
+        for (Map.Entry<String, LatencyStats> e : stats.entrySet()) {
+            LatencyStats s = e.getValue();
+            JsonObject entry = new JsonObject();
+            entry.addProperty("count", s.getCount());
+            entry.addProperty("errors", s.getErrors());
+            entry.addProperty("mean_ms", s.getMeanMs());
+            entry.addProperty("p50_ms", s.getPercentileMs(0.50));
+            entry.addProperty("p99_ms", s.getPercentileMs(0.99));
+            entry.addProperty("max_ms", s.getMaxMs());
+            result.add(e.getKey(), entry);
+        }
+        return result;
+    }
+
+    private static JsonArray toJson(List<Integer> values) {
+        JsonArray array = new JsonArray();
+        for (int v : values) {
+            array.add(v);
+        }
+        return array;
+    }
+
+    private static JsonObject error(Exception e) {
+        JsonObject result = new JsonObject();
+        result.addProperty("error", e.getMessage() == null ? e.toString() : e.getMessage());
+        return result;
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] bytes) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static String require(Map<String, String> params, String key) {
+        String value = params.get(key);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing parameter: " + key);
+        }
+        return value;
+    }
+
+    private static int intParam(Map<String, String> params, String key) {
+        String value = require(params, key);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + key + " is not an integer: " + value);
+        }
+    }
+
+    /**
+     * Usage: GraphService [port] [name=file.json ...]
+     * Runs until the process is stopped.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        GraphService service = new GraphService(port);
+        for (int i = 1; i < args.length; i++) {
+            int eq = args[i].indexOf('=');
+            if (eq <= 0) {
+                System.err.println("Expected name=file, got: " + args[i]);
+                service.close();
+                return;
+            }
+            ResidentGraph rg = service.load(args[i].substring(0, eq), new File(args[i].substring(eq + 1)));
+            System.out.printf("Loaded %s: %d vertices, %d SCCs (%.3f ms)%n", rg.getName(),
+                    rg.getGraph().getN(), rg.getSCCs().size(), rg.getLoadTimeMs());
+        }
+        service.start();
+        System.out.println("Listening on http://localhost:" + service.getPort() + "/");
+    }
+}
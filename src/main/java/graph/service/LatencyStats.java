@@ -0,0 +1,91 @@
+package graph.service;
+
+import java.util.concurrent.atomic.*;
+
+/**
+ * Latency counters for one endpoint, safe to update from many threads.
+ *
+ * Besides count, mean and max, latencies are kept in a log2 histogram
+ * (bucket b holds [2^(b-1), 2^b) microseconds), so percentiles cost a
+ * fixed 40 counters instead of a list of all samples. A percentile is
+ * reported as its bucket's upper bound, i.e. within a factor of two.
+ */
+public class LatencyStats {
+    private static final int BUCKETS = 40;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Record one request
+     */
+    public void record(long nanos, boolean error) {
+        count.increment();
+        if (error) {
+            errors.increment();
+        }
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+        long micros = nanos / 1000;
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        histogram.incrementAndGet(bucket);
+    }
+
+    /**
+     * Number of requests recorded
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Number of requests that failed
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * Mean latency in milliseconds (0 if nothing was recorded)
+     */
+    public double getMeanMs() {
+        long c = count.sum();
+        return c == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / c;
+    }
+
+    /**
+     * Largest latency in milliseconds
+     */
+    public double getMaxMs() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Approximate latency percentile in milliseconds (p in [0, 1])
+     */
+    public double getPercentileMs(double p) {
+        long total = 0;
+        long[] counts = new long[BUCKETS];
+        for (int b = 0; b < BUCKETS; b++) {
+            counts[b] = histogram.get(b);
+            total += counts[b];
+        }
+        if (total == 0) {
+            return 0.0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(p * total));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts[b];
+            if (seen >= rank) {
+                double upperMs = (1L << b) / 1000.0;
+                return Math.min(upperMs, getMaxMs());
+            }
+        }
+        return getMaxMs();
+    }
+}
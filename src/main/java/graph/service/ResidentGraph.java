@@ -0,0 +1,169 @@
+package graph.service;
+
+import graph.Graph;
+import graph.Metrics;
+import graph.dagsp.DAGShortestPath;
+import graph.dagsp.HierarchicalShortestPath;
+import graph.reach.ReachabilityIndex;
+import graph.scc.CondensationGraph;
+import graph.scc.SCCSelector;
+import graph.topo.TopologicalSort;
+import java.util.*;
+
+/**
+ * A loaded graph together with everything queries need, computed once:
+ * SCCs, condensation, its topological order, the critical path and a
+ * reachability index.
+ *
+ * Queries may run concurrently. The cached results are never modified
+ * after construction; shortest-path queries use one
+ * HierarchicalShortestPath per thread (it keeps per-query state), and
+ * reachability queries that fall back to a search share the index's
+ * workspace, so they are serialized.
+ */
+public class ResidentGraph {
+    private final String name;
+    private final Graph graph;
+    private final List<List<Integer>> sccs;
+    private final int[] vertexToSCC;
+    private final Graph condensation;
+    private final List<Integer> topoOrder; // condensation nodes
+    private final DAGShortestPath.PathResult criticalPath; // over condensation nodes
+    private final ReachabilityIndex reach;
+    private final String pathError; // why shortest paths are unavailable, or null
+    private final ThreadLocal<HierarchicalShortestPath> paths;
+    private final double loadTimeMs;
+
+    /**
+     * Analyze g; the graph must not be modified afterwards
+     */
+    public ResidentGraph(String name, Graph g) {
+        long start = System.nanoTime();
+        this.name = name;
+        this.graph = g;
+
+        sccs = Collections.unmodifiableList(new SCCSelector().findSCCs(g, new Metrics()));
+        CondensationGraph cg = new CondensationGraph();
+        condensation = cg.build(g, sccs);
+        vertexToSCC = new int[g.getN()];
+        for (int v = 0; v < g.getN(); v++) {
+            vertexToSCC[v] = cg.getVertexSCC(v);
+        }
+        topoOrder = Collections.unmodifiableList(new TopologicalSort().sort(condensation, new Metrics()));
+        criticalPath = new DAGShortestPath().longestPath(condensation, new Metrics());
+
+        reach = new ReachabilityIndex();
+        reach.build(cg, new Metrics());
+
+        // Validate once so a bad graph fails here, not in every worker thread
+        String error = null;
+        try {
+            new HierarchicalShortestPath(g, sccs);
+        } catch (IllegalArgumentException e) {
+            error = e.getMessage();
+        }
+        pathError = error;
+        paths = ThreadLocal.withInitial(() -> new HierarchicalShortestPath(g, sccs));
+
+        loadTimeMs = (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+    /**
+     * Shortest distance from source to every vertex
+     * (HierarchicalShortestPath.UNREACHABLE if none)
+     */
+    public int[] shortestPaths(int source, Metrics m) {
+        checkVertex(source);
+        checkPaths();
+        return paths.get().shortestPaths(source, m);
+    }
+
+    /**
+     * Shortest path from source to target, or null if target is unreachable
+     */
+    public DAGShortestPath.PathResult shortestPath(int source, int target, Metrics m) {
+        checkVertex(source);
+        checkVertex(target);
+        checkPaths();
+        HierarchicalShortestPath sp = paths.get();
+        int[] dist = sp.shortestPaths(source, m);
+        if (dist[target] == HierarchicalShortestPath.UNREACHABLE) {
+            return null;
+        }
+        return new DAGShortestPath.PathResult(sp.reconstructPath(target), dist[target]);
+    }
+
+    /**
+     * Check whether vertex u reaches vertex v
+     */
+    public boolean canReach(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        if (reach.usesClosure()) {
+            return reach.canReach(u, v);
+        }
+        synchronized (reach) {
+            return reach.canReach(u, v);
+        }
+    }
+
+    private void checkVertex(int v) {
+        if (v < 0 || v >= graph.getN()) {
+            throw new IllegalArgumentException("Vertex " + v + " out of range [0, " + graph.getN() + ")");
+        }
+    }
+
+    private void checkPaths() {
+        if (pathError != null) {
+            throw new IllegalArgumentException("Shortest paths unavailable: " + pathError);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * SCCs in reverse topological order
+     */
+    public List<List<Integer>> getSCCs() {
+        return sccs;
+    }
+
+    /**
+     * SCC index of vertex v
+     */
+    public int getSCC(int v) {
+        checkVertex(v);
+        return vertexToSCC[v];
+    }
+
+    public Graph getCondensation() {
+        return condensation;
+    }
+
+    /**
+     * Topological order of the condensation nodes
+     */
+    public List<Integer> getTopologicalOrder() {
+        return topoOrder;
+    }
+
+    /**
+     * Critical path over condensation nodes
+     */
+    public DAGShortestPath.PathResult getCriticalPath() {
+        return criticalPath;
+    }
+
+    /**
+     * Time spent computing the cached results
+     */
+    public double getLoadTimeMs() {
+        return loadTimeMs;
+    }
+}
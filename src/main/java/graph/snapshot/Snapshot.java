@@ -0,0 +1,193 @@
+package graph.snapshot;
+
+import graph.Graph;
+import graph.GraphBuilder;
+import java.util.*;
+
+/**
+ * Immutable view of a SnapshotGraph at one version. Safe to share between
+ * threads without locking; later writes never change it.
+ *
+ * Vertices are grouped into leaves of LEAF_SIZE vertices, each a small CSR
+ * block, and leaves hang off a persistent trie with FANOUT children per
+ * node. A new version copies only the leaves it changes plus their paths
+ * to the root; everything else is shared with the previous snapshot.
+ */
+public final class Snapshot {
+    static final int SHIFT = 5;
+    static final int FANOUT = 1 << SHIFT;  // children per trie node
+    static final int LEAF_SIZE = 32;       // vertices per leaf
+
+    /**
+     * Edges of LEAF_SIZE consecutive vertices in CSR form
+     */
+    static final class Leaf {
+        final int[] offsets; // local: edges of vertex base + i are [offsets[i], offsets[i + 1])
+        final int[] targets;
+        final int[] weights;
+
+        Leaf(int[] offsets, int[] targets, int[] weights) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+        }
+    }
+
+    private final int n;
+    private final long version;
+    private final Object root;   // Object[] for inner nodes, Leaf at depth 0
+    private final int depth;     // trie levels above the leaves
+    private final int edgeCount;
+    private final int[] nodeWeights; // shared, never modified (null if unused)
+    private volatile Graph graph;    // materialized on first asGraph()
+
+    Snapshot(int n, long version, Object root, int depth, int edgeCount, int[] nodeWeights) {
+        this.n = n;
+        this.version = version;
+        this.root = root;
+        this.depth = depth;
+        this.edgeCount = edgeCount;
+        this.nodeWeights = nodeWeights;
+    }
+
+    /**
+     * Leaf holding vertex v
+     */
+    Leaf leaf(int v) {
+        return leafAt(v / LEAF_SIZE);
+    }
+
+    Leaf leafAt(int index) {
+        Object node = root;
+        for (int level = depth; level > 0; level--) {
+            node = ((Object[]) node)[(index >>> ((level - 1) * SHIFT)) & (FANOUT - 1)];
+        }
+        return (Leaf) node;
+    }
+
+    Object getRoot() {
+        return root;
+    }
+
+    int getDepth() {
+        return depth;
+    }
+
+    int[] nodeWeights() {
+        return nodeWeights;
+    }
+
+    /**
+     * Version number; every applied batch increments it
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Get number of vertices
+     */
+    public int getN() {
+        return n;
+    }
+
+    /**
+     * Get number of edges
+     */
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Get number of edges leaving v
+     */
+    public int getOutDegree(int v) {
+        checkVertex(v);
+        Leaf leaf = leaf(v);
+        int i = v % LEAF_SIZE;
+        return leaf.offsets[i + 1] - leaf.offsets[i];
+    }
+
+    /**
+     * Read-only list of the edges leaving v
+     */
+    public List<Graph.Edge> getNeighbors(int v) {
+        checkVertex(v);
+        Leaf leaf = leaf(v);
+        int i = v % LEAF_SIZE;
+        int start = leaf.offsets[i];
+        int size = leaf.offsets[i + 1] - start;
+        return new AbstractList<Graph.Edge>() {
+            @Override
+            public Graph.Edge get(int k) {
+                if (k < 0 || k >= size) {
+                    throw new IndexOutOfBoundsException("Index " + k + " out of range [0, " + size + ")");
+                }
+                return new Graph.Edge(leaf.targets[start + k], leaf.weights[start + k]);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Get the weight of vertex v (0 if the graph has no node weights)
+     */
+    public int getNodeWeight(int v) {
+        return nodeWeights == null ? 0 : nodeWeights[v];
+    }
+
+    /**
+     * This version as a frozen Graph, for running the usual algorithms.
+     * Built once per snapshot in O(n + m), on first use
+     */
+    public Graph asGraph() {
+        Graph result = graph;
+        if (result == null) {
+            synchronized (this) {
+                result = graph;
+                if (result == null) {
+                    result = materialize();
+                    graph = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private Graph materialize() {
+        int[] us = new int[edgeCount];
+        int[] vs = new int[edgeCount];
+        int[] ws = new int[edgeCount];
+        int pos = 0;
+        int leaves = (n + LEAF_SIZE - 1) / LEAF_SIZE;
+        for (int l = 0; l < leaves; l++) {
+            Leaf leaf = leafAt(l);
+            int base = l * LEAF_SIZE;
+            int count = leaf.targets.length;
+            for (int i = 0; i + 1 < leaf.offsets.length; i++) {
+                Arrays.fill(us, pos + leaf.offsets[i], pos + leaf.offsets[i + 1], base + i);
+            }
+            System.arraycopy(leaf.targets, 0, vs, pos, count);
+            System.arraycopy(leaf.weights, 0, ws, pos, count);
+            pos += count;
+        }
+
+        GraphBuilder builder = new GraphBuilder(n, edgeCount).addEdges(us, vs, ws);
+        if (nodeWeights != null) {
+            for (int v = 0; v < n; v++) {
+                builder.setNodeWeight(v, nodeWeights[v]);
+            }
+        }
+        return builder.build();
+    }
+
+    private void checkVertex(int v) {
+        if (v < 0 || v >= n) {
+            throw new IndexOutOfBoundsException("Vertex " + v + " out of range [0, " + n + ")");
+        }
+    }
+}
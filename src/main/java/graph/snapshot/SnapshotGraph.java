@@ -0,0 +1,189 @@
+package graph.snapshot;
+
+import graph.Graph;
+import graph.Metrics;
+import graph.io.DeltaLog.Delta;
+import java.util.*;
+
+/**
+ * A graph that one writer changes in batches while any number of readers
+ * work on consistent, immutable snapshots, without locks on the read side.
+ *
+ * snapshot() is a single volatile read. apply() builds the next version by
+ * copy-on-write: only the leaves (LEAF_SIZE vertices each) touched by the
+ * batch and the trie nodes above them are copied, so publishing a version
+ * costs O(changed leaves * (LEAF_SIZE + depth)), not O(n + m). A batch is
+ * atomic: readers see all of it or none of it.
+ */
+public class SnapshotGraph {
+    private volatile Snapshot current;
+
+    /**
+     * Start from a copy of g (version 0); node weights are kept as they are
+     */
+    public SnapshotGraph(Graph g) {
+        int n = g.getN();
+        int[] off = g.getOffsets();
+        int[] tgt = g.getTargets();
+        int[] wgt = g.getWeights();
+
+        int leafCount = Math.max(1, (n + Snapshot.LEAF_SIZE - 1) / Snapshot.LEAF_SIZE);
+        List<Object> level = new ArrayList<>(leafCount);
+        for (int l = 0; l < leafCount; l++) {
+            int base = l * Snapshot.LEAF_SIZE;
+            int size = Math.max(0, Math.min(Snapshot.LEAF_SIZE, n - base));
+            int[] offsets = new int[size + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[i + 1] = off[base + i + 1] - off[base];
+            }
+            int from = size == 0 ? 0 : off[base];
+            int to = size == 0 ? 0 : off[base + size];
+            level.add(new Snapshot.Leaf(offsets, Arrays.copyOfRange(tgt, from, to), Arrays.copyOfRange(wgt, from, to)));
+        }
+
+        // Group FANOUT nodes per parent until one root is left
+        int depth = 0;
+        while (level.size() > 1) {
+            List<Object> parents = new ArrayList<>();
+            for (int i = 0; i < level.size(); i += Snapshot.FANOUT) {
+                parents.add(level.subList(i, Math.min(level.size(), i + Snapshot.FANOUT)).toArray());
+            }
+            level = parents;
+            depth++;
+        }
+
+        int[] nodeWeights = null;
+        if (g.hasNodeWeights()) {
+            nodeWeights = new int[n];
+            for (int v = 0; v < n; v++) {
+                nodeWeights[v] = g.getNodeWeight(v);
+            }
+        }
+        current = new Snapshot(n, 0, level.get(0), depth, off[n], nodeWeights);
+    }
+
+    /**
+     * The latest published version
+     */
+    public Snapshot snapshot() {
+        return current;
+    }
+
+    /**
+     * Apply a batch of edge changes in order and publish the result as a new
+     * version. Added edges go after the existing edges of their source;
+     * a removal drops the first matching edge. If a removal has no matching
+     * edge, IllegalArgumentException is thrown and nothing is published.
+     */
+    public synchronized Snapshot apply(List<Delta> batch, Metrics m) {
+        Snapshot base = current;
+        int n = base.getN();
+
+        m.start();
+
+        // Group the changes by leaf, keeping their order within a leaf
+        Map<Integer, List<Delta>> byLeaf = new TreeMap<>();
+        for (Delta d : batch) {
+            checkVertex(d.u, n);
+            checkVertex(d.v, n);
+            byLeaf.computeIfAbsent(d.u / Snapshot.LEAF_SIZE, k -> new ArrayList<>()).add(d);
+        }
+
+        Object root = base.getRoot();
+        int depth = base.getDepth();
+        int edgeCount = base.getEdgeCount();
+        Set<Object> fresh = Collections.newSetFromMap(new IdentityHashMap<>()); // nodes copied for this batch
+
+        for (Map.Entry<Integer, List<Delta>> entry : byLeaf.entrySet()) {
+            int index = entry.getKey();
+            Snapshot.Leaf old = base.leafAt(index);
+            Snapshot.Leaf leaf = rebuild(old, index * Snapshot.LEAF_SIZE, entry.getValue(), m);
+            edgeCount += leaf.targets.length - old.targets.length;
+            root = setLeaf(root, depth, index, leaf, fresh);
+        }
+
+        Snapshot next = new Snapshot(n, base.getVersion() + 1, root, depth, edgeCount, base.nodeWeights());
+        current = next;
+
+        m.stop();
+        m.setValue("copied_leaves", byLeaf.size());
+        m.setValue("copied_nodes", fresh.size());
+
+        return next;
+    }
+
+    /**
+     * Copy of a leaf with the changes applied
+     */
+    private static Snapshot.Leaf rebuild(Snapshot.Leaf leaf, int base, List<Delta> changes, Metrics m) {
+        int size = leaf.offsets.length - 1;
+        List<List<Graph.Edge>> edges = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            List<Graph.Edge> out = new ArrayList<>();
+            for (int e = leaf.offsets[i]; e < leaf.offsets[i + 1]; e++) {
+                out.add(new Graph.Edge(leaf.targets[e], leaf.weights[e]));
+            }
+            edges.add(out);
+        }
+
+        for (Delta d : changes) {
+            List<Graph.Edge> out = edges.get(d.u - base);
+            if (d.add) {
+                out.add(new Graph.Edge(d.v, d.w));
+            } else if (!removeFirst(out, d.v)) {
+                throw new IllegalArgumentException("No edge " + d.u + "→" + d.v + " to remove");
+            }
+            m.incrementOperations();
+        }
+
+        int[] offsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] = offsets[i] + edges.get(i).size();
+        }
+        int[] targets = new int[offsets[size]];
+        int[] weights = new int[offsets[size]];
+        for (int i = 0; i < size; i++) {
+            int pos = offsets[i];
+            for (Graph.Edge e : edges.get(i)) {
+                targets[pos] = e.to;
+                weights[pos] = e.weight;
+                pos++;
+            }
+        }
+        return new Snapshot.Leaf(offsets, targets, weights);
+    }
+
+    private static boolean removeFirst(List<Graph.Edge> out, int v) {
+        for (int i = 0; i < out.size(); i++) {
+            if (out.get(i).to == v) {
+                out.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replace the leaf at index below node, copying nodes on the way down
+     * unless they were already copied for this batch
+     */
+    private static Object setLeaf(Object node, int level, int index, Snapshot.Leaf leaf, Set<Object> fresh) {
+        if (level == 0) {
+            return leaf;
+        }
+        Object[] children = (Object[]) node;
+        if (!fresh.contains(children)) {
+            children = children.clone();
+            fresh.add(children);
+        }
+        int slot = (index >>> ((level - 1) * Snapshot.SHIFT)) & (Snapshot.FANOUT - 1);
+        children[slot] = setLeaf(children[slot], level - 1, index, leaf, fresh);
+        return children;
+    }
+
+    private static void checkVertex(int v, int n) {
+        if (v < 0 || v >= n) {
+            throw new IndexOutOfBoundsException("Vertex " + v + " out of range [0, " + n + ")");
+        }
+    }
+}
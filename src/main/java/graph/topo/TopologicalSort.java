@@ -1,5 +1,6 @@
 package graph.topo;
 
+import graph.CompressedGraph;
 import graph.Graph;
 import graph.Metrics;
 import java.util.*;
@@ -9,60 +10,276 @@ import java.util.*;
  */
 public class TopologicalSort {
 
+    /**
+     * How sort(g, mode, m) handles a cycle
+     */
+    public enum Mode {
+        FULL,      // Kahn's algorithm; on a cycle, extract one from the leftover vertices
+        FAIL_FAST  // DFS that stops at the first back edge (the order is reverse postorder)
+    }
+
     /**
      * Perform topological sort on a DAG
      * Returns null if graph has a cycle
      */
     public List<Integer> sort(Graph g, Metrics m) {
+        return kahn(g, false, m).getOrder();
+    }
+
+    /**
+     * Topological sort that explains a failure: the result holds either an
+     * order or one concrete cycle
+     */
+    public Result sort(Graph g, Mode mode, Metrics m) {
+        return mode == Mode.FULL ? kahn(g, true, m) : failFast(g, m);
+    }
+
+    /**
+     * Kahn's algorithm; with witness, a cycle is extracted from the leftover vertices
+     */
+    private Result kahn(Graph g, boolean witness, Metrics m) {
         int n = g.getN();
-        int[] inDegree = new int[n];
 
         m.start();
 
         // Calculate in-degree for each vertex
-        for (int u = 0; u < n; u++) {
-            for (Graph.Edge edge : g.getNeighbors(u)) {
-                inDegree[edge.to]++;
-            }
-        }
+        int[] inDegree = inDegrees(g);
 
-        // Queue for vertices with in-degree 0
-        Queue<Integer> queue = new LinkedList<>();
+        // Queue for vertices with in-degree 0 (every vertex enters at most once)
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
         for (int i = 0; i < n; i++) {
             if (inDegree[i] == 0) {
-                queue.add(i);
+                queue[tail++] = i;
             }
         }
 
-        List<Integer> result = new ArrayList<>();
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
 
         // Process vertices
-        while (!queue.isEmpty()) {
-            int u = queue.poll();
-            result.add(u);
+        while (head < tail) {
+            int u = queue[head++];
             m.incrementOperations();
 
             // Reduce in-degree for neighbors
-            for (Graph.Edge edge : g.getNeighbors(u)) {
-                int v = edge.to;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
                 inDegree[v]--;
 
                 if (inDegree[v] == 0) {
-                    queue.add(v);
+                    queue[tail++] = v;
                 }
             }
         }
 
+        // Check if all vertices are included (no cycle)
+        if (tail != n) {
+            List<Integer> cycle = witness ? leftoverCycle(g, inDegree) : null;
+            m.stop();
+            return new Result(null, cycle);
+        }
+
         m.stop();
 
-        // Check if all vertices are included (no cycle)
-        if (result.size() != n) {
+        List<Integer> result = new ArrayList<>(n);
+        for (int v : queue) {
+            result.add(v);
+        }
+        return new Result(result, null);
+    }
+
+    /**
+     * After Kahn stalls, every leftover vertex (in-degree still > 0) has a
+     * leftover predecessor. Walking from one leftover vertex to a leftover
+     * predecessor must therefore repeat a vertex, closing a cycle; the walk
+     * only reads in-edges of leftover vertices.
+     */
+    private List<Integer> leftoverCycle(Graph g, int[] inDegree) {
+        int[] rOff = g.getReverseOffsets();
+        int[] rSrc = g.getReverseSources();
+
+        int v = 0;
+        while (inDegree[v] == 0) {
+            v++;
+        }
+
+        Map<Integer, Integer> position = new HashMap<>(); // vertex → index in walk
+        List<Integer> walk = new ArrayList<>();
+        while (!position.containsKey(v)) {
+            position.put(v, walk.size());
+            walk.add(v);
+            int next = -1;
+            for (int e = rOff[v]; e < rOff[v + 1] && next == -1; e++) {
+                if (inDegree[rSrc[e]] > 0) {
+                    next = rSrc[e];
+                }
+            }
+            v = next;
+        }
+
+        // The walk follows edges backwards: reverse it into edge direction
+        List<Integer> cycle = new ArrayList<>(walk.subList(position.get(v), walk.size()));
+        Collections.reverse(cycle);
+        return cycle;
+    }
+
+    /**
+     * Iterative DFS that returns at the first back edge with the cycle on
+     * the DFS stack; on a DAG the order is the reverse postorder
+     */
+    private Result failFast(Graph g, Metrics m) {
+        int n = g.getN();
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+
+        m.start();
+
+        byte[] state = new byte[n]; // 0 = new, 1 = on the DFS stack, 2 = finished
+        int[] stack = new int[n];
+        int[] edge = new int[n];   // next edge to scan for each stack entry
+        int[] post = new int[n];
+        int finished = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (state[root] != 0) {
+                continue;
+            }
+            int top = 0;
+            stack[0] = root;
+            edge[0] = offsets[root];
+            state[root] = 1;
+            m.incrementOperations();
+
+            while (top >= 0) {
+                int u = stack[top];
+                if (edge[top] < offsets[u + 1]) {
+                    int v = targets[edge[top]++];
+                    if (state[v] == 1) {
+                        // Back edge u → v: the stack from v up to u is a cycle
+                        List<Integer> cycle = new ArrayList<>();
+                        int i = top;
+                        while (stack[i] != v) {
+                            i--;
+                        }
+                        for (; i <= top; i++) {
+                            cycle.add(stack[i]);
+                        }
+                        m.stop();
+                        return new Result(null, cycle);
+                    }
+                    if (state[v] == 0) {
+                        state[v] = 1;
+                        stack[++top] = v;
+                        edge[top] = offsets[v];
+                        m.incrementOperations();
+                    }
+                } else {
+                    state[u] = 2;
+                    post[finished++] = u;
+                    top--;
+                }
+            }
+        }
+
+        m.stop();
+
+        List<Integer> order = new ArrayList<>(n);
+        for (int i = n - 1; i >= 0; i--) {
+            order.add(post[i]);
+        }
+        return new Result(order, null);
+    }
+
+    /**
+     * Outcome of a topological sort: an order, or a cycle
+     */
+    public static class Result {
+        private final List<Integer> order;
+        private final List<Integer> cycle;
+
+        Result(List<Integer> order, List<Integer> cycle) {
+            this.order = order;
+            this.cycle = cycle;
+        }
+
+        /**
+         * Check if the graph is a DAG
+         */
+        public boolean isAcyclic() {
+            return order != null;
+        }
+
+        /**
+         * Topological order, or null if the graph has a cycle
+         */
+        public List<Integer> getOrder() {
+            return order;
+        }
+
+        /**
+         * Vertices of one cycle, each with an edge to the next and the last
+         * with an edge to the first; null for a DAG (and for plain sort())
+         */
+        public List<Integer> getCycle() {
+            return cycle;
+        }
+    }
+
+    /**
+     * Topological sort of a compressed graph, decoding each edge list once
+     * Returns null if graph has a cycle
+     */
+    public List<Integer> sort(CompressedGraph g, Metrics m) {
+        int n = g.getN();
+
+        m.start();
+
+        int[] inDegree = g.inDegrees();
+
+        // Array queue: every vertex enters at most once
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < n; i++) {
+            if (inDegree[i] == 0) {
+                queue[tail++] = i;
+            }
+        }
+
+        CompressedGraph.EdgeCursor c = g.cursor();
+        while (head < tail) {
+            int u = queue[head++];
+            m.incrementOperations();
+            for (c.reset(u); c.next(); ) {
+                if (--inDegree[c.target()] == 0) {
+                    queue[tail++] = c.target();
+                }
+            }
+        }
+
+        m.stop();
+
+        if (tail != n) {
             return null; // Graph has cycle
         }
 
+        List<Integer> result = new ArrayList<>(n);
+        for (int v : queue) {
+            result.add(v);
+        }
         return result;
     }
 
+    /**
+     * Calculate in-degree for each vertex
+     * Returns a fresh copy of the graph's cached in-degrees, safe to modify
+     */
+    public int[] inDegrees(Graph g) {
+        return g.getInDegrees().clone();
+    }
+
     /**
      * Get topological order for original vertices based on SCC order
      */
@@ -0,0 +1,105 @@
+package graph.util;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of (long key, int value) pairs stored in primitive arrays.
+ * Avoids boxing in the hot loops of the path and scheduling engines.
+ */
+public class LongMinHeap {
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    public LongMinHeap() {
+        this(16);
+    }
+
+    public LongMinHeap(int capacity) {
+        capacity = Math.max(capacity, 1);
+        keys = new long[capacity];
+        values = new int[capacity];
+    }
+
+    /**
+     * Insert a value with the given key
+     */
+    public void push(long key, int value) {
+        if (size == keys.length) {
+            int newCap = size * 2;
+            keys = Arrays.copyOf(keys, newCap);
+            values = Arrays.copyOf(values, newCap);
+        }
+
+        // Sift up
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            keys[i] = keys[parent];
+            values[i] = values[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    /**
+     * Smallest key (heap must not be empty)
+     */
+    public long peekKey() {
+        return keys[0];
+    }
+
+    /**
+     * Value of the smallest key (heap must not be empty)
+     */
+    public int peekValue() {
+        return values[0];
+    }
+
+    /**
+     * Remove the smallest entry and return its value
+     */
+    public int pop() {
+        int top = values[0];
+        size--;
+        if (size > 0) {
+            long key = keys[size];
+            int value = values[size];
+
+            // Sift down
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (key <= keys[child]) {
+                    break;
+                }
+                keys[i] = keys[child];
+                values[i] = values[child];
+                i = child;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+        return top;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,86 @@
+package graph;
+
+import graph.bench.GraphGenerator;
+import graph.dagsp.*;
+import graph.dagsp.AllPairsDAG.Mode;
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import java.io.*;
+
+/**
+ * Unit tests for the all-pairs DAG matrix
+ */
+public class AllPairsDAGTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void testShortestRowsMatchSingleSource() {
+        Graph g = GraphGenerator.dag(200, 3, 6);
+        try (AllPairsDAG all = new AllPairsDAG(g, Mode.SHORTEST)) {
+            Metrics m = new Metrics();
+            all.computeAll(m);
+            assertEquals(200.0, m.getValue("rows_computed"), 0.0);
+            for (int s = 0; s < g.getN(); s += 7) {
+                assertArrayEquals(new DAGShortestPath().shortestPaths(g, s, new Metrics()), all.row(s));
+            }
+        }
+    }
+
+    @Test
+    public void testLongestViaNegatedShortest() {
+        Graph g = GraphGenerator.dag(150, 3, 9);
+        GraphBuilder neg = new GraphBuilder(g.getN());
+        int[] off = g.getOffsets();
+        for (int u = 0; u < g.getN(); u++) {
+            for (int e = off[u]; e < off[u + 1]; e++) {
+                neg.addEdge(u, g.getTargets()[e], -g.getWeights()[e]);
+            }
+        }
+        Graph negated = neg.build();
+
+        try (AllPairsDAG all = new AllPairsDAG(g, Mode.LONGEST)) {
+            for (int s = 0; s < g.getN(); s += 11) {
+                int[] expected = new DAGShortestPath().shortestPaths(negated, s, new Metrics());
+                for (int t = 0; t < g.getN(); t++) {
+                    if (expected[t] == Integer.MAX_VALUE / 2) {
+                        assertEquals(all.getUnreachable(), all.get(s, t));
+                    } else {
+                        assertEquals(-expected[t], all.get(s, t));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLazyRows() {
+        Graph g = GraphGenerator.dag(50, 2, 3);
+        try (AllPairsDAG all = new AllPairsDAG(g, Mode.SHORTEST)) {
+            all.get(4, 10);
+            assertTrue(all.isComputed(4));
+            assertFalse(all.isComputed(5));
+        }
+    }
+
+    @Test
+    public void testFileBackedMatchesHeap() throws IOException {
+        Graph g = GraphGenerator.dag(120, 3, 4);
+        File file = tmp.newFile("apsp.bin");
+        try (AllPairsDAG heap = new AllPairsDAG(g, Mode.SHORTEST);
+             AllPairsDAG mapped = new AllPairsDAG(g, Mode.SHORTEST, file)) {
+            mapped.computeAll(new Metrics());
+            for (int s = 0; s < g.getN(); s++) {
+                assertArrayEquals(heap.row(s), mapped.row(s));
+            }
+        }
+        assertEquals(4L * 120 * 120, file.length());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCycleRejected() {
+        new AllPairsDAG(new GraphBuilder(2).addEdge(0, 1, 1).addEdge(1, 0, 1).build(), Mode.SHORTEST);
+    }
+}
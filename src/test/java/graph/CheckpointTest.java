@@ -0,0 +1,101 @@
+package graph;
+
+import graph.io.Checkpoint;
+import graph.scc.*;
+import graph.topo.*;
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Unit tests for pipeline checkpoints
+ */
+public class CheckpointTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private Graph sample() {
+        return new GraphBuilder(5)
+                .addEdge(0, 1, 2).addEdge(1, 0, 1)
+                .addEdge(1, 2, 3).addEdge(2, 3, 4).addEdge(3, 4, 1)
+                .setNodeWeight(4, 6)
+                .build();
+    }
+
+    private File saveFull(Graph g) throws IOException {
+        List<List<Integer>> sccs = new TarjanSCC().findSCCs(g, new Metrics());
+        Graph dag = new CondensationGraph().build(g, sccs);
+        Checkpoint c = new Checkpoint(Checkpoint.fingerprint(g));
+        c.setSCCs(sccs);
+        c.setCondensation(dag);
+        c.setOrder(new TopologicalSort().sort(dag, new Metrics()));
+        File file = new File(tmp.getRoot(), "g.ckpt");
+        c.save(file);
+        return file;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Graph g = sample();
+        List<List<Integer>> sccs = new TarjanSCC().findSCCs(g, new Metrics());
+        Graph dag = new CondensationGraph().build(g, sccs);
+        File file = saveFull(g);
+
+        Checkpoint c = Checkpoint.load(file, Checkpoint.fingerprint(g));
+        assertEquals(sccs, c.getSCCs());
+        assertArrayEquals(dag.getOffsets(), c.getCondensation().getOffsets());
+        assertArrayEquals(dag.getTargets(), c.getCondensation().getTargets());
+        assertArrayEquals(dag.getWeights(), c.getCondensation().getWeights());
+        assertEquals(6, c.getCondensation().getNodeWeight(c.vertexToSCC(5)[4]));
+        assertEquals(new TopologicalSort().sort(dag, new Metrics()), c.getOrder());
+    }
+
+    @Test
+    public void testPartialCheckpoint() throws IOException {
+        Graph g = sample();
+        Checkpoint c = new Checkpoint(Checkpoint.fingerprint(g));
+        c.setSCCs(new TarjanSCC().findSCCs(g, new Metrics()));
+        File file = new File(tmp.getRoot(), "p.ckpt");
+        c.save(file);
+
+        Checkpoint loaded = Checkpoint.load(file, c.getFingerprint());
+        assertNotNull(loaded.getSCCs());
+        assertNull(loaded.getCondensation());
+        assertNull(loaded.getOrder());
+    }
+
+    @Test
+    public void testMissingFile() throws IOException {
+        assertNull(Checkpoint.load(new File(tmp.getRoot(), "none.ckpt"), 1));
+    }
+
+    @Test(expected = IOException.class)
+    public void testCorruptionDetected() throws IOException {
+        Graph g = sample();
+        File file = saveFull(g);
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        bytes[bytes.length / 2] ^= 0x10;
+        Files.write(file.toPath(), bytes);
+        Checkpoint.load(file, Checkpoint.fingerprint(g));
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncationDetected() throws IOException {
+        Graph g = sample();
+        File file = saveFull(g);
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 3));
+        Checkpoint.load(file, Checkpoint.fingerprint(g));
+    }
+
+    @Test(expected = IOException.class)
+    public void testOtherGraphRejected() throws IOException {
+        File file = saveFull(sample());
+        Graph other = new GraphBuilder(5).addEdge(0, 1, 2).build();
+        Checkpoint.load(file, Checkpoint.fingerprint(other));
+    }
+}
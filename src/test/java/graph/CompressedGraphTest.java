@@ -0,0 +1,122 @@
+package graph;
+
+import graph.bench.GraphGenerator;
+import graph.dagsp.DAGShortestPath;
+import graph.scc.TarjanSCC;
+import graph.topo.TopologicalSort;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+/**
+ * Unit tests for the compressed adjacency form
+ */
+public class CompressedGraphTest {
+
+    @Test
+    public void testRoundTrip() {
+        // Weights outside [0, 15] turn packing off
+        Graph g = new GraphBuilder(5)
+                .addEdge(3, 0, -7).addEdge(3, 4, 100_000).addEdge(3, 1, 2).addEdge(3, 1, 5)
+                .addEdge(0, 4, 1)
+                .build();
+        CompressedGraph cg = CompressedGraph.from(g);
+        assertFalse(cg.isWeightPacked());
+        assertEquals(5, cg.getEdgeCount());
+        assertEquals(edgeSet(g), edgeSet(cg));
+
+        // Sorted by target
+        CompressedGraph.EdgeCursor c = cg.cursor().reset(3);
+        assertTrue(c.next());
+        assertEquals(0, c.target());
+        assertEquals(-7, c.weight());
+        assertTrue(c.next());
+        assertEquals(1, c.target());
+        assertEquals(3, c.remaining() + 1);
+    }
+
+    @Test
+    public void testPackedWeights() {
+        Graph g = GraphGenerator.cyclic(5000, 4, 0.1, 3);
+        CompressedGraph cg = CompressedGraph.from(g);
+        assertTrue(cg.isWeightPacked());
+        assertEquals(edgeSet(g), edgeSet(cg));
+        assertTrue(cg.getBytesPerEdge() < 8.0 + 4.0 * g.getN() / g.getEdgeCount());
+    }
+
+    @Test
+    public void testAlgorithmsMatchCSR() {
+        Graph cyclic = GraphGenerator.cyclic(3000, 3, 0.2, 5);
+        CompressedGraph cc = CompressedGraph.from(cyclic);
+        List<List<Integer>> expected = new TarjanSCC().findSCCs(cyclic, new Metrics());
+        List<List<Integer>> actual = new TarjanSCC().findSCCs(cc, new Metrics());
+        assertEquals(asSets(expected), asSets(actual));
+        assertNull(new TopologicalSort().sort(cc, new Metrics()));
+
+        Graph dag = GraphGenerator.dag(3000, 3, 7);
+        CompressedGraph cd = CompressedGraph.from(dag);
+        List<Integer> order = new TopologicalSort().sort(cd, new Metrics());
+        int[] pos = new int[3000];
+        for (int i = 0; i < order.size(); i++) {
+            pos[order.get(i)] = i;
+        }
+        for (int u = 0; u < 3000; u++) {
+            for (Graph.Edge e : dag.getNeighbors(u)) {
+                assertTrue(pos[u] < pos[e.to]);
+            }
+        }
+
+        int source = order.get(0);
+        assertArrayEquals(new DAGShortestPath().shortestPaths(dag, source, new Metrics()),
+                new DAGShortestPath().shortestPaths(cd, source, new Metrics()));
+    }
+
+    @Test
+    public void testDeepGraphIterative() {
+        int n = 300_000;
+        GraphBuilder b = new GraphBuilder(n, n);
+        for (int v = 0; v + 1 < n; v++) {
+            b.addEdge(v, v + 1, 1);
+        }
+        b.addEdge(n - 1, 0, 1);
+        CompressedGraph cg = CompressedGraph.from(b.build());
+        assertEquals(1, new TarjanSCC().findSCCs(cg, new Metrics()).size());
+        // Consecutive targets, small weights: one byte per edge plus offsets
+        assertTrue(cg.getBytesPerEdge() < 6.5);
+    }
+
+    private static Map<Integer, List<Long>> edgeSet(Graph g) {
+        Map<Integer, List<Long>> result = new HashMap<>();
+        for (int u = 0; u < g.getN(); u++) {
+            List<Long> out = new ArrayList<>();
+            for (Graph.Edge e : g.getNeighbors(u)) {
+                out.add(((long) e.to << 32) | (e.weight & 0xFFFFFFFFL));
+            }
+            Collections.sort(out);
+            result.put(u, out);
+        }
+        return result;
+    }
+
+    private static Map<Integer, List<Long>> edgeSet(CompressedGraph g) {
+        Map<Integer, List<Long>> result = new HashMap<>();
+        CompressedGraph.EdgeCursor c = g.cursor();
+        for (int u = 0; u < g.getN(); u++) {
+            List<Long> out = new ArrayList<>();
+            for (c.reset(u); c.next(); ) {
+                out.add(((long) c.target() << 32) | (c.weight() & 0xFFFFFFFFL));
+            }
+            Collections.sort(out);
+            result.put(u, out);
+        }
+        return result;
+    }
+
+    private static Set<Set<Integer>> asSets(List<List<Integer>> sccs) {
+        Set<Set<Integer>> result = new HashSet<>();
+        for (List<Integer> scc : sccs) {
+            result.add(new HashSet<>(scc));
+        }
+        return result;
+    }
+}
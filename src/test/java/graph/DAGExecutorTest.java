@@ -0,0 +1,115 @@
+package graph;
+
+import graph.exec.*;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Unit tests for the DAG-aware parallel executor
+ */
+public class DAGExecutorTest {
+
+    @Test
+    public void testRespectsDependencies() {
+        Random rnd = new Random(11);
+        int n = 200;
+        Graph g = new Graph(n, true);
+        for (int i = 0; i < 600; i++) {
+            int a = rnd.nextInt(n);
+            int b = rnd.nextInt(n);
+            if (a < b) {
+                g.addEdge(a, b, 1);
+            }
+        }
+
+        AtomicInteger clock = new AtomicInteger();
+        int[] finishedAt = new int[n];
+        int[] startedAt = new int[n];
+
+        DAGExecutor executor = new DAGExecutor(4);
+        Metrics m = new Metrics();
+        boolean ok = executor.execute(g, v -> {
+            startedAt[v] = clock.incrementAndGet();
+            finishedAt[v] = clock.incrementAndGet();
+        }, m);
+        executor.shutdown();
+
+        assertTrue(ok);
+        assertEquals(n, m.getOperations());
+        for (int u = 0; u < n; u++) {
+            assertTrue(finishedAt[u] > 0);
+            for (Graph.Edge e : g.getNeighbors(u)) {
+                assertTrue(startedAt[e.to] > finishedAt[u]);
+            }
+        }
+    }
+
+    @Test
+    public void testIndependentTasksRunInParallel() {
+        Graph g = new Graph(4, true);
+        CyclicBarrier barrier = new CyclicBarrier(4);
+
+        DAGExecutor executor = new DAGExecutor(4);
+        Metrics m = new Metrics();
+        // Would deadlock (time out) unless all four run at the same time
+        executor.execute(g, v -> barrier.await(5, TimeUnit.SECONDS), m);
+        executor.shutdown();
+
+        assertEquals(4.0, m.getValue("max_concurrency"), 0.0);
+        assertTrue(m.getValue("parallelism") > 0);
+    }
+
+    @Test
+    public void testCycleRejected() {
+        Graph g = new Graph(2, true);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 0, 1);
+
+        assertFalse(new DAGExecutor().execute(g, v -> fail("must not run"), new Metrics()));
+    }
+
+    @Test
+    public void testFailureStopsSuccessors() {
+        // 0→1→2, task 1 fails
+        Graph g = new Graph(3, true);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        Set<Integer> ran = ConcurrentHashMap.newKeySet();
+
+        try {
+            new DAGExecutor().execute(g, v -> {
+                ran.add(v);
+                if (v == 1) {
+                    throw new Exception("boom");
+                }
+            }, new Metrics());
+            fail("expected failure");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("vertex 1"));
+        }
+        assertFalse(ran.contains(2));
+    }
+
+    @Test
+    public void testEveryVertexRunsOnce() {
+        // Vertex 0 releases every odd vertex while the roots are still being
+        // submitted; none of them may be submitted a second time as a root
+        int n = 200_000;
+        Graph g = new Graph(n, true);
+        for (int v = 1; v < n; v += 2) {
+            g.addEdge(0, v, 1);
+        }
+        AtomicIntegerArray runs = new AtomicIntegerArray(n);
+
+        DAGExecutor executor = new DAGExecutor(4);
+        assertTrue(executor.execute(g, runs::incrementAndGet, new Metrics()));
+        executor.shutdown();
+
+        for (int v = 0; v < n; v++) {
+            assertEquals("vertex " + v, 1, runs.get(v));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package graph;
+
+import graph.bench.GraphGenerator;
+import graph.dagsp.*;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+/**
+ * Unit tests for single-target and bounded DAG queries
+ */
+public class DAGPathQueryTest {
+
+    @Test
+    public void testDistancesMatchFullSweep() {
+        Graph g = GraphGenerator.dag(300, 3, 8);
+        DAGPathQuery q = new DAGPathQuery(g);
+        for (int source : new int[]{0, 17, 150}) {
+            int[] expected = new DAGShortestPath().shortestPaths(g, source, new Metrics());
+            for (int t = 0; t < g.getN(); t++) {
+                assertEquals(expected[t], q.distance(source, t, new Metrics()));
+            }
+        }
+    }
+
+    @Test
+    public void testPathAndEarlyStop() {
+        // 0 → 1 → 3, 0 → 2 → 3, 3 → 4 → 5
+        Graph g = new GraphBuilder(6)
+                .addEdge(0, 1, 5).addEdge(0, 2, 1)
+                .addEdge(1, 3, 1).addEdge(2, 3, 2)
+                .addEdge(3, 4, 1).addEdge(4, 5, 1)
+                .build();
+        DAGPathQuery q = new DAGPathQuery(g);
+        Metrics m = new Metrics();
+
+        DAGShortestPath.PathResult p = q.path(0, 3, m);
+        assertEquals(Arrays.asList(0, 2, 3), p.path);
+        assertEquals(3, p.length);
+        assertTrue(m.getValue("visited") < 6);
+
+        assertNull(q.path(3, 0, new Metrics()));
+        assertEquals(DAGPathQuery.UNREACHABLE, q.distance(1, 2, new Metrics()));
+    }
+
+    @Test
+    public void testWithinBound() {
+        Graph g = GraphGenerator.dag(400, 3, 12);
+        int[] full = new DAGShortestPath().shortestPaths(g, 5, new Metrics());
+        int bound = 25;
+
+        DAGPathQuery.Reached r = new DAGPathQuery(g).within(5, bound, new Metrics());
+        Set<Integer> expected = new HashSet<>();
+        for (int v = 0; v < g.getN(); v++) {
+            if (full[v] <= bound) {
+                expected.add(v);
+            }
+        }
+        Set<Integer> actual = new HashSet<>();
+        for (int i = 0; i < r.vertices.length; i++) {
+            actual.add(r.vertices[i]);
+            assertEquals(full[r.vertices[i]], r.dist[i]);
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testGraphChangeRefreshesOrder() {
+        Graph g = new Graph(3, true);
+        g.addEdge(0, 1, 1);
+        DAGPathQuery q = new DAGPathQuery(g);
+        assertEquals(DAGPathQuery.UNREACHABLE, q.distance(0, 2, new Metrics()));
+
+        g.addEdge(1, 2, 1);
+        assertEquals(2, q.distance(0, 2, new Metrics()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCycleRejected() {
+        new DAGPathQuery(new GraphBuilder(2).addEdge(0, 1, 1).addEdge(1, 0, 1).build());
+    }
+}
@@ -1,6 +1,7 @@
 package graph;
 
 import graph.dagsp.*;
+import graph.scc.*;
 import org.junit.*;
 import static org.junit.Assert.*;
 import java.util.*;
@@ -180,4 +181,86 @@ public class DAGShortestPathTest {
         assertNotNull(result);
         assertEquals(0, result.length);
     }
+
+    @Test
+    public void testNodeWeightedShortestPath() {
+        // Durations 1, 4, 2, 3 on a diamond with zero-weight edges
+        Graph g = new Graph(4, true);
+        g.addEdge(0, 1, 0);
+        g.addEdge(0, 2, 0);
+        g.addEdge(1, 3, 0);
+        g.addEdge(2, 3, 0);
+        int[] durations = {1, 4, 2, 3};
+        for (int v = 0; v < 4; v++) {
+            g.setNodeWeight(v, durations[v]);
+        }
+
+        Metrics m = new Metrics();
+        DAGShortestPath dagSP = new DAGShortestPath();
+        int[] dist = dagSP.shortestPaths(g, 0, m);
+
+        assertEquals(1, dist[0]);
+        assertEquals(5, dist[1]);
+        assertEquals(6, dist[3]);  // 1 + 2 + 3 via vertex 2
+
+        DAGShortestPath.PathResult result = dagSP.longestPath(g, new Metrics());
+        assertEquals(8, result.length);  // 1 + 4 + 3 via vertex 1
+    }
+
+    @Test
+    public void testNodeWeightsAggregatedInCondensation() {
+        // Cycle 0↔1 followed by 2; durations 2, 3, 4
+        Graph g = new Graph(3, true);
+        g.addEdge(0, 1, 0);
+        g.addEdge(1, 0, 0);
+        g.addEdge(1, 2, 0);
+        g.setNodeWeight(0, 2);
+        g.setNodeWeight(1, 3);
+        g.setNodeWeight(2, 4);
+
+        CondensationGraph cg = new CondensationGraph();
+        Graph dag = cg.build(g, new TarjanSCC().findSCCs(g, new Metrics()));
+
+        assertEquals(5, dag.getNodeWeight(cg.getVertexSCC(0)));
+        assertEquals(4, dag.getNodeWeight(cg.getVertexSCC(2)));
+
+        DAGShortestPath.PathResult result = new DAGShortestPath().longestPath(dag, new Metrics());
+        assertEquals(9, result.length);
+    }
+
+    @Test
+    public void testSlack() {
+        // Critical path 0→1→3 (2+4=6); 0→2→3 (5+0=5) has slack 1 at vertex 2
+        Graph g = new Graph(4, true);
+        g.addEdge(0, 1, 2);
+        g.addEdge(0, 2, 5);
+        g.addEdge(1, 3, 4);
+        g.addEdge(2, 3, 0);
+
+        long[] slack = new DAGShortestPath().slack(g, new Metrics());
+
+        assertNotNull(slack);
+        assertEquals(0, slack[0]);
+        assertEquals(0, slack[1]);
+        assertEquals(1, slack[2]);
+        assertEquals(0, slack[3]);
+    }
+
+    @Test
+    public void testLastCycle() {
+        Graph g = new Graph(4, true);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 1, 1);
+        g.addEdge(2, 3, 1);
+
+        DAGShortestPath sp = new DAGShortestPath();
+        assertNull(sp.shortestPaths(g, 0, new Metrics()));
+        assertEquals(new HashSet<>(Arrays.asList(1, 2)), new HashSet<>(sp.getLastCycle()));
+
+        Graph dag = new Graph(2, true);
+        dag.addEdge(0, 1, 1);
+        assertNotNull(sp.shortestPaths(dag, 0, new Metrics()));
+        assertNull(sp.getLastCycle());
+    }
 }
@@ -0,0 +1,269 @@
+package graph;
+
+import graph.bench.GraphGenerator;
+import graph.dagsp.*;
+import graph.incremental.DeltaApplier;
+import graph.io.DeltaLog;
+import graph.io.DeltaLog.Delta;
+import graph.scc.*;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.*;
+import java.util.*;
+
+/**
+ * Unit tests for incremental delta application
+ */
+public class DeltaApplierTest {
+
+    @Test
+    public void testMergeAndSplit() {
+        // 0 → 1 → 2 → 3
+        Graph g = new Graph(4, true);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 3, 1);
+        DeltaApplier applier = new DeltaApplier(g);
+        assertEquals(4, applier.getSCCCount());
+        assertEquals(3, applier.getLongestPathLength());
+
+        // Back edge 3 → 1 merges {1, 2, 3}
+        Metrics m = new Metrics();
+        applier.apply(Arrays.asList(Delta.add(3, 1, 1)), m);
+        assertEquals(2, applier.getSCCCount());
+        assertTrue(applier.sameSCC(1, 3));
+        assertEquals(2.0, m.getValue("merged_sccs"), 0.0);
+        assertEquals(1, applier.getLongestPathLength());
+
+        // Removing 2 → 3 splits it again
+        applier.apply(Arrays.asList(Delta.remove(2, 3)), m);
+        assertEquals(4, applier.getSCCCount());
+        assertEquals(1.0, m.getValue("split_sccs"), 0.0);
+        assertEquals(Arrays.asList(Arrays.asList(0), Arrays.asList(3), Arrays.asList(1), Arrays.asList(2)),
+                applier.getSCCs());
+        assertEquals(2, applier.getLongestPathLength());
+    }
+
+    @Test
+    public void testSplitLongCycleIntoMoreThanGapPieces() {
+        // A cycle of more than 2^20 vertices, then one vertex after it: removing
+        // a cycle edge leaves more singletons than the label gap holds
+        int k = (1 << 20) + 5;
+        Graph g = new Graph(k + 1, true);
+        for (int v = 0; v < k; v++) {
+            g.addEdge(v, (v + 1) % k, 1);
+        }
+        g.addEdge(k - 1, k, 1);
+        DeltaApplier applier = new DeltaApplier(g);
+        assertEquals(2, applier.getSCCCount());
+
+        applier.apply(Arrays.asList(Delta.remove(k - 1, 0)), new Metrics());
+        assertEquals(k + 1, applier.getSCCCount());
+
+        // Every piece keeps its own label, in path order
+        List<List<Integer>> sccs = applier.getSCCs();
+        assertEquals(k + 1, sccs.size());
+        for (int v = 0; v <= k; v++) {
+            assertEquals(Arrays.asList(v), sccs.get(v));
+        }
+        assertEquals(k, applier.getLongestPathLength());
+    }
+
+    @Test
+    public void testRandomDeltasMatchRecomputation() {
+        Random rnd = new Random(42);
+        int n = 60;
+        Graph g = new Graph(n, true);
+        List<int[]> edges = new ArrayList<>();
+        for (int v = 0; v < n; v++) {
+            g.setNodeWeight(v, rnd.nextInt(5));
+        }
+        for (int i = 0; i < 70; i++) {
+            int u = rnd.nextInt(n);
+            int v = rnd.nextInt(n);
+            g.addEdge(u, v, 1);
+            edges.add(new int[]{u, v});
+        }
+        DeltaApplier applier = new DeltaApplier(g);
+
+        for (int round = 0; round < 40; round++) {
+            List<Delta> batch = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                if (!edges.isEmpty() && rnd.nextBoolean()) {
+                    int[] e = edges.remove(rnd.nextInt(edges.size()));
+                    batch.add(Delta.remove(e[0], e[1]));
+                } else {
+                    int u = rnd.nextInt(n);
+                    int v = rnd.nextInt(n);
+                    edges.add(new int[]{u, v});
+                    batch.add(Delta.add(u, v, 1));
+                }
+            }
+            applier.apply(batch, new Metrics());
+
+            List<List<Integer>> fresh = new TarjanSCC().findSCCs(g, new Metrics());
+            assertEquals(asSets(fresh), asSets(applier.getSCCs()));
+
+            // SCCs come out in topological order
+            Graph dag = applier.getCondensation();
+            for (int u = 0; u < dag.getN(); u++) {
+                for (Graph.Edge e : dag.getNeighbors(u)) {
+                    assertTrue(e.to > u);
+                }
+            }
+
+            Graph expected = new CondensationGraph().build(g, fresh);
+            assertEquals(new DAGShortestPath().longestPath(expected, new Metrics()).length,
+                    applier.getLongestPathLength());
+        }
+    }
+
+    @Test
+    public void testCondensationAndReachabilityMatchRecomputation() {
+        for (long seed = 1; seed <= 3; seed++) {
+            Graph base = GraphGenerator.cyclic(300, 3, 0.4, seed);
+            Graph g = new Graph(300, true);
+            List<int[]> edges = new ArrayList<>();
+            for (int u = 0; u < 300; u++) {
+                for (Graph.Edge e : base.getNeighbors(u)) {
+                    g.addEdge(u, e.to, e.weight);
+                    edges.add(new int[]{u, e.to});
+                }
+            }
+            DeltaApplier applier = new DeltaApplier(g);
+            Random rnd = new Random(seed);
+            Collections.shuffle(edges, rnd);
+
+            // Mostly deletions, with some additions that merge SCCs again
+            int removals = edges.size();
+            for (int i = 0; i < removals; i++) {
+                int[] e = edges.get(i);
+                List<Delta> batch = new ArrayList<>();
+                batch.add(Delta.remove(e[0], e[1]));
+                if (i % 7 == 0) {
+                    batch.add(Delta.add(rnd.nextInt(300), rnd.nextInt(300), 1));
+                }
+                applier.apply(batch, new Metrics());
+                if (i % 25 == 0) {
+                    check(g, applier, rnd);
+                }
+            }
+            check(g, applier, rnd);
+        }
+    }
+
+    @Test
+    public void testRedundantEdgeDoesNotSplit() {
+        // 0→1→2→0 plus a shortcut 0→2
+        Graph g = new Graph(4, true);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 0, 1);
+        g.addEdge(0, 2, 1);
+        g.addEdge(2, 3, 1);
+        DeltaApplier applier = new DeltaApplier(g);
+        assertEquals(2, applier.getSCCCount());
+
+        Metrics m = new Metrics();
+        applier.apply(Arrays.asList(Delta.remove(0, 2)), m);
+        assertEquals(0, m.getValue("split_sccs"), 0);
+        assertEquals(2, applier.getSCCCount());
+
+        applier.apply(Arrays.asList(Delta.remove(1, 2)), m);
+        assertEquals(1, m.getValue("split_sccs"), 0);
+        assertEquals(4, applier.getSCCCount());
+        assertFalse(applier.canReach(0, 3));
+        assertTrue(applier.canReach(2, 3));
+        assertTrue(applier.canReach(2, 1));
+        assertEquals(1, applier.getCondensationEdges(applier.getSCC(2), applier.getSCC(0)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRemovingMissingEdgeFails() {
+        Graph g = new Graph(2, true);
+        new DeltaApplier(g).apply(Arrays.asList(Delta.remove(0, 1)), new Metrics());
+    }
+
+    @Test
+    public void testDeltaLogFormat() throws IOException {
+        List<Delta> deltas = DeltaLog.read(new StringReader("# hourly\n+ 0 1 5\n\n- 2 3\n"));
+        assertEquals(2, deltas.size());
+        assertTrue(deltas.get(0).add);
+        assertEquals(5, deltas.get(0).w);
+        assertFalse(deltas.get(1).add);
+
+        StringWriter out = new StringWriter();
+        DeltaLog.write(out, deltas);
+        assertEquals(deltas.toString(), DeltaLog.read(new StringReader(out.toString())).toString());
+    }
+
+    @Test(expected = IOException.class)
+    public void testMalformedDeltaLine() throws IOException {
+        DeltaLog.read(new StringReader("+ 0 1\n"));
+    }
+
+    private static Set<Set<Integer>> asSets(List<List<Integer>> sccs) {
+        Set<Set<Integer>> result = new HashSet<>();
+        for (List<Integer> scc : sccs) {
+            result.add(new HashSet<>(scc));
+        }
+        return result;
+    }
+
+    private static void check(Graph g, DeltaApplier applier, Random rnd) {
+        assertEquals(asSets(new TarjanSCC().findSCCs(g, new Metrics())), asSets(applier.getSCCs()));
+
+        // Topological order respects every edge; condensation counts match
+        List<Integer> order = applier.getTopologicalOrder();
+        int[] pos = new int[g.getN()];
+        for (int i = 0; i < order.size(); i++) {
+            pos[order.get(i)] = i;
+        }
+        Map<Long, Integer> counts = new HashMap<>();
+        for (int u = 0; u < g.getN(); u++) {
+            for (Graph.Edge e : g.getNeighbors(u)) {
+                int a = applier.getSCC(u);
+                int b = applier.getSCC(e.to);
+                assertTrue(pos[a] <= pos[b]);
+                if (a != b) {
+                    counts.merge(((long) a << 32) | b, 1, Integer::sum);
+                }
+            }
+        }
+        int total = 0;
+        for (int c : order) {
+            for (int s : applier.getSuccessors(c)) {
+                assertEquals((int) counts.get(((long) c << 32) | s), applier.getCondensationEdges(c, s));
+                total++;
+            }
+        }
+        assertEquals(counts.size(), total);
+
+        // Reachability against a plain BFS
+        for (int q = 0; q < 20; q++) {
+            int u = rnd.nextInt(g.getN());
+            int v = rnd.nextInt(g.getN());
+            assertEquals(bfsReach(g, u, v), applier.canReach(u, v));
+        }
+    }
+
+    private static boolean bfsReach(Graph g, int u, int v) {
+        boolean[] seen = new boolean[g.getN()];
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(u);
+        seen[u] = true;
+        while (!queue.isEmpty()) {
+            int x = queue.poll();
+            if (x == v) {
+                return true;
+            }
+            for (Graph.Edge e : g.getNeighbors(x)) {
+                if (!seen[e.to]) {
+                    seen[e.to] = true;
+                    queue.add(e.to);
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,117 @@
+package graph;
+
+import graph.bench.GraphGenerator;
+import graph.dagsp.*;
+import graph.dist.DistributedEngine;
+import graph.scc.*;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Unit tests for the sharded engine (workers run as local JVMs)
+ */
+public class DistributedEngineTest {
+
+    @Test
+    public void testSCCsMatchTarjan() throws Exception {
+        Graph g = GraphGenerator.cyclic(600, 3, 0.1, 13);
+        Set<Set<Integer>> expected = asSets(new TarjanSCC().findSCCs(g, new Metrics()));
+
+        try (DistributedEngine engine = new DistributedEngine(g, 3)) {
+            Metrics m = new Metrics();
+            assertEquals(expected, asSets(engine.findSCCs(m)));
+            assertTrue(m.getValue("messages") > 0);
+        }
+    }
+
+    @Test
+    public void testShortestPathsMatchSingleMachine() throws Exception {
+        Graph dag = GraphGenerator.dag(400, 3, 17);
+        GraphBuilder b = new GraphBuilder(dag.getN());
+        int[] off = dag.getOffsets();
+        for (int u = 0; u < dag.getN(); u++) {
+            for (int e = off[u]; e < off[u + 1]; e++) {
+                b.addEdge(u, dag.getTargets()[e], dag.getWeights()[e]);
+            }
+            b.setNodeWeight(u, u % 5);
+        }
+        Graph g = b.build();
+        int source = 7;
+        int[] expected = new DAGShortestPath().shortestPaths(g, source, new Metrics());
+
+        try (DistributedEngine engine = new DistributedEngine(g, 4)) {
+            long[] dist = engine.shortestPaths(source, new Metrics());
+            for (int v = 0; v < g.getN(); v++) {
+                long want = expected[v] >= Integer.MAX_VALUE / 2 ? Long.MAX_VALUE : expected[v];
+                assertEquals("vertex " + v, want, dist[v]);
+            }
+            assertEquals(new DAGShortestPath().longestPath(g, new Metrics()).length,
+                    engine.longestPath(new Metrics()).length);
+        }
+    }
+
+    @Test
+    public void testLongestPathOverCondensation() throws Exception {
+        // SCCs {0,1,2} → {3,4} → {5}, plus a shortcut {0,1,2} → {5}
+        Graph g = new GraphBuilder(6)
+                .addEdge(0, 1, 1).addEdge(1, 2, 1).addEdge(2, 0, 1)
+                .addEdge(2, 3, 4)
+                .addEdge(3, 4, 1).addEdge(4, 3, 1)
+                .addEdge(4, 5, 2)
+                .addEdge(0, 5, 1)
+                .build();
+
+        try (DistributedEngine engine = new DistributedEngine(g, 2)) {
+            int[] root = engine.findComponents(new Metrics());
+            assertEquals(root[0], root[2]);
+            assertEquals(root[3], root[4]);
+            assertNotEquals(root[0], root[5]);
+
+            DAGShortestPath.PathResult expected = new DAGShortestPath().longestPath(
+                    new CondensationGraph().build(g, new TarjanSCC().findSCCs(g, new Metrics())), new Metrics());
+            LongDAGShortestPath.LongPathResult result = engine.longestPath(new Metrics());
+            assertEquals(expected.length, result.length);
+            assertEquals(Arrays.asList(root[0], root[3], root[5]), result.path);
+        }
+    }
+
+    @Test
+    public void testShardFailureClosesEngine() throws Exception {
+        Graph g = GraphGenerator.cyclic(300, 3, 0.1, 5);
+
+        try (DistributedEngine engine = new DistributedEngine(g, 3)) {
+            engine.findSCCs(new Metrics());
+
+            // Kill one worker: the next superstep loses that shard's reply
+            ProcessHandle worker = ProcessHandle.current().children().findFirst().orElseThrow();
+            worker.destroyForcibly();
+            worker.onExit().get();
+
+            try {
+                engine.findSCCs(new Metrics());
+                fail("Expected the shard failure to surface");
+            } catch (IOException e) {
+                // expected
+            }
+
+            // Later calls fail fast instead of reading stale replies
+            try {
+                engine.shortestPaths(0, new Metrics());
+                fail("Expected a closed engine");
+            } catch (IOException e) {
+                assertTrue(e.getMessage().contains("shard failure"));
+            }
+            assertEquals(0, ProcessHandle.current().children().filter(ProcessHandle::isAlive).count());
+        }
+    }
+
+    private static Set<Set<Integer>> asSets(List<List<Integer>> sccs) {
+        Set<Set<Integer>> result = new HashSet<>();
+        for (List<Integer> scc : sccs) {
+            result.add(new HashSet<>(scc));
+        }
+        return result;
+    }
+}
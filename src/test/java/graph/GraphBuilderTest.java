@@ -0,0 +1,142 @@
+package graph;
+
+import graph.dagsp.*;
+import graph.scc.*;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+/**
+ * Unit tests for the CSR graph builder
+ */
+public class GraphBuilderTest {
+
+    @Test
+    public void testNeighborsInInsertionOrder() {
+        GraphBuilder b = new GraphBuilder(3);
+        b.addEdge(0, 2, 7);
+        b.addEdge(1, 2, 1);
+        b.addEdge(0, 1, 3);
+        Graph g = b.build();
+
+        assertTrue(g.isFrozen());
+        assertEquals(3, g.getEdgeCount());
+        assertEquals(2, g.getOutDegree(0));
+
+        List<Graph.Edge> out = g.getNeighbors(0);
+        assertEquals(2, out.get(0).to);
+        assertEquals(7, out.get(0).weight);
+        assertEquals(1, out.get(1).to);
+        assertEquals(0, g.getNeighbors(2).size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFrozenGraphRejectsEdges() {
+        Graph g = new GraphBuilder(2).addEdge(0, 1, 1).build();
+        g.addEdge(1, 0, 1);
+    }
+
+    @Test
+    public void testBulkParallelMatchesSequential() {
+        int n = 1000;
+        int m = 200_000;
+        Random rnd = new Random(5);
+        int[] us = new int[m];
+        int[] vs = new int[m];
+        int[] ws = new int[m];
+        for (int i = 0; i < m; i++) {
+            us[i] = rnd.nextInt(n);
+            vs[i] = rnd.nextInt(n);
+            ws[i] = rnd.nextInt(100);
+        }
+
+        Graph seq = new GraphBuilder(n).addEdges(us, vs, ws).build();
+        Graph par = new GraphBuilder(n).parallel(true).addEdges(us, vs, ws).build();
+
+        assertArrayEquals(seq.getOffsets(), par.getOffsets());
+        assertArrayEquals(seq.getTargets(), par.getTargets());
+        assertArrayEquals(seq.getWeights(), par.getWeights());
+    }
+
+    @Test
+    public void testAlgorithmsAgreeWithMutableGraph() {
+        Random rnd = new Random(9);
+        int n = 50;
+        Graph mutable = new Graph(n, true);
+        GraphBuilder b = new GraphBuilder(n);
+        for (int i = 0; i < 120; i++) {
+            int u = rnd.nextInt(n);
+            int v = rnd.nextInt(n);
+            int w = rnd.nextInt(10);
+            mutable.addEdge(u, v, w);
+            b.addEdge(u, v, w);
+        }
+        Graph frozen = b.build();
+
+        List<List<Integer>> s1 = new TarjanSCC().findSCCs(mutable, new Metrics());
+        List<List<Integer>> s2 = new TarjanSCC().findSCCs(frozen, new Metrics());
+        assertEquals(s1, s2);
+
+        Graph d1 = new CondensationGraph().build(mutable, s1);
+        Graph d2 = new CondensationGraph().build(frozen, s2);
+        assertArrayEquals(d1.getTargets(), d2.getTargets());
+
+        assertEquals(new DAGShortestPath().longestPath(d1, new Metrics()).length,
+                new DAGShortestPath().longestPath(d2, new Metrics()).length);
+    }
+
+    @Test
+    public void testCsrRebuiltAfterMutation() {
+        Graph g = new Graph(3, true);
+        g.addEdge(0, 1, 1);
+        assertEquals(1, g.getEdgeCount());
+
+        g.addEdge(1, 2, 1);
+        assertEquals(2, g.getEdgeCount());
+        assertEquals(2, g.getTargets()[1]);
+    }
+
+    @Test
+    public void testReverseAdjacency() {
+        // 0→2(5), 1→2(3), 2→3(1)
+        Graph g = new GraphBuilder(4)
+                .addEdge(0, 2, 5)
+                .addEdge(1, 2, 3)
+                .addEdge(2, 3, 1)
+                .build();
+
+        int[] rOff = g.getReverseOffsets();
+        int[] rSrc = g.getReverseSources();
+        int[] rWgt = g.getReverseWeights();
+
+        assertEquals(2, rOff[3] - rOff[2]);
+        assertEquals(0, rSrc[rOff[2]]);
+        assertEquals(5, rWgt[rOff[2]]);
+        assertEquals(1, rSrc[rOff[2] + 1]);
+        assertArrayEquals(new int[]{0, 0, 2, 1}, g.getInDegrees());
+        assertArrayEquals(new int[]{1, 1, 1, 0}, g.getOutDegrees());
+    }
+
+    @Test
+    public void testReverseParallelMatchesMutable() {
+        int n = 500;
+        Random rnd = new Random(21);
+        Graph mutable = new Graph(n, true);
+        GraphBuilder b = new GraphBuilder(n).parallel(true);
+        for (int i = 0; i < 100_000; i++) {
+            int u = rnd.nextInt(n);
+            int v = rnd.nextInt(n);
+            mutable.addEdge(u, v, i);
+            b.addEdge(u, v, i);
+        }
+        Graph frozen = b.build();
+
+        assertArrayEquals(mutable.getReverseOffsets(), frozen.getReverseOffsets());
+        assertArrayEquals(mutable.getReverseSources(), frozen.getReverseSources());
+        assertArrayEquals(mutable.getReverseWeights(), frozen.getReverseWeights());
+
+        // Mutation invalidates the cached transpose
+        mutable.addEdge(0, 1, 1);
+        assertEquals(frozen.getInDegrees()[1] + 1, mutable.getInDegrees()[1]);
+    }
+}
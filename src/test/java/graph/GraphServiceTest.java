@@ -0,0 +1,154 @@
+package graph;
+
+import com.google.gson.*;
+import graph.bench.GraphGenerator;
+import graph.dagsp.HierarchicalShortestPath;
+import graph.service.*;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.*;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Unit tests for the resident graph service
+ */
+public class GraphServiceTest {
+
+    private GraphService service;
+
+    @Before
+    public void setUp() throws IOException {
+        service = new GraphService(0);
+        // 0→1→2→0 cycle, then 2→3(4), 3→4(1); 5 is isolated
+        Graph g = new GraphBuilder(6)
+                .addEdge(0, 1, 1).addEdge(1, 2, 1).addEdge(2, 0, 1)
+                .addEdge(2, 3, 4).addEdge(3, 4, 1)
+                .build();
+        service.add("tiny", g);
+        service.start();
+    }
+
+    @After
+    public void tearDown() {
+        service.close();
+    }
+
+    @Test
+    public void testQueries() throws IOException {
+        JsonObject sp = get("/shortest?graph=tiny&source=0&target=4").getAsJsonObject();
+        assertEquals(7, sp.get("distance").getAsInt());
+        assertEquals("[0,1,2,3,4]", sp.get("path").toString());
+
+        JsonArray dist = get("/shortest?graph=tiny&source=3").getAsJsonObject().getAsJsonArray("distances");
+        assertTrue(dist.get(0).isJsonNull());
+        assertEquals(1, dist.get(4).getAsInt());
+
+        assertTrue(get("/reach?graph=tiny&from=1&to=4").getAsJsonObject().get("reachable").getAsBoolean());
+        assertFalse(get("/reach?graph=tiny&from=4&to=1").getAsJsonObject().get("reachable").getAsBoolean());
+
+        JsonObject critical = get("/critical?graph=tiny").getAsJsonObject();
+        assertEquals(5, critical.get("length").getAsInt());
+
+        JsonArray graphs = get("/graphs").getAsJsonArray();
+        assertEquals(1, graphs.size());
+        assertEquals(4, graphs.get(0).getAsJsonObject().get("sccs").getAsInt());
+    }
+
+    @Test
+    public void testErrors() throws IOException {
+        assertEquals(404, status("/shortest?graph=missing&source=0"));
+        assertEquals(400, status("/shortest?graph=tiny&source=99"));
+        assertEquals(400, status("/reach?graph=tiny&from=x&to=1"));
+        assertEquals(400, status("/load?graph=x&file=/no/such/file.json"));
+        assertEquals(404, status("/shortest/extra"));
+        assertEquals(4, service.getStats("/shortest").getCount() + service.getStats("/reach").getCount());
+        assertEquals(3, service.getStats("/shortest").getErrors());
+    }
+
+    @Test
+    public void testLoadFile() throws IOException {
+        File file = File.createTempFile("graph", ".json");
+        file.deleteOnExit();
+        try (Writer w = new FileWriter(file)) {
+            w.write("{\"n\": 3, \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 2}, {\"u\": 1, \"v\": 2, \"w\": 3}]}");
+        }
+        JsonObject loaded = get("/load?graph=file&file=" + URLEncoder.encode(file.getPath(), "UTF-8")).getAsJsonObject();
+        assertEquals(3, loaded.get("vertices").getAsInt());
+        assertEquals(5, get("/shortest?graph=file&source=0&target=2").getAsJsonObject().get("distance").getAsInt());
+
+        assertTrue(get("/unload?graph=file").getAsJsonObject().get("unloaded").getAsBoolean());
+        assertEquals(404, status("/critical?graph=file"));
+    }
+
+    @Test
+    public void testConcurrentQueriesMatchDirectResults() throws Exception {
+        Graph g = GraphGenerator.cyclic(2000, 3, 0.2, 11);
+        ResidentGraph rg = service.add("big", g);
+        HierarchicalShortestPath reference = new HierarchicalShortestPath(g);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final int seed = t;
+            futures.add(pool.submit(() -> {
+                Random rnd = new Random(seed);
+                for (int i = 0; i < 20; i++) {
+                    int s = rnd.nextInt(2000);
+                    int[] dist = rg.shortestPaths(s, new Metrics());
+                    int target = rnd.nextInt(2000);
+                    JsonObject r = get("/shortest?graph=big&source=" + s + "&target=" + target).getAsJsonObject();
+                    if (dist[target] == HierarchicalShortestPath.UNREACHABLE) {
+                        assertTrue(r.get("distance").isJsonNull());
+                        assertFalse(rg.canReach(s, target));
+                    } else {
+                        assertEquals(dist[target], r.get("distance").getAsInt());
+                        assertTrue(rg.canReach(s, target));
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        pool.shutdown();
+
+        int[] expected = reference.shortestPaths(7, new Metrics());
+        assertArrayEquals(expected, rg.shortestPaths(7, new Metrics()));
+        assertEquals(160, service.getStats("/shortest").getCount());
+        assertTrue(service.getStats("/shortest").getPercentileMs(0.99) <= service.getStats("/shortest").getMaxMs());
+    }
+
+    @Test
+    public void testLatencyPercentiles() {
+        LatencyStats s = new LatencyStats();
+        for (int i = 0; i < 99; i++) {
+            s.record(50_000, false); // 50 µs
+        }
+        s.record(20_000_000, true); // 20 ms
+        assertEquals(100, s.getCount());
+        assertEquals(1, s.getErrors());
+        assertTrue(s.getPercentileMs(0.5) <= 0.064);
+        assertEquals(20.0, s.getPercentileMs(1.0), 1e-9);
+        assertEquals(20.0, s.getMaxMs(), 1e-9);
+    }
+
+    private JsonElement get(String path) throws IOException {
+        HttpURLConnection c = open(path);
+        assertEquals(200, c.getResponseCode());
+        try (Reader r = new InputStreamReader(c.getInputStream(), StandardCharsets.UTF_8)) {
+            return JsonParser.parseReader(r);
+        }
+    }
+
+    private int status(String path) throws IOException {
+        return open(path).getResponseCode();
+    }
+
+    private HttpURLConnection open(String path) throws IOException {
+        return (HttpURLConnection) new URL("http://localhost:" + service.getPort() + path).openConnection();
+    }
+}
@@ -0,0 +1,81 @@
+package graph;
+
+import graph.bench.GraphGenerator;
+import graph.dagsp.*;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+/**
+ * Unit tests for vertex-level shortest paths on cyclic graphs
+ */
+public class HierarchicalShortestPathTest {
+
+    /**
+     * Plain Dijkstra over the whole graph as reference
+     */
+    private static int[] dijkstra(Graph g, int source) {
+        int[] dist = new int[g.getN()];
+        Arrays.fill(dist, Integer.MAX_VALUE / 2);
+        dist[source] = g.getNodeWeight(source);
+        PriorityQueue<int[]> pq = new PriorityQueue<>(Comparator.comparingInt(a -> a[0]));
+        pq.add(new int[]{dist[source], source});
+        while (!pq.isEmpty()) {
+            int[] top = pq.poll();
+            if (top[0] != dist[top[1]]) {
+                continue;
+            }
+            for (Graph.Edge e : g.getNeighbors(top[1])) {
+                int candidate = top[0] + e.weight + g.getNodeWeight(e.to);
+                if (candidate < dist[e.to]) {
+                    dist[e.to] = candidate;
+                    pq.add(new int[]{candidate, e.to});
+                }
+            }
+        }
+        return dist;
+    }
+
+    @Test
+    public void testMatchesDijkstra() {
+        Graph g = GraphGenerator.cyclic(400, 3, 0.15, 21);
+        HierarchicalShortestPath h = new HierarchicalShortestPath(g);
+        for (int source : new int[]{0, 99, 250}) {
+            assertArrayEquals(dijkstra(g, source), h.shortestPaths(source, new Metrics()));
+        }
+    }
+
+    @Test
+    public void testPathThroughCycle() {
+        // SCC {1, 2} with a cheap way around, then 2 → 3
+        Graph g = new GraphBuilder(5)
+                .addEdge(0, 1, 1)
+                .addEdge(1, 2, 10)
+                .addEdge(2, 1, 1)
+                .addEdge(1, 4, 1).addEdge(4, 2, 1).addEdge(4, 1, 1)
+                .addEdge(2, 3, 2)
+                .build();
+        HierarchicalShortestPath h = new HierarchicalShortestPath(g);
+        Metrics m = new Metrics();
+        int[] dist = h.shortestPaths(0, m);
+
+        assertEquals(5, dist[3]);
+        assertEquals(Arrays.asList(0, 1, 4, 2, 3), h.reconstructPath(3));
+        assertEquals(3.0, m.getValue("components_visited"), 0.0);
+
+        dist = h.shortestPaths(3, new Metrics());
+        assertEquals(HierarchicalShortestPath.UNREACHABLE, dist[0]);
+        assertTrue(h.reconstructPath(0).isEmpty());
+    }
+
+    @Test
+    public void testNegativeEdgeBetweenSCCsAllowed() {
+        Graph g = new GraphBuilder(3).addEdge(0, 1, 4).addEdge(1, 2, -3).build();
+        assertEquals(1, new HierarchicalShortestPath(g).shortestPaths(0, new Metrics())[2]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeEdgeInsideSCCRejected() {
+        new HierarchicalShortestPath(new GraphBuilder(2).addEdge(0, 1, -1).addEdge(1, 0, 2).build());
+    }
+}
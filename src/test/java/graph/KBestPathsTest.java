@@ -0,0 +1,166 @@
+package graph;
+
+import graph.dagsp.*;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+/**
+ * Unit tests for K shortest / K longest path enumeration
+ */
+public class KBestPathsTest {
+
+    /**
+     * Diamond with a shortcut: 0→1(1), 0→2(2), 1→3(5), 2→3(1), 0→3(10)
+     */
+    private Graph diamond() {
+        Graph g = new Graph(4, true);
+        g.addEdge(0, 1, 1);
+        g.addEdge(0, 2, 2);
+        g.addEdge(1, 3, 5);
+        g.addEdge(2, 3, 1);
+        g.addEdge(0, 3, 10);
+        return g;
+    }
+
+    @Test
+    public void testKShortestInOrder() {
+        KBestPaths kbp = new KBestPaths();
+        List<DAGShortestPath.PathResult> paths =
+                KBestPaths.take(kbp.shortestPaths(diamond(), 0, 3, 5, new Metrics()), 5);
+
+        // Only three routes exist: 3 (via 2), 6 (via 1), 10 (direct)
+        assertEquals(3, paths.size());
+        assertEquals(3, paths.get(0).length);
+        assertEquals(Arrays.asList(0, 2, 3), paths.get(0).path);
+        assertEquals(6, paths.get(1).length);
+        assertEquals(10, paths.get(2).length);
+    }
+
+    @Test
+    public void testKLongestInOrder() {
+        KBestPaths kbp = new KBestPaths();
+        List<DAGShortestPath.PathResult> paths =
+                KBestPaths.take(kbp.longestPaths(diamond(), 2, new Metrics()), 2);
+
+        assertEquals(2, paths.size());
+        assertEquals(10, paths.get(0).length);
+        assertEquals(6, paths.get(1).length);
+    }
+
+    @Test
+    public void testFirstLongestMatchesCriticalPath() {
+        Graph g = new Graph(5, true);
+        g.addEdge(0, 1, 2);
+        g.addEdge(1, 2, 3);
+        g.addEdge(0, 3, 4);
+        g.addEdge(3, 2, 4);
+        g.addEdge(2, 4, 1);
+
+        DAGShortestPath.PathResult best = new DAGShortestPath().longestPath(g, new Metrics());
+        Iterator<DAGShortestPath.PathResult> it = new KBestPaths().longestPaths(g, 1, new Metrics());
+
+        assertTrue(it.hasNext());
+        assertEquals(best.length, it.next().length);
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void testMatchesBruteForceOnLayeredDag() {
+        // Layered DAG: every vertex of layer i links to every vertex of layer i+1
+        int layers = 5;
+        int width = 3;
+        Random rnd = new Random(7);
+        Graph g = new Graph(layers * width + 2, true);
+        int src = layers * width;
+        int dst = src + 1;
+        for (int j = 0; j < width; j++) {
+            g.addEdge(src, j, rnd.nextInt(10));
+            g.addEdge((layers - 1) * width + j, dst, rnd.nextInt(10));
+        }
+        for (int l = 0; l + 1 < layers; l++) {
+            for (int a = 0; a < width; a++) {
+                for (int b = 0; b < width; b++) {
+                    g.addEdge(l * width + a, (l + 1) * width + b, rnd.nextInt(10));
+                }
+            }
+        }
+
+        List<Integer> all = new ArrayList<>();
+        collect(g, src, dst, 0, all);
+        Collections.sort(all);
+
+        List<DAGShortestPath.PathResult> paths =
+                KBestPaths.take(new KBestPaths().shortestPaths(g, src, dst, 20, new Metrics()), 20);
+        assertEquals(20, paths.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals((int) all.get(i), paths.get(i).length);
+        }
+    }
+
+    @Test
+    public void testStoredEntriesBoundedByK() {
+        // 6 layers of 4: 4^6 source-to-sink paths through a small graph
+        int layers = 6;
+        int width = 4;
+        int k = 50;
+        Random rnd = new Random(11);
+        Graph g = new Graph(layers * width + 2, true);
+        int src = layers * width;
+        int dst = src + 1;
+        for (int j = 0; j < width; j++) {
+            g.addEdge(src, j, rnd.nextInt(10));
+            g.addEdge((layers - 1) * width + j, dst, rnd.nextInt(10));
+        }
+        for (int l = 0; l + 1 < layers; l++) {
+            for (int a = 0; a < width; a++) {
+                for (int b = 0; b < width; b++) {
+                    g.addEdge(l * width + a, (l + 1) * width + b, rnd.nextInt(10));
+                }
+            }
+        }
+
+        Metrics m = new Metrics();
+        List<DAGShortestPath.PathResult> paths =
+                KBestPaths.take(new KBestPaths().longestPaths(g, k, m), k);
+
+        List<Integer> all = new ArrayList<>();
+        collect(g, src, dst, 0, all);
+        all.sort(Collections.reverseOrder());
+
+        assertEquals(k, paths.size());
+        for (int i = 0; i < k; i++) {
+            assertEquals((int) all.get(i), paths.get(i).length);
+        }
+        assertTrue(m.getValue("stored_entries") <= (long) k * g.getN());
+        assertTrue(m.getValue("candidates") <= g.getEdgeCount());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testLengthOverflowReported() {
+        Graph g = new Graph(3, true);
+        g.addEdge(0, 1, Integer.MAX_VALUE / 2);
+        g.addEdge(1, 2, Integer.MAX_VALUE / 2);
+
+        KBestPaths.take(new KBestPaths().longestPaths(g, 1, new Metrics()), 1);
+    }
+
+    private void collect(Graph g, int u, int dst, int cost, List<Integer> out) {
+        if (u == dst) {
+            out.add(cost);
+            return;
+        }
+        for (Graph.Edge e : g.getNeighbors(u)) {
+            collect(g, e.to, dst, cost + e.weight, out);
+        }
+    }
+
+    @Test
+    public void testCycleReturnsNull() {
+        Graph g = new Graph(2, true);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 0, 1);
+
+        assertNull(new KBestPaths().longestPaths(g, 3, new Metrics()));
+    }
+}
@@ -0,0 +1,121 @@
+package graph;
+
+import graph.dagsp.*;
+import graph.sched.*;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+/**
+ * Unit tests for the list scheduler
+ */
+public class ListSchedulerTest {
+
+    /**
+     * Check that precedence and worker capacity are respected
+     */
+    private void assertFeasible(Graph g, int[] durations, int workers, ListScheduler.Schedule s) {
+        for (int u = 0; u < g.getN(); u++) {
+            for (Graph.Edge e : g.getNeighbors(u)) {
+                assertTrue(s.start[e.to] >= s.start[u] + durations[u] + e.weight);
+            }
+        }
+        for (int a = 0; a < g.getN(); a++) {
+            assertTrue(s.worker[a] >= 0 && s.worker[a] < workers);
+            for (int b = a + 1; b < g.getN(); b++) {
+                if (s.worker[a] == s.worker[b]) {
+                    boolean disjoint = s.start[a] + durations[a] <= s.start[b]
+                            || s.start[b] + durations[b] <= s.start[a];
+                    assertTrue(disjoint);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testChainIsSequential() {
+        // 0→1→2, durations 2, 3, 4
+        Graph g = new Graph(3, true);
+        g.addEdge(0, 1, 0);
+        g.addEdge(1, 2, 0);
+        int[] d = {2, 3, 4};
+
+        ListScheduler.Schedule s = new ListScheduler().schedule(g, d, 4, new Metrics());
+
+        assertEquals(0, s.start[0]);
+        assertEquals(2, s.start[1]);
+        assertEquals(5, s.start[2]);
+        assertEquals(9, s.makespan);
+        assertEquals(9, s.criticalPath);
+    }
+
+    @Test
+    public void testSingleWorkerSerializes() {
+        // Four independent tasks on one worker
+        Graph g = new Graph(4, true);
+        int[] d = {1, 2, 3, 4};
+
+        ListScheduler.Schedule s = new ListScheduler().schedule(g, d, 1, new Metrics());
+
+        assertEquals(10, s.makespan);
+        assertFeasible(g, d, 1, s);
+    }
+
+    @Test
+    public void testCriticalTaskStartsFirst() {
+        // 0 is short but leads to a long chain; 1 and 2 are long and independent
+        Graph g = new Graph(4, true);
+        g.addEdge(0, 3, 0);
+        int[] d = {1, 5, 5, 10};
+
+        ListScheduler.Schedule s = new ListScheduler().schedule(g, d, 1, new Metrics());
+
+        assertEquals(0, s.start[0]);
+        assertEquals(21, s.makespan);
+    }
+
+    @Test
+    public void testEdgeLagsMatchLongestPath() {
+        // With zero durations and enough workers the makespan is the critical path
+        Graph g = new Graph(5, true);
+        g.addEdge(0, 1, 2);
+        g.addEdge(1, 2, 3);
+        g.addEdge(0, 3, 4);
+        g.addEdge(3, 2, 4);
+        g.addEdge(2, 4, 1);
+
+        ListScheduler.Schedule s = new ListScheduler().schedule(g, new int[5], 5, new Metrics());
+        DAGShortestPath.PathResult lp = new DAGShortestPath().longestPath(g, new Metrics());
+
+        assertEquals(lp.length, s.makespan);
+    }
+
+    @Test
+    public void testRandomDagFeasible() {
+        Random rnd = new Random(3);
+        int n = 40;
+        Graph g = new Graph(n, true);
+        for (int i = 0; i < 100; i++) {
+            int a = rnd.nextInt(n);
+            int b = rnd.nextInt(n);
+            if (a < b) {
+                g.addEdge(a, b, rnd.nextInt(3));
+            }
+        }
+        int[] d = new int[n];
+        for (int i = 0; i < n; i++) {
+            d[i] = 1 + rnd.nextInt(5);
+        }
+
+        ListScheduler.Schedule s = new ListScheduler().schedule(g, d, 3, new Metrics());
+
+        assertFeasible(g, d, 3, s);
+        assertTrue(s.makespan >= s.criticalPath);
+    }
+
+    @Test
+    public void testSccDurations() {
+        List<List<Integer>> sccs = Arrays.asList(Arrays.asList(0, 2), Arrays.asList(1));
+        assertArrayEquals(new int[]{4, 5}, ListScheduler.sccDurations(sccs, new int[]{1, 5, 3}));
+    }
+}
@@ -0,0 +1,95 @@
+package graph;
+
+import graph.dagsp.*;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+/**
+ * Unit tests for long/double weighted path engines and overflow checks
+ */
+public class LongDAGShortestPathTest {
+
+    @Test
+    public void testLongWeightsBeyondIntRange() {
+        // Three hops of 2 billion ms each
+        LongGraph g = new LongGraph(4);
+        g.addEdge(0, 1, 2_000_000_000L);
+        g.addEdge(1, 2, 2_000_000_000L);
+        g.addEdge(2, 3, 2_000_000_000L);
+
+        long[] dist = new LongDAGShortestPath().shortestPaths(g, 0, new Metrics());
+        assertEquals(6_000_000_000L, dist[3]);
+
+        LongDAGShortestPath.LongPathResult lp = new LongDAGShortestPath().longestPath(g, new Metrics());
+        assertEquals(6_000_000_000L, lp.length);
+        assertEquals(Arrays.asList(0, 1, 2, 3), lp.path);
+    }
+
+    @Test
+    public void testLongMatchesIntEngine() {
+        Graph g = new Graph(4, true);
+        g.addEdge(0, 1, 5);
+        g.addEdge(0, 2, 3);
+        g.addEdge(1, 3, 2);
+        g.addEdge(2, 3, 1);
+
+        int[] expected = new DAGShortestPath().shortestPaths(g, 0, new Metrics());
+        long[] actual = new LongDAGShortestPath().shortestPaths(LongGraph.from(g), 0, new Metrics());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(expected[i], actual[i]);
+        }
+
+        assertEquals(new DAGShortestPath().longestPath(g, new Metrics()).length,
+                new LongDAGShortestPath().longestPath(LongGraph.from(g), new Metrics()).length);
+    }
+
+    @Test
+    public void testUnreachableAndCycle() {
+        LongGraph g = new LongGraph(3);
+        g.addEdge(0, 1, 1);
+        long[] dist = new LongDAGShortestPath().shortestPaths(g, 0, new Metrics());
+        assertEquals(LongDAGShortestPath.UNREACHABLE, dist[2]);
+
+        g.addEdge(1, 0, 1);
+        assertNull(new LongDAGShortestPath().shortestPaths(g, 0, new Metrics()));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testLongOverflowDetected() {
+        LongGraph g = new LongGraph(3);
+        g.addEdge(0, 1, Long.MAX_VALUE - 10);
+        g.addEdge(1, 2, 100);
+        new LongDAGShortestPath().longestPath(g, new Metrics());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testIntOverflowDetected() {
+        Graph g = new Graph(3, true);
+        g.addEdge(0, 1, 1_000_000_000);
+        g.addEdge(1, 2, 1_000_000_000);
+        new DAGShortestPath().longestPath(g, new Metrics());
+    }
+
+    @Test
+    public void testDoubleWeights() {
+        DoubleGraph g = new DoubleGraph(3);
+        g.addEdge(0, 1, 0.5);
+        g.addEdge(1, 2, 0.25);
+        g.addEdge(0, 2, 1.0);
+
+        double[] dist = new DoubleDAGShortestPath().shortestPaths(g, 0, new Metrics());
+        assertEquals(0.75, dist[2], 1e-12);
+
+        DoubleDAGShortestPath.DoublePathResult lp = new DoubleDAGShortestPath().longestPath(g, new Metrics());
+        assertEquals(1.0, lp.length, 1e-12);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testDoubleOverflowDetected() {
+        DoubleGraph g = new DoubleGraph(3);
+        g.addEdge(0, 1, Double.MAX_VALUE);
+        g.addEdge(1, 2, Double.MAX_VALUE);
+        new DoubleDAGShortestPath().longestPath(g, new Metrics());
+    }
+}
@@ -0,0 +1,115 @@
+package graph;
+
+import graph.dagsp.*;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the path result cache
+ */
+public class PathCacheTest {
+
+    private Graph chain() {
+        // 0→1(5)→2(3)
+        Graph g = new Graph(3, true);
+        g.addEdge(0, 1, 5);
+        g.addEdge(1, 2, 3);
+        return g;
+    }
+
+    @Test
+    public void testRepeatedQueryHits() {
+        Graph g = chain();
+        PathCache cache = new PathCache(10);
+
+        int[] first = cache.shortestPaths(g, 0, new Metrics());
+        int[] second = cache.shortestPaths(g, 0, new Metrics());
+
+        assertArrayEquals(first, second);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testMutationInvalidates() {
+        Graph g = chain();
+        PathCache cache = new PathCache(10);
+
+        assertEquals(8, cache.shortestPaths(g, 0, new Metrics())[2]);
+
+        // Shortcut edge changes the answer
+        g.addEdge(0, 2, 1);
+        assertEquals(1, cache.shortestPaths(g, 0, new Metrics())[2]);
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getInvalidations());
+    }
+
+    @Test
+    public void testLruEviction() {
+        Graph g = chain();
+        PathCache cache = new PathCache(2);
+
+        cache.shortestPaths(g, 0, new Metrics());
+        cache.shortestPaths(g, 1, new Metrics());
+        cache.shortestPaths(g, 0, new Metrics()); // touch source 0
+        cache.shortestPaths(g, 2, new Metrics()); // evicts source 1
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+
+        cache.shortestPaths(g, 0, new Metrics());
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    public void testCallerCannotCorruptCache() {
+        Graph g = chain();
+        PathCache cache = new PathCache(10);
+
+        int[] dist = cache.shortestPaths(g, 0, new Metrics());
+        dist[1] = 999;
+
+        assertEquals(5, cache.shortestPaths(g, 0, new Metrics())[1]);
+    }
+
+    @Test
+    public void testLongestPathCached() {
+        Graph g = chain();
+        PathCache cache = new PathCache(10);
+
+        assertEquals(8, cache.longestPath(g, new Metrics()).length);
+        assertEquals(8, cache.longestPath(g, new Metrics()).length);
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void testEvictedGraphsAreReleased() {
+        PathCache cache = new PathCache(2);
+        for (int i = 0; i < 10; i++) {
+            cache.shortestPaths(chain(), 0, new Metrics());
+        }
+
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.getGraphCount());
+    }
+
+    @Test
+    public void testStaleEntriesDroppedBeforeLru() {
+        Graph changed = chain();
+        Graph other = chain();
+        PathCache cache = new PathCache(2);
+
+        cache.shortestPaths(other, 0, new Metrics());
+        cache.shortestPaths(changed, 0, new Metrics());
+        changed.addEdge(0, 2, 1);
+
+        // Full cache: the stale entry goes, not the least recently used one
+        cache.shortestPaths(other, 1, new Metrics());
+        assertEquals(0, cache.getEvictions());
+        assertEquals(1, cache.getInvalidations());
+        assertEquals(1, cache.getGraphCount());
+
+        cache.shortestPaths(other, 0, new Metrics());
+        assertEquals(1, cache.getHits());
+    }
+}
@@ -0,0 +1,108 @@
+package graph;
+
+import graph.reach.*;
+import graph.scc.*;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+/**
+ * Unit tests for the reachability index
+ */
+public class ReachabilityIndexTest {
+
+    /**
+     * Build SCCs, condensation and index for a graph
+     */
+    private CondensationGraph condense(Graph g) {
+        List<List<Integer>> sccs = new TarjanSCC().findSCCs(g, new Metrics());
+        CondensationGraph cg = new CondensationGraph();
+        cg.build(g, sccs);
+        return cg;
+    }
+
+    /**
+     * Plain BFS reachability used as reference
+     */
+    private boolean bfsReach(Graph g, int u, int v) {
+        boolean[] seen = new boolean[g.getN()];
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(u);
+        seen[u] = true;
+        while (!queue.isEmpty()) {
+            int x = queue.poll();
+            if (x == v) {
+                return true;
+            }
+            for (Graph.Edge e : g.getNeighbors(x)) {
+                if (!seen[e.to]) {
+                    seen[e.to] = true;
+                    queue.add(e.to);
+                }
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testChainWithCycle() {
+        // 0→1→2→1 (cycle 1,2), 2→3
+        Graph g = new Graph(4, true);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 1, 1);
+        g.addEdge(2, 3, 1);
+
+        ReachabilityIndex index = new ReachabilityIndex();
+        index.build(condense(g), new Metrics());
+
+        assertTrue(index.usesClosure());
+        assertTrue(index.canReach(0, 3));
+        assertTrue(index.canReach(2, 1));
+        assertFalse(index.canReach(3, 0));
+        assertFalse(index.canReach(1, 0));
+    }
+
+    @Test
+    public void testLabelingMatchesBFS() {
+        Random rnd = new Random(42);
+        Graph g = new Graph(60, true);
+        for (int i = 0; i < 150; i++) {
+            g.addEdge(rnd.nextInt(60), rnd.nextInt(60), 1);
+        }
+
+        CondensationGraph cg = condense(g);
+
+        ReachabilityIndex bitset = new ReachabilityIndex();
+        bitset.build(cg, new Metrics());
+
+        // Zero budget forces the interval labeling
+        ReachabilityIndex labels = new ReachabilityIndex();
+        labels.setMemoryBudget(0);
+        labels.build(cg, new Metrics());
+        assertFalse(labels.usesClosure());
+
+        for (int u = 0; u < 60; u++) {
+            for (int v = 0; v < 60; v++) {
+                boolean expected = bfsReach(g, u, v);
+                assertEquals(expected, bitset.canReach(u, v));
+                assertEquals(expected, labels.canReach(u, v));
+            }
+        }
+    }
+
+    @Test
+    public void testDisconnected() {
+        Graph g = new Graph(4, true);
+        g.addEdge(0, 1, 1);
+        g.addEdge(2, 3, 1);
+
+        ReachabilityIndex index = new ReachabilityIndex();
+        index.setMemoryBudget(0);
+        index.build(condense(g), new Metrics());
+
+        assertTrue(index.canReach(0, 1));
+        assertFalse(index.canReach(0, 3));
+        assertFalse(index.canReach(1, 0));
+    }
+}
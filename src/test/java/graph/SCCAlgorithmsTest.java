@@ -0,0 +1,89 @@
+package graph;
+
+import graph.bench.GraphGenerator;
+import graph.scc.*;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+/**
+ * Unit tests for the alternative SCC engines and the selector
+ */
+public class SCCAlgorithmsTest {
+
+    private final SCCAlgorithm[] engines = {new TarjanSCC(), new KosarajuSCC(), new PathBasedSCC()};
+
+    @Test
+    public void testEnginesAgree() {
+        for (long seed = 1; seed <= 5; seed++) {
+            Graph g = GraphGenerator.cyclic(500, 3, 0.1 * seed, seed);
+            Set<Set<Integer>> expected = asSets(new TarjanSCC().findSCCs(g, new Metrics()));
+            for (SCCAlgorithm engine : engines) {
+                List<List<Integer>> sccs = engine.findSCCs(g, new Metrics());
+                assertEquals(engine.getName(), expected, asSets(sccs));
+                assertReverseTopological(g, sccs);
+            }
+        }
+    }
+
+    @Test
+    public void testMetricsRecorded() {
+        Graph g = GraphGenerator.cyclic(200, 2, 0.2, 3);
+        for (SCCAlgorithm engine : engines) {
+            Metrics m = new Metrics();
+            engine.findSCCs(g, m);
+            assertEquals(engine.getName(), 200, m.getDFSVisits());
+            assertEquals(engine.getName(), 200, m.getOperations());
+        }
+    }
+
+    @Test
+    public void testDeepPathNoStackOverflow() {
+        // One long cycle: recursion depth n for Tarjan
+        int n = 200_000;
+        GraphBuilder b = new GraphBuilder(n, n);
+        for (int v = 0; v < n; v++) {
+            b.addEdge(v, (v + 1) % n, 1);
+        }
+        Graph g = b.build();
+        assertEquals(1, new KosarajuSCC().findSCCs(g, new Metrics()).size());
+        assertEquals(1, new PathBasedSCC().findSCCs(g, new Metrics()).size());
+    }
+
+    @Test
+    public void testSelector() {
+        SCCSelector selector = new SCCSelector();
+        assertTrue(selector.choose(GraphGenerator.dag(100, 2, 1)) instanceof TarjanSCC);
+        assertTrue(selector.choose(GraphGenerator.dag(20_000, 2, 1)) instanceof PathBasedSCC);
+        assertTrue(selector.choose(GraphGenerator.dag(20_000, 20, 1)) instanceof KosarajuSCC);
+
+        Graph g = GraphGenerator.cyclic(300, 2, 0.1, 2);
+        selector.findSCCs(g, new Metrics());
+        assertEquals("auto(tarjan)", selector.getName());
+    }
+
+    /**
+     * Every edge between SCCs must point to an SCC listed earlier
+     */
+    private static void assertReverseTopological(Graph g, List<List<Integer>> sccs) {
+        int[] index = new int[g.getN()];
+        for (int i = 0; i < sccs.size(); i++) {
+            for (int v : sccs.get(i)) {
+                index[v] = i;
+            }
+        }
+        for (int u = 0; u < g.getN(); u++) {
+            for (Graph.Edge e : g.getNeighbors(u)) {
+                assertTrue(index[e.to] <= index[u]);
+            }
+        }
+    }
+
+    private static Set<Set<Integer>> asSets(List<List<Integer>> sccs) {
+        Set<Set<Integer>> result = new HashSet<>();
+        for (List<Integer> scc : sccs) {
+            result.add(new HashSet<>(scc));
+        }
+        return result;
+    }
+}
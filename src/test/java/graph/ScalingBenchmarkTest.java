@@ -0,0 +1,79 @@
+package graph;
+
+import graph.bench.ScalingBenchmark;
+import graph.bench.ScalingBenchmark.Row;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.*;
+import java.util.*;
+
+/**
+ * Unit tests for the scaling harness's growth fit and baseline comparison
+ */
+public class ScalingBenchmarkTest {
+
+    @Test
+    public void testSlopeOfPowerLaws() {
+        double[] x = new double[5];
+        double[] linear = new double[5];
+        double[] quadratic = new double[5];
+        for (int i = 0; i < 5; i++) {
+            double n = 1000 << i;
+            x[i] = Math.log(n);
+            linear[i] = Math.log(3 * n);
+            quadratic[i] = Math.log(n * n);
+        }
+
+        assertEquals(1.0, ScalingBenchmark.slope(x, linear), 1e-9);
+        assertEquals(2.0, ScalingBenchmark.slope(x, quadratic), 1e-9);
+        assertEquals(0.0, ScalingBenchmark.slope(new double[]{1}, new double[]{5}), 0.0);
+    }
+
+    @Test
+    public void testCompareFlagsRegressionsAboveThreshold() {
+        Map<String, Row> baseline = new HashMap<>();
+        baseline.put("tarjan@1000", new Row("tarjan", 1000, 4000, 10.0, 1000, 0));
+        baseline.put("topo_sort@1000", new Row("topo_sort", 1000, 4000, 0.2, 1000, 0));
+
+        // Within +50%, or slower but under the 1 ms noise floor
+        List<Row> fine = Arrays.asList(
+                new Row("tarjan", 1000, 4000, 14.0, 1400, 0),
+                new Row("topo_sort", 1000, 4000, 0.9, 1000, 0),
+                new Row("kosaraju", 1000, 4000, 99.0, 1000, 0));
+        assertFalse(ScalingBenchmark.compare(fine, baseline, 0.5));
+
+        List<Row> slower = Arrays.asList(new Row("tarjan", 1000, 4000, 16.0, 1000, 0));
+        assertTrue(ScalingBenchmark.compare(slower, baseline, 0.5));
+
+        List<Row> heavier = Arrays.asList(new Row("tarjan", 1000, 4000, 10.0, 1600, 0));
+        assertTrue(ScalingBenchmark.compare(heavier, baseline, 0.5));
+    }
+
+    @Test
+    public void testCSVRoundTrip() throws IOException {
+        File file = File.createTempFile("baseline", ".csv");
+        file.deleteOnExit();
+        ScalingBenchmark.writeCSV(file, Arrays.asList(
+                new Row("tarjan", 1000, 4000, 1.5, 2048, 512),
+                new Row("tarjan", 2000, 8000, 3.25, 4096, 1024)));
+
+        Map<String, Row> rows = ScalingBenchmark.readCSV(file);
+        assertEquals(2, rows.size());
+        Row r = rows.get("tarjan@2000");
+        assertEquals(8000, r.m);
+        assertEquals(3.25, r.timeMs, 1e-9);
+        assertEquals(4096, r.allocBytes);
+        assertEquals(1024, r.retainedBytes);
+    }
+
+    @Test(expected = IOException.class)
+    public void testMalformedBaselineRow() throws IOException {
+        File file = File.createTempFile("baseline", ".csv");
+        file.deleteOnExit();
+        try (PrintWriter out = new PrintWriter(new FileWriter(file))) {
+            out.println("phase,n,m,time_ms,alloc_bytes,retained_bytes");
+            out.println("tarjan,1000,oops");
+        }
+        ScalingBenchmark.readCSV(file);
+    }
+}
@@ -0,0 +1,162 @@
+package graph;
+
+import graph.bench.GraphGenerator;
+import graph.io.DeltaLog.Delta;
+import graph.scc.TarjanSCC;
+import graph.snapshot.*;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Unit tests for copy-on-write graph snapshots
+ */
+public class SnapshotGraphTest {
+
+    @Test
+    public void testInitialSnapshotMatchesGraph() {
+        Graph g = GraphGenerator.cyclic(1000, 3, 0.1, 4);
+        Graph view = new SnapshotGraph(g).snapshot().asGraph();
+        assertArrayEquals(g.getOffsets(), view.getOffsets());
+        assertArrayEquals(g.getTargets(), view.getTargets());
+        assertArrayEquals(g.getWeights(), view.getWeights());
+    }
+
+    @Test
+    public void testBatchesMatchMutableGraph() {
+        Graph base = GraphGenerator.cyclic(3000, 2, 0.2, 6);
+        SnapshotGraph sg = new SnapshotGraph(base);
+        Graph mutable = new Graph(3000, true);
+        for (int u = 0; u < 3000; u++) {
+            for (Graph.Edge e : base.getNeighbors(u)) {
+                mutable.addEdge(u, e.to, e.weight);
+            }
+        }
+
+        Snapshot first = sg.snapshot();
+        Random rnd = new Random(8);
+        for (int round = 0; round < 20; round++) {
+            List<Delta> batch = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                int u = rnd.nextInt(3000);
+                if (rnd.nextBoolean() && mutable.getOutDegree(u) > 0) {
+                    int v = mutable.getNeighbors(u).get(rnd.nextInt(mutable.getOutDegree(u))).to;
+                    mutable.removeEdge(u, v);
+                    batch.add(Delta.remove(u, v));
+                } else {
+                    int v = rnd.nextInt(3000);
+                    int w = 1 + rnd.nextInt(9);
+                    mutable.addEdge(u, v, w);
+                    batch.add(Delta.add(u, v, w));
+                }
+            }
+            sg.apply(batch, new Metrics());
+        }
+
+        Snapshot last = sg.snapshot();
+        assertEquals(20, last.getVersion());
+        assertEquals(mutable.getEdgeCount(), last.getEdgeCount());
+        assertArrayEquals(mutable.getOffsets(), last.asGraph().getOffsets());
+        assertArrayEquals(mutable.getTargets(), last.asGraph().getTargets());
+        assertArrayEquals(mutable.getWeights(), last.asGraph().getWeights());
+        assertEquals(new TarjanSCC().findSCCs(mutable, new Metrics()).size(),
+                new TarjanSCC().findSCCs(last.asGraph(), new Metrics()).size());
+
+        // The first version is untouched
+        assertEquals(0, first.getVersion());
+        assertArrayEquals(base.getTargets(), first.asGraph().getTargets());
+    }
+
+    @Test
+    public void testOnlyChangedPathIsCopied() {
+        // 100000 vertices = 3125 leaves, three trie levels above them
+        SnapshotGraph sg = new SnapshotGraph(new GraphBuilder(100_000).build());
+        Metrics m = new Metrics();
+        sg.apply(Arrays.asList(Delta.add(5, 99_999, 1), Delta.add(6, 7, 2)), m);
+        assertEquals(1, m.getValue("copied_leaves"), 0);
+        assertEquals(3, m.getValue("copied_nodes"), 0);
+
+        Snapshot s = sg.snapshot();
+        assertEquals(2, s.getEdgeCount());
+        assertEquals(99_999, s.getNeighbors(5).get(0).to);
+        assertEquals(2, s.getNeighbors(6).get(0).weight);
+        assertEquals(0, s.getOutDegree(99_999));
+    }
+
+    @Test
+    public void testFailedBatchPublishesNothing() {
+        SnapshotGraph sg = new SnapshotGraph(new GraphBuilder(10).addEdge(0, 1, 1).build());
+        try {
+            sg.apply(Arrays.asList(Delta.add(2, 3, 1), Delta.remove(4, 5)), new Metrics());
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // nothing applied
+        }
+        assertEquals(0, sg.snapshot().getVersion());
+        assertEquals(1, sg.snapshot().getEdgeCount());
+    }
+
+    @Test
+    public void testReadersSeeWholeBatches() throws Exception {
+        int n = 5000;
+        SnapshotGraph sg = new SnapshotGraph(new GraphBuilder(n).build());
+        AtomicBoolean done = new AtomicBoolean();
+        CountDownLatch readersStarted = new CountDownLatch(3); // one full pass per reader
+
+        // Every batch adds a → b and b → a; a reader must never see only one of them
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<?>> readers = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            readers.add(pool.submit(() -> {
+                boolean first = true;
+                while (!done.get()) {
+                    Snapshot s = sg.snapshot();
+                    int total = 0;
+                    for (int v = 0; v < n; v++) {
+                        for (Graph.Edge e : s.getNeighbors(v)) {
+                            boolean back = false;
+                            for (Graph.Edge r : s.getNeighbors(e.to)) {
+                                back |= r.to == v;
+                            }
+                            assertTrue(back);
+                        }
+                        total += s.getOutDegree(v);
+                    }
+                    assertEquals(s.getEdgeCount(), total);
+                    assertEquals(2 * s.getVersion(), total);
+                    if (first) {
+                        readersStarted.countDown();
+                        first = false;
+                    }
+                }
+                return null;
+            }));
+        }
+
+        Random rnd = new Random(1);
+        for (int i = 0; i < 300; i++) {
+            if (i == 150) {
+                // Halfway, let every reader finish a pass
+                boolean started = readersStarted.await(30, TimeUnit.SECONDS);
+                if (!started) {
+                    done.set(true);
+                    for (Future<?> f : readers) {
+                        f.get(); // a reader that failed reports its own error
+                    }
+                }
+                assertTrue("A reader never finished a pass", started);
+            }
+            int a = rnd.nextInt(n);
+            int b = rnd.nextInt(n);
+            sg.apply(Arrays.asList(Delta.add(a, b, 1), Delta.add(b, a, 1)), new Metrics());
+        }
+        done.set(true);
+        for (Future<?> f : readers) {
+            f.get();
+        }
+        pool.shutdown();
+        assertEquals(600, sg.snapshot().getEdgeCount());
+    }
+}
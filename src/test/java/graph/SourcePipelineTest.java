@@ -0,0 +1,79 @@
+package graph;
+
+import graph.bench.GraphGenerator;
+import graph.dagsp.*;
+import graph.scc.*;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+/**
+ * Unit tests for the source-restricted condensation pipeline
+ */
+public class SourcePipelineTest {
+
+    @Test
+    public void testMatchesFullPipeline() {
+        for (long seed = 1; seed <= 4; seed++) {
+            Graph g = GraphGenerator.cyclic(2000, 2, 0.15, seed);
+            List<List<Integer>> sccs = new TarjanSCC().findSCCs(g, new Metrics());
+            CondensationGraph cg = new CondensationGraph();
+            Graph dag = cg.build(g, sccs);
+
+            SourcePipeline pipeline = new SourcePipeline(g);
+            Random rnd = new Random(seed);
+            for (int q = 0; q < 10; q++) {
+                int source = rnd.nextInt(2000);
+                int[] full = new DAGShortestPath().shortestPaths(dag, cg.getVertexSCC(source), new Metrics());
+                SourcePipeline.Result r = pipeline.run(source, new Metrics());
+
+                int reached = 0;
+                for (int v = 0; v < 2000; v++) {
+                    assertEquals(full[cg.getVertexSCC(v)], r.distanceTo(v));
+                    if (r.sccOf(v) >= 0) {
+                        reached++;
+                    }
+                }
+                assertEquals(reached, r.getVertices().length);
+            }
+        }
+    }
+
+    @Test
+    public void testOnlyReachablePartIsTouched() {
+        // 0→1→2→0 cycle feeding 3; 4→0 and 5 are not reachable from 0
+        Graph g = new GraphBuilder(6)
+                .addEdge(0, 1, 2).addEdge(1, 2, 2).addEdge(2, 0, 2)
+                .addEdge(2, 3, 5).addEdge(4, 0, 1).addEdge(5, 4, 1)
+                .build();
+        Metrics m = new Metrics();
+        SourcePipeline.Result r = new SourcePipeline(g).run(1, m);
+
+        assertArrayEquals(new int[]{0, 1, 2, 3}, r.getVertices());
+        assertEquals(2, r.getSCCs().size());
+        assertEquals(4, m.getValue("reached_edges"), 0);
+        assertEquals(0, r.distanceTo(0));
+        assertEquals(5, r.distanceTo(3));
+        assertEquals(-1, r.sccOf(4));
+        assertEquals(Integer.MAX_VALUE / 2, r.distanceTo(5));
+        assertEquals(r.sccOf(1), r.getSourceSCC());
+    }
+
+    @Test
+    public void testNodeWeightsCarriedOver() {
+        Graph g = new Graph(3, true);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.setNodeWeight(0, 10);
+        g.setNodeWeight(1, 20);
+        g.setNodeWeight(2, 30);
+        SourcePipeline.Result r = new SourcePipeline(g).run(1, new Metrics());
+        assertEquals(20, r.distanceTo(1));
+        assertEquals(51, r.distanceTo(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadSource() {
+        new SourcePipeline(new GraphBuilder(2).build()).run(2, new Metrics());
+    }
+}
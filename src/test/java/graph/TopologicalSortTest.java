@@ -143,4 +143,109 @@ public class TopologicalSortTest {
         assertTrue(taskOrder.containsAll(Arrays.asList(1, 2, 3)));
         assertTrue(taskOrder.containsAll(Arrays.asList(4, 5)));
     }
+
+    @Test
+    public void testCycleWitness() {
+        // DAG 0→1→2 feeding the cycle 3→4→5→3, which feeds 6
+        Graph g = new Graph(7, true);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 3, 1);
+        g.addEdge(3, 4, 1);
+        g.addEdge(4, 5, 1);
+        g.addEdge(5, 3, 1);
+        g.addEdge(5, 6, 1);
+
+        for (TopologicalSort.Mode mode : TopologicalSort.Mode.values()) {
+            TopologicalSort.Result result = new TopologicalSort().sort(g, mode, new Metrics());
+
+            assertFalse(result.isAcyclic());
+            assertNull(result.getOrder());
+            assertCycle(g, result.getCycle());
+            assertEquals(new HashSet<>(Arrays.asList(3, 4, 5)), new HashSet<>(result.getCycle()));
+        }
+    }
+
+    @Test
+    public void testSelfLoopWitness() {
+        Graph g = new Graph(3, true);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 1, 1);
+        g.addEdge(1, 2, 1);
+
+        for (TopologicalSort.Mode mode : TopologicalSort.Mode.values()) {
+            TopologicalSort.Result result = new TopologicalSort().sort(g, mode, new Metrics());
+            assertEquals(Collections.singletonList(1), result.getCycle());
+        }
+    }
+
+    @Test
+    public void testWitnessOnRandomGraphs() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 200; trial++) {
+            int n = 2 + random.nextInt(30);
+            Graph g = new Graph(n, true);
+            int edges = random.nextInt(3 * n);
+            for (int i = 0; i < edges; i++) {
+                g.addEdge(random.nextInt(n), random.nextInt(n), 1);
+            }
+
+            List<Integer> plain = new TopologicalSort().sort(g, new Metrics());
+            for (TopologicalSort.Mode mode : TopologicalSort.Mode.values()) {
+                TopologicalSort.Result result = new TopologicalSort().sort(g, mode, new Metrics());
+                assertEquals(plain != null, result.isAcyclic());
+                if (result.isAcyclic()) {
+                    assertNull(result.getCycle());
+                    assertValidOrder(g, result.getOrder());
+                } else {
+                    assertCycle(g, result.getCycle());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFullModeKeepsKahnOrder() {
+        Graph g = new Graph(6, true);
+        g.addEdge(5, 2, 1);
+        g.addEdge(5, 0, 1);
+        g.addEdge(4, 0, 1);
+        g.addEdge(4, 1, 1);
+        g.addEdge(2, 3, 1);
+        g.addEdge(3, 1, 1);
+
+        TopologicalSort topo = new TopologicalSort();
+        assertEquals(topo.sort(g, new Metrics()),
+                topo.sort(g, TopologicalSort.Mode.FULL, new Metrics()).getOrder());
+        assertValidOrder(g, topo.sort(g, TopologicalSort.Mode.FAIL_FAST, new Metrics()).getOrder());
+    }
+
+    private static void assertCycle(Graph g, List<Integer> cycle) {
+        assertNotNull("Expected a cycle witness", cycle);
+        assertFalse(cycle.isEmpty());
+        assertEquals("Cycle repeats a vertex", cycle.size(), new HashSet<>(cycle).size());
+        for (int i = 0; i < cycle.size(); i++) {
+            int u = cycle.get(i);
+            int v = cycle.get((i + 1) % cycle.size());
+            boolean found = false;
+            for (Graph.Edge e : g.getNeighbors(u)) {
+                found |= e.to == v;
+            }
+            assertTrue("Missing cycle edge " + u + "→" + v, found);
+        }
+    }
+
+    private static void assertValidOrder(Graph g, List<Integer> order) {
+        assertNotNull(order);
+        assertEquals(g.getN(), order.size());
+        int[] position = new int[g.getN()];
+        for (int i = 0; i < order.size(); i++) {
+            position[order.get(i)] = i;
+        }
+        for (int u = 0; u < g.getN(); u++) {
+            for (Graph.Edge e : g.getNeighbors(u)) {
+                assertTrue(position[u] < position[e.to]);
+            }
+        }
+    }
 }
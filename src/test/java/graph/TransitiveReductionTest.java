@@ -0,0 +1,83 @@
+package graph;
+
+import graph.bench.GraphGenerator;
+import graph.reach.TransitiveReduction;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+/**
+ * Unit tests for DAG transitive reduction
+ */
+public class TransitiveReductionTest {
+
+    @Test
+    public void testDropsImpliedEdge() {
+        // 0 → 1 → 2 plus the implied 0 → 2 and a duplicate 1 → 2
+        Graph dag = new GraphBuilder(3)
+                .addEdge(0, 1, 1).addEdge(1, 2, 1).addEdge(0, 2, 5).addEdge(1, 2, 3)
+                .build();
+        TransitiveReduction tr = new TransitiveReduction();
+        Metrics m = new Metrics();
+        Graph reduced = tr.reduce(dag, m);
+
+        assertEquals(2, tr.getRemovedEdges());
+        assertEquals(2.0, m.getValue("removed_edges"), 0.0);
+        assertEquals(2, reduced.getEdgeCount());
+        assertEquals(1, reduced.getOutDegree(0));
+        assertEquals(1, reduced.getNeighbors(0).get(0).to);
+    }
+
+    @Test
+    public void testReachabilityPreservedAndMinimal() {
+        Graph dag = GraphGenerator.dag(300, 5, 31);
+        Graph reduced = new TransitiveReduction().reduce(dag, new Metrics());
+        assertTrue(reduced.getEdgeCount() < dag.getEdgeCount());
+
+        for (int u = 0; u < dag.getN(); u++) {
+            assertEquals(reach(dag, u, -1, -1), reach(reduced, u, -1, -1));
+        }
+
+        // Every kept edge is needed
+        for (int u = 0; u < reduced.getN(); u++) {
+            for (Graph.Edge e : reduced.getNeighbors(u)) {
+                assertFalse(reach(reduced, u, u, e.to).get(e.to));
+            }
+        }
+    }
+
+    @Test
+    public void testCycleReturnsNull() {
+        Graph g = new GraphBuilder(2).addEdge(0, 1, 1).addEdge(1, 0, 1).build();
+        assertNull(new TransitiveReduction().reduce(g, new Metrics()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBudgetEnforced() {
+        TransitiveReduction tr = new TransitiveReduction();
+        tr.setMemoryBudget(16);
+        tr.reduce(GraphGenerator.dag(100, 2, 1), new Metrics());
+    }
+
+    /**
+     * Vertices reachable from s (excluding s), optionally ignoring edge skipU → skipV
+     */
+    private static BitSet reach(Graph g, int s, int skipU, int skipV) {
+        BitSet seen = new BitSet();
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(s);
+        while (!stack.isEmpty()) {
+            int u = stack.pop();
+            for (Graph.Edge e : g.getNeighbors(u)) {
+                if (u == skipU && e.to == skipV) {
+                    continue;
+                }
+                if (!seen.get(e.to)) {
+                    seen.set(e.to);
+                    stack.push(e.to);
+                }
+            }
+        }
+        return seen;
+    }
+}
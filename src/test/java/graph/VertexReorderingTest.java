@@ -0,0 +1,98 @@
+package graph;
+
+import graph.bench.GraphGenerator;
+import graph.dagsp.*;
+import graph.reorder.VertexReordering;
+import graph.reorder.VertexReordering.Strategy;
+import graph.scc.*;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+/**
+ * Unit tests for locality relabeling
+ */
+public class VertexReorderingTest {
+
+    @Test
+    public void testPermutationRoundTrip() {
+        Graph g = GraphGenerator.cyclic(200, 3, 0.1, 4);
+        for (Strategy s : new Strategy[]{Strategy.BFS, Strategy.RCM}) {
+            VertexReordering r = VertexReordering.compute(g, s);
+            boolean[] seen = new boolean[g.getN()];
+            for (int v = 0; v < g.getN(); v++) {
+                assertEquals(v, r.toOld(r.toNew(v)));
+                assertFalse(seen[r.toNew(v)]);
+                seen[r.toNew(v)] = true;
+            }
+            assertEquals(g.getEdgeCount(), r.getGraph().getEdgeCount());
+        }
+    }
+
+    @Test
+    public void testSCCsMappedBack() {
+        Graph g = GraphGenerator.cyclic(300, 3, 0.1, 7);
+        Set<Set<Integer>> expected = asSets(new TarjanSCC().findSCCs(g, new Metrics()));
+
+        for (Strategy s : new Strategy[]{Strategy.BFS, Strategy.RCM}) {
+            VertexReordering r = VertexReordering.compute(g, s);
+            assertEquals(expected, asSets(r.findSCCs(new Metrics())));
+        }
+    }
+
+    @Test
+    public void testPathsMappedBack() {
+        Graph g = new GraphBuilder(5)
+                .addEdge(3, 1, 2)
+                .addEdge(1, 4, 5)
+                .addEdge(3, 0, 1)
+                .addEdge(0, 4, 1)
+                .addEdge(4, 2, 3)
+                .setNodeWeight(1, 4)
+                .build();
+        int[] expected = new DAGShortestPath().shortestPaths(g, 3, new Metrics());
+
+        for (Strategy s : Strategy.values()) {
+            VertexReordering r = VertexReordering.compute(g, s);
+            assertArrayEquals(expected, r.shortestPaths(3, new Metrics()));
+
+            DAGShortestPath.PathResult lp = r.longestPath(new Metrics());
+            assertEquals(Arrays.asList(3, 1, 4, 2), lp.path);
+            assertEquals(14, lp.length);
+        }
+    }
+
+    @Test
+    public void testTopologicalRelabelIsForward() {
+        Graph g = GraphGenerator.dag(500, 3, 11);
+        Graph h = VertexReordering.compute(g, Strategy.TOPOLOGICAL).getGraph();
+        int[] off = h.getOffsets();
+        int[] tgt = h.getTargets();
+        for (int u = 0; u < h.getN(); u++) {
+            for (int e = off[u]; e < off[u + 1]; e++) {
+                assertTrue(tgt[e] > u);
+            }
+        }
+    }
+
+    @Test
+    public void testReorderingImprovesLocality() {
+        Graph g = GraphGenerator.dag(5000, 4, 3);
+        Graph h = VertexReordering.compute(g, Strategy.RCM).getGraph();
+        assertTrue(VertexReordering.averageEdgeSpan(h) < VertexReordering.averageEdgeSpan(g) / 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTopologicalRejectsCycle() {
+        Graph g = new GraphBuilder(2).addEdge(0, 1, 1).addEdge(1, 0, 1).build();
+        VertexReordering.compute(g, Strategy.TOPOLOGICAL);
+    }
+
+    private static Set<Set<Integer>> asSets(List<List<Integer>> sccs) {
+        Set<Set<Integer>> result = new HashSet<>();
+        for (List<Integer> scc : sccs) {
+            result.add(new HashSet<>(scc));
+        }
+        return result;
+    }
+}